@@ -0,0 +1,42 @@
+package com.lms.lms_backend.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.lms.lms_backend.dto.CacheStatsResponse;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * Keeps track of the application's in-process caches so their hit/miss/eviction
+ * counters can be reported in one place.
+ */
+@Component
+public class CacheRegistry {
+
+    private final Map<String, Cache<?, ?>> caches = new ConcurrentSkipListMap<>();
+
+    public void register(String name, Cache<?, ?> cache) {
+        caches.put(name, cache);
+    }
+
+    public List<CacheStatsResponse> snapshot() {
+        return caches.entrySet().stream()
+                .map(entry -> toResponse(entry.getKey(), entry.getValue()))
+                .toList();
+    }
+
+    private CacheStatsResponse toResponse(String name, Cache<?, ?> cache) {
+        CacheStats stats = cache.stats();
+        return CacheStatsResponse.builder()
+                .name(name)
+                .estimatedSize(cache.estimatedSize())
+                .hitCount(stats.hitCount())
+                .missCount(stats.missCount())
+                .hitRate(stats.hitRate())
+                .evictionCount(stats.evictionCount())
+                .build();
+    }
+}
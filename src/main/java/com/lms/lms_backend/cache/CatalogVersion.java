@@ -0,0 +1,88 @@
+package com.lms.lms_backend.cache;
+
+import com.lms.lms_backend.event.CourseChangedEvent;
+import com.lms.lms_backend.event.UserChangedEvent;
+import com.lms.lms_backend.http.ResourceVersion;
+import com.lms.lms_backend.repository.CourseRepository;
+import com.lms.lms_backend.repository.CourseRepository.CatalogStampView;
+import jakarta.annotation.PostConstruct;
+import org.springframework.http.CacheControl;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Version of the public course catalog as a whole, which validates every catalog listing.
+ *
+ * <p>The version is derived from the database alone: the course count, the newest stamp among
+ * courses, their instructors and course deletions, and a sum over all those stamps, so every
+ * instance serves the same validators for the same data. Committed changes made here mark it
+ * stale, to be re-read by the next listing; changes from other instances or other writers are
+ * picked up within {@code app.http.catalog.refresh-interval}. So are seat counts: during a
+ * registration rush every enrollment would otherwise re-run the aggregate and move the
+ * version. Any change invalidates all cached listings, which keeps the check to a single read
+ * and suits a catalog that is browsed far more often than edited.
+ */
+@Component
+public class CatalogVersion {
+
+    private final CourseRepository courseRepository;
+    private final CacheControl cacheControl;
+    private final AtomicBoolean stale = new AtomicBoolean();
+    private volatile ResourceVersion current;
+
+    public CatalogVersion(CourseRepository courseRepository) {
+        this.courseRepository = courseRepository;
+        this.cacheControl = CacheControl.noCache().cachePublic();
+    }
+
+    @PostConstruct
+    void load() {
+        reload();
+    }
+
+    @Scheduled(fixedDelayString = "${app.http.catalog.refresh-interval:5s}",
+            initialDelayString = "${app.http.catalog.refresh-interval:5s}")
+    public void reload() {
+        stale.set(false);
+        current = read();
+    }
+
+    public ResourceVersion current() {
+        // Cleared before reading, so a change committed meanwhile leaves it stale again
+        if (stale.compareAndSet(true, false)) {
+            current = read();
+        }
+        return current;
+    }
+
+    /**
+     * Listings are the same for everyone, so shared caches such as a CDN may keep them; they
+     * carry seat counts, so every reuse is revalidated against the version.
+     */
+    public CacheControl cacheControl() {
+        return cacheControl;
+    }
+
+    @TransactionalEventListener
+    public void onCourseChanged(CourseChangedEvent event) {
+        if (event.getType() != CourseChangedEvent.Type.ENROLLMENT_CHANGED) {
+            stale.set(true);
+        }
+    }
+
+    // Listings embed instructor names and emails
+    @TransactionalEventListener
+    public void onUserChanged(UserChangedEvent event) {
+        stale.set(true);
+    }
+
+    private ResourceVersion read() {
+        CatalogStampView stamp = courseRepository.findCatalogStamp();
+        String fingerprint = Long.toString(stamp.getCourses(), 36) + "-"
+                + stamp.getStamps().toBigInteger().toString(36);
+        return ResourceVersion.of("catalog-" + fingerprint, stamp.getUpdatedAt());
+    }
+}
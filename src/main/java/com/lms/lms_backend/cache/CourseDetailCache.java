@@ -0,0 +1,96 @@
+package com.lms.lms_backend.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.lms.lms_backend.dto.CourseResponse;
+import com.lms.lms_backend.event.CourseChangedEvent;
+import com.lms.lms_backend.event.UserChangedEvent;
+import com.lms.lms_backend.http.ResourceVersion;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.function.Function;
+
+/**
+ * Read-through cache of fully built {@link CourseResponse}s keyed by course id.
+ *
+ * <p>Every entry carries the course's {@code updatedAt} as its version and a write only
+ * replaces an entry of the same or an older version. Invalidation leaves a versioned
+ * tombstone instead of removing the key, so a reader that loaded the course before a
+ * concurrent change committed cannot put its stale copy back afterwards.
+ *
+ * <p>Responses embed the instructor's name and email, so a change to the instructor drops
+ * their courses as well; the course's validators cover the instructor too.
+ */
+@Component
+public class CourseDetailCache {
+
+    private final Cache<Long, Entry> cache;
+
+    public CourseDetailCache(
+            CacheRegistry cacheRegistry,
+            @Value("${app.cache.course-detail.max-size:5000}") long maxSize,
+            @Value("${app.cache.course-detail.ttl:5m}") Duration ttl) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        cacheRegistry.register("courseDetail", cache);
+    }
+
+    public CourseResponse get(Long courseId, Function<Long, CourseResponse> loader) {
+        Entry entry = cache.getIfPresent(courseId);
+        if (entry != null && entry.response != null) {
+            return entry.response;
+        }
+        CourseResponse loaded = loader.apply(courseId);
+        put(loaded);
+        return loaded;
+    }
+
+    public void put(CourseResponse response) {
+        Entry candidate = new Entry(ResourceVersion.truncate(response.getUpdatedAt()), response);
+        cache.asMap().merge(response.getId(), candidate, CourseDetailCache::newer);
+    }
+
+    public void invalidate(Long courseId, LocalDateTime version) {
+        cache.asMap().merge(courseId, new Entry(ResourceVersion.truncate(version), null), CourseDetailCache::newer);
+    }
+
+    @TransactionalEventListener
+    public void onCourseChanged(CourseChangedEvent event) {
+        if (event.getType() == CourseChangedEvent.Type.SAVED) {
+            put(event.getCourse());
+        } else {
+            invalidate(event.getCourseId(), event.getVersion());
+        }
+    }
+
+    @TransactionalEventListener
+    public void onUserChanged(UserChangedEvent event) {
+        cache.asMap().forEach((courseId, entry) -> {
+            if (entry.response != null && entry.response.getInstructor() != null
+                    && event.getUserId().equals(entry.response.getInstructor().getId())) {
+                invalidate(courseId, entry.version);
+            }
+        });
+    }
+
+    private static Entry newer(Entry existing, Entry candidate) {
+        return candidate.version.isBefore(existing.version) ? existing : candidate;
+    }
+
+    private static final class Entry {
+        private final LocalDateTime version;
+        private final CourseResponse response;
+
+        private Entry(LocalDateTime version, CourseResponse response) {
+            this.version = version;
+            this.response = response;
+        }
+    }
+}
@@ -0,0 +1,191 @@
+package com.lms.lms_backend.cache;
+
+import com.lms.lms_backend.dto.CourseResponse;
+import com.lms.lms_backend.enums.CourseStatus;
+import com.lms.lms_backend.event.CourseChangedEvent;
+import com.lms.lms_backend.http.ResourceVersion;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Published courses that have not started yet, ordered by start date and then id, kept in
+ * memory so the upcoming listing never queries the database.
+ *
+ * <p>The courses live in a sorted array that readers take as an immutable snapshot: a page is
+ * one binary search for the current time (or the cursor) followed by a slice, and the total
+ * is a subtraction. Writers copy the array, which suits a calendar that is read far more often
+ * than courses change. Courses drop out of reads the moment they start and are compacted away
+ * by {@link #rollOff()}.
+ *
+ * <p>Kept current from {@link CourseChangedEvent}s after commit. Every course carries its
+ * {@code updatedAt} as a version and older writes are ignored, so the startup load and
+ * out-of-order events cannot bring back a stale copy.
+ */
+@Component
+@Slf4j
+public class UpcomingCourseCalendar {
+
+    private static final Comparator<CourseResponse> ORDER = Comparator
+            .comparing(CourseResponse::getStartDate)
+            .thenComparing(CourseResponse::getId);
+
+    private volatile CourseResponse[] courses = new CourseResponse[0];
+
+    // Guarded by this; holds the newest version seen per course, including removed ones
+    private final Map<Long, LocalDateTime> versions = new HashMap<>();
+
+    /** Adds the courses of a full load, keeping any newer copy already applied from an event. */
+    public synchronized void load(Collection<CourseResponse> loaded) {
+        loaded.forEach(this::put);
+        log.info("Loaded {} upcoming courses into the calendar", courses.length);
+    }
+
+    /** Adds, moves or removes {@code course} according to its status and start date. */
+    public synchronized void put(CourseResponse course) {
+        if (!apply(course.getId(), course.getUpdatedAt())) {
+            return;
+        }
+        CourseResponse[] current = without(courses, course.getId());
+        if (course.getStatus() == CourseStatus.PUBLISHED && course.getStartDate() != null
+                && course.getStartDate().isAfter(LocalDateTime.now())) {
+            int insertAt = -Arrays.binarySearch(current, course, ORDER) - 1;
+            CourseResponse[] updated = new CourseResponse[current.length + 1];
+            System.arraycopy(current, 0, updated, 0, insertAt);
+            updated[insertAt] = course;
+            System.arraycopy(current, insertAt, updated, insertAt + 1, current.length - insertAt);
+            current = updated;
+        }
+        courses = current;
+    }
+
+    public synchronized void remove(Long courseId, LocalDateTime version) {
+        if (apply(courseId, version)) {
+            courses = without(courses, courseId);
+        }
+    }
+
+    public boolean contains(Long courseId) {
+        return indexOf(courses, courseId) >= 0;
+    }
+
+    /** Ids of the calendar's courses taught by {@code instructorId}. */
+    public List<Long> coursesOf(Long instructorId) {
+        return Arrays.stream(courses)
+                .filter(course -> course.getInstructor() != null
+                        && instructorId.equals(course.getInstructor().getId()))
+                .map(CourseResponse::getId)
+                .toList();
+    }
+
+    /** Courses starting after {@code now}; {@code offset} and {@code limit} select a page. */
+    public Window upcoming(LocalDateTime now, long offset, int limit) {
+        CourseResponse[] snapshot = courses;
+        int first = firstAfter(snapshot, now, Long.MAX_VALUE);
+        return slice(snapshot, first + Math.min(offset, snapshot.length - first), limit, snapshot.length - first);
+    }
+
+    /** Courses starting after {@code now} that follow the course at {@code startDate}/{@code id}. */
+    public Window upcomingAfter(LocalDateTime now, LocalDateTime startDate, long id, int limit) {
+        CourseResponse[] snapshot = courses;
+        int first = firstAfter(snapshot, now, Long.MAX_VALUE);
+        int from = Math.max(first, firstAfter(snapshot, startDate, id));
+        return slice(snapshot, from, limit, snapshot.length - first);
+    }
+
+    @TransactionalEventListener
+    public void onCourseChanged(CourseChangedEvent event) {
+        if (event.getType() == CourseChangedEvent.Type.SAVED) {
+            put(event.getCourse());
+        } else if (event.getType() == CourseChangedEvent.Type.DELETED) {
+            remove(event.getCourseId(), event.getVersion());
+        }
+        // Seat counts and instructor details are refreshed by CourseService, which can rebuild the response
+    }
+
+    /** Drops courses that have started; reads already skip them, this only frees the memory. */
+    @Scheduled(fixedDelayString = "${app.courses.upcoming.roll-off-interval:60s}",
+            initialDelayString = "${app.courses.upcoming.roll-off-interval:60s}")
+    public synchronized void rollOff() {
+        CourseResponse[] current = courses;
+        int started = firstAfter(current, LocalDateTime.now(), Long.MAX_VALUE);
+        if (started == 0) {
+            return;
+        }
+        // A started course can only come back through a newer save, so its version is not needed
+        for (int i = 0; i < started; i++) {
+            versions.remove(current[i].getId());
+        }
+        courses = Arrays.copyOfRange(current, started, current.length);
+        log.debug("Rolled {} started courses off the upcoming calendar", started);
+    }
+
+    private boolean apply(Long courseId, LocalDateTime version) {
+        LocalDateTime candidate = ResourceVersion.truncate(version);
+        LocalDateTime applied = versions.get(courseId);
+        if (applied != null && candidate.isBefore(applied)) {
+            return false;
+        }
+        versions.put(courseId, candidate);
+        return true;
+    }
+
+    private static CourseResponse[] without(CourseResponse[] current, Long courseId) {
+        int index = indexOf(current, courseId);
+        if (index < 0) {
+            return current;
+        }
+        CourseResponse[] updated = new CourseResponse[current.length - 1];
+        System.arraycopy(current, 0, updated, 0, index);
+        System.arraycopy(current, index + 1, updated, index, current.length - index - 1);
+        return updated;
+    }
+
+    private static int indexOf(CourseResponse[] snapshot, Long courseId) {
+        for (int i = 0; i < snapshot.length; i++) {
+            if (snapshot[i].getId().equals(courseId)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /** Index of the first course ordered after {@code startDate}/{@code id}. */
+    private static int firstAfter(CourseResponse[] snapshot, LocalDateTime startDate, long id) {
+        int low = 0;
+        int high = snapshot.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            CourseResponse course = snapshot[mid];
+            int compared = course.getStartDate().compareTo(startDate);
+            if (compared < 0 || (compared == 0 && course.getId() <= id)) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    private static Window slice(CourseResponse[] snapshot, long from, int limit, int total) {
+        int start = (int) Math.min(from, snapshot.length);
+        int end = (int) Math.min((long) start + limit, snapshot.length);
+        return new Window(List.of(Arrays.copyOfRange(snapshot, start, end)), end < snapshot.length, total);
+    }
+
+    /**
+     * A page of the calendar. {@code total} counts every upcoming course, not just those
+     * after the cursor.
+     */
+    public record Window(List<CourseResponse> content, boolean hasNext, long total) {
+    }
+}
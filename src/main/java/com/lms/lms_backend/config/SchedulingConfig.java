@@ -0,0 +1,15 @@
+package com.lms.lms_backend.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Runs the background reloads and refreshes; the {@code no-scheduling} profile leaves them
+ * out, for tests that count the statements a request issues.
+ */
+@Configuration
+@Profile("!no-scheduling")
+@EnableScheduling
+public class SchedulingConfig {
+}
@@ -0,0 +1,32 @@
+package com.lms.lms_backend.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * With virtual threads, requests queue for a connection at a {@link ConnectionGate} sized and
+ * timed like the pool, rather than inside the pool.
+ */
+@Configuration
+@ConditionalOnProperty(name = "spring.threads.virtual.enabled", havingValue = "true")
+public class VirtualThreadsConfig {
+
+    @Bean
+    static BeanPostProcessor connectionGatePostProcessor() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof HikariDataSource pool) {
+                    return new ConnectionGate(pool, pool.getMaximumPoolSize(),
+                            Duration.ofMillis(pool.getConnectionTimeout()));
+                }
+                return bean;
+            }
+        };
+    }
+}
@@ -2,6 +2,7 @@ package com.lms.lms_backend.controller;
 
 import com.lms.lms_backend.dto.LoginRequest;
 import com.lms.lms_backend.dto.AuthenticationResponse;
+import com.lms.lms_backend.dto.LogoutRequest;
 import com.lms.lms_backend.service.AuthService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
@@ -25,4 +26,12 @@ public class AuthController {
         String token = refreshToken.substring(7); // Remove "Bearer "
         return ResponseEntity.ok(authService.refreshToken(token));
     }
+
+    @PostMapping("/logout")
+    public ResponseEntity<Void> logout(
+            @RequestHeader("Authorization") String accessToken,
+            @RequestBody(required = false) LogoutRequest request) {
+        authService.logout(accessToken.substring(7), request);
+        return ResponseEntity.noContent().build();
+    }
 }
@@ -1,9 +1,19 @@
 package com.lms.lms_backend.controller;
 
+import com.lms.lms_backend.cache.CatalogVersion;
 import com.lms.lms_backend.dto.CourseCreateRequest;
+import com.lms.lms_backend.dto.CourseFilter;
+import com.lms.lms_backend.dto.CourseImportResponse;
 import com.lms.lms_backend.dto.CourseUpdateRequest;
 import com.lms.lms_backend.dto.CourseResponse;
-import com.lms.lms_backend.enums.CourseStatus;
+import com.lms.lms_backend.dto.CourseSuggestionResponse;
+import com.lms.lms_backend.http.ConditionalResponses;
+import com.lms.lms_backend.http.IdempotentRequests;
+import com.lms.lms_backend.pagination.CourseSortField;
+import com.lms.lms_backend.pagination.SortField;
+import com.lms.lms_backend.repository.CourseSpecifications;
+import com.lms.lms_backend.search.CourseAutocompleteService;
+import com.lms.lms_backend.service.CourseImportService;
 import com.lms.lms_backend.service.CourseService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
@@ -11,10 +21,16 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+
+import java.io.StringReader;
+import java.util.List;
 
 @RestController
 @RequestMapping("/api/courses")
@@ -22,18 +38,45 @@ import org.springframework.web.bind.annotation.*;
 public class CourseController {
 
     private final CourseService courseService;
+    private final CourseImportService courseImportService;
+    private final CourseAutocompleteService courseAutocompleteService;
+    private final CatalogVersion catalogVersion;
+    private final IdempotentRequests idempotentRequests;
 
+    /** A retry carrying the same {@code Idempotency-Key} gets the original response back. */
     @PostMapping
     @PreAuthorize("hasAnyRole('INSTRUCTOR', 'ADMIN')")
-    public ResponseEntity<CourseResponse> createCourse(@Valid @RequestBody CourseCreateRequest request) {
-        CourseResponse response = courseService.createCourse(request);
-        return new ResponseEntity<>(response, HttpStatus.CREATED);
+    public ResponseEntity<CourseResponse> createCourse(
+            @Valid @RequestBody CourseCreateRequest request,
+            @RequestHeader(value = IdempotentRequests.HEADER, required = false) String idempotencyKey) {
+        return idempotentRequests.execute(idempotencyKey, "createCourse", request,
+                () -> new ResponseEntity<>(courseService.createCourse(request), HttpStatus.CREATED));
+    }
+
+    /**
+     * Creates many courses at once. Rows are validated individually; rejected rows are reported
+     * in the response while the rest are imported.
+     */
+    @PostMapping(value = "/import", consumes = MediaType.APPLICATION_JSON_VALUE)
+    @PreAuthorize("hasAnyRole('INSTRUCTOR', 'ADMIN')")
+    public ResponseEntity<CourseImportResponse> importCourses(@RequestBody List<CourseCreateRequest> requests) {
+        return ResponseEntity.ok(courseImportService.importCourses(requests));
+    }
+
+    @PostMapping(value = "/import", consumes = "text/csv")
+    @PreAuthorize("hasAnyRole('INSTRUCTOR', 'ADMIN')")
+    public ResponseEntity<CourseImportResponse> importCoursesCsv(@RequestBody String csv) {
+        return ResponseEntity.ok(courseImportService.importCsv(new StringReader(csv)));
     }
 
+    /**
+     * Answers {@code If-None-Match}/{@code If-Modified-Since} with a 304 from the course's
+     * version alone; the response is only built when the client's copy is stale.
+     */
     @GetMapping("/{id}")
-    public ResponseEntity<CourseResponse> getCourseById(@PathVariable Long id) {
-        CourseResponse response = courseService.getCourseById(id);
-        return ResponseEntity.ok(response);
+    public ResponseEntity<CourseResponse> getCourseById(@PathVariable Long id, WebRequest request) {
+        return ConditionalResponses.respond(request, courseService.getCourseVersion(id),
+                CacheControl.noCache().cachePrivate(), () -> courseService.getCourseById(id));
     }
 
     @PutMapping("/{id}")
@@ -52,40 +95,71 @@ public class CourseController {
         return ResponseEntity.noContent().build();
     }
 
+    /**
+     * Lists courses matching every given filter ({@link CourseFilter}). A {@code search}
+     * without {@code sortBy} is ordered by relevance; otherwise the default is newest first.
+     * Only the fields in {@link CourseSortField} can be sorted by, each with {@code id} as a
+     * tiebreaker.
+     *
+     * <p>Listings return a {@code Page} by default. Passing {@code cursor} (empty for the first
+     * page) switches to keyset pagination, which skips the count query and stays fast on deep
+     * pages; follow {@code nextCursor} from each response.
+     *
+     * <p>Every listing is validated by the {@link CatalogVersion}, so a client or CDN holding
+     * a page gets a 304 until some course changes.
+     */
     @GetMapping
-    public ResponseEntity<Page<CourseResponse>> getAllCourses(
-            @RequestParam(required = false) String search,
-            @RequestParam(required = false) CourseStatus status,
+    public ResponseEntity<?> getAllCourses(
+            CourseFilter filter,
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "10") int size,
-            @RequestParam(defaultValue = "id") String sortBy,
-            @RequestParam(defaultValue = "DESC") String sortDirection) {
+            @RequestParam(required = false) String sortBy,
+            @RequestParam(defaultValue = "DESC") String sortDirection,
+            @RequestParam(required = false) String cursor,
+            WebRequest request) {
         
-        Sort.Direction direction = sortDirection.equalsIgnoreCase("DESC") 
-            ? Sort.Direction.DESC : Sort.Direction.ASC;
-        Pageable pageable = PageRequest.of(page, size, Sort.by(direction, sortBy));
+        Sort sort = sortBy == null && CourseSpecifications.hasText(filter.getSearch())
+            ? Sort.unsorted()
+            : SortField.resolve(CourseSortField.class, sortBy == null ? "id" : sortBy, sortDirection);
+        return ConditionalResponses.respond(request, catalogVersion.current(), catalogVersion.cacheControl(),
+                () -> cursor != null
+                        ? courseService.searchCourses(filter, sort, cursor, size)
+                        : courseService.searchCourses(filter, PageRequest.of(page, size, sort)));
+    }
+
+    @GetMapping("/autocomplete")
+    public ResponseEntity<List<CourseSuggestionResponse>> autocomplete(
+            @RequestParam("q") String query,
+            @RequestParam(defaultValue = "10") int limit) {
         
-        Page<CourseResponse> courses = courseService.searchCourses(search, status, pageable);
-        return ResponseEntity.ok(courses);
+        return ResponseEntity.ok(courseAutocompleteService.suggest(query, limit));
     }
 
     @GetMapping("/instructor/{instructorId}")
-    public ResponseEntity<Page<CourseResponse>> getInstructorCourses(
+    public ResponseEntity<?> getInstructorCourses(
             @PathVariable Long instructorId,
             @RequestParam(defaultValue = "0") int page,
-            @RequestParam(defaultValue = "10") int size) {
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(required = false) String cursor) {
         
-        Pageable pageable = PageRequest.of(page, size);
+        if (cursor != null) {
+            return ResponseEntity.ok(courseService.getInstructorCourses(instructorId, cursor, size));
+        }
+        Pageable pageable = PageRequest.of(page, size, Sort.by("id").descending());
         Page<CourseResponse> courses = courseService.getInstructorCourses(instructorId, pageable);
         return ResponseEntity.ok(courses);
     }
 
     @GetMapping("/upcoming")
-    public ResponseEntity<Page<CourseResponse>> getUpcomingCourses(
+    public ResponseEntity<?> getUpcomingCourses(
             @RequestParam(defaultValue = "0") int page,
-            @RequestParam(defaultValue = "10") int size) {
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(required = false) String cursor) {
         
-        Pageable pageable = PageRequest.of(page, size, Sort.by("startDate").ascending());
+        if (cursor != null) {
+            return ResponseEntity.ok(courseService.getUpcomingCourses(cursor, size));
+        }
+        Pageable pageable = PageRequest.of(page, size, Sort.by("startDate", "id").ascending());
         Page<CourseResponse> courses = courseService.getUpcomingCourses(pageable);
         return ResponseEntity.ok(courses);
     }
@@ -0,0 +1,82 @@
+package com.lms.lms_backend.controller;
+
+import com.lms.lms_backend.dto.CourseStudentResponse;
+import com.lms.lms_backend.dto.CursorPageResponse;
+import com.lms.lms_backend.dto.EnrolledCourseResponse;
+import com.lms.lms_backend.dto.EnrollmentRequest;
+import com.lms.lms_backend.dto.EnrollmentTicketResponse;
+import com.lms.lms_backend.http.IdempotentRequests;
+import com.lms.lms_backend.service.EnrollmentAdmissionQueue;
+import com.lms.lms_backend.service.EnrollmentService;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.net.URI;
+
+@RestController
+@RequestMapping("/api/enrollments")
+@RequiredArgsConstructor
+public class EnrollmentController {
+
+    private static final String RESPOND_ASYNC = "respond-async";
+
+    private final EnrollmentService enrollmentService;
+    private final EnrollmentAdmissionQueue admissionQueue;
+    private final IdempotentRequests idempotentRequests;
+
+    /**
+     * Enrolls at once, or with {@code Prefer: respond-async} queues the request and answers
+     * {@code 202} with a ticket to poll at the {@code Location} given. A retry carrying the
+     * same {@code Idempotency-Key} gets the original enrollment or ticket back.
+     */
+    @PostMapping
+    @PreAuthorize("hasRole('STUDENT')")
+    public ResponseEntity<?> enroll(@Valid @RequestBody EnrollmentRequest request,
+                                    @RequestHeader(value = "Prefer", required = false) String prefer,
+                                    @RequestHeader(value = IdempotentRequests.HEADER, required = false) String idempotencyKey) {
+        return idempotentRequests.execute(idempotencyKey, "enroll", request, () -> {
+            if (prefer != null && prefer.contains(RESPOND_ASYNC)) {
+                EnrollmentTicketResponse ticket = admissionQueue.submit(request.getCourseId());
+                return ResponseEntity.accepted()
+                        .location(URI.create("/api/enrollments/tickets/" + ticket.getTicketId()))
+                        .header("Preference-Applied", RESPOND_ASYNC)
+                        .body(ticket);
+            }
+            return new ResponseEntity<>(enrollmentService.enroll(request.getCourseId()), HttpStatus.CREATED);
+        });
+    }
+
+    @GetMapping("/tickets/{ticketId}")
+    public ResponseEntity<EnrollmentTicketResponse> getTicket(@PathVariable String ticketId) {
+        return ResponseEntity.ok(admissionQueue.getTicket(ticketId));
+    }
+
+    /** The user's enrollments with their courses, newest first, paged by {@code cursor}. */
+    @GetMapping("/users/{userId}/courses")
+    public ResponseEntity<CursorPageResponse<EnrolledCourseResponse>> getUserCourses(
+            @PathVariable Long userId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size) {
+        return ResponseEntity.ok(enrollmentService.getUserCourses(userId, cursor, size));
+    }
+
+    /** The course's students, newest enrollment first, paged by {@code cursor}. */
+    @GetMapping("/courses/{courseId}/students")
+    @PreAuthorize("hasAnyRole('INSTRUCTOR', 'ADMIN')")
+    public ResponseEntity<CursorPageResponse<CourseStudentResponse>> getCourseStudents(
+            @PathVariable Long courseId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size) {
+        return ResponseEntity.ok(enrollmentService.getCourseStudents(courseId, cursor, size));
+    }
+
+    @DeleteMapping("/{id}")
+    public ResponseEntity<Void> drop(@PathVariable Long id) {
+        enrollmentService.drop(id);
+        return ResponseEntity.noContent().build();
+    }
+}
@@ -1,8 +1,13 @@
 package com.lms.lms_backend.controller;
 
+import com.lms.lms_backend.dto.UserImportResponse;
 import com.lms.lms_backend.dto.UserRegistrationRequest;
 import com.lms.lms_backend.dto.UserResponse;
 import com.lms.lms_backend.dto.UserUpdateRequest;
+import com.lms.lms_backend.http.ConditionalResponses;
+import com.lms.lms_backend.pagination.SortField;
+import com.lms.lms_backend.pagination.UserSortField;
+import com.lms.lms_backend.service.UserImportService;
 import com.lms.lms_backend.service.UserService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
@@ -10,9 +15,16 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+
+import java.io.InputStream;
+import java.io.Reader;
 
 @RestController
 @RequestMapping("/api/users")
@@ -20,6 +32,7 @@ import org.springframework.web.bind.annotation.*;
 public class UserController {
     
     private final UserService userService;
+    private final UserImportService userImportService;
     
     @PostMapping("/register")
     public ResponseEntity<UserResponse> registerUser(@Valid @RequestBody UserRegistrationRequest request) {
@@ -27,10 +40,27 @@ public class UserController {
         return new ResponseEntity<>(response, HttpStatus.CREATED);
     }
     
+    /**
+     * Registers many users at once, e.g. before a semester. Rows are checked individually;
+     * rejected rows, including duplicate emails, are reported while the rest are created.
+     */
+    @PostMapping(value = "/import", consumes = MediaType.APPLICATION_JSON_VALUE)
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<UserImportResponse> importUsers(InputStream json) {
+        return ResponseEntity.ok(userImportService.importJson(json));
+    }
+    
+    @PostMapping(value = "/import", consumes = "text/csv")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<UserImportResponse> importUsersCsv(Reader csv) {
+        return ResponseEntity.ok(userImportService.importCsv(csv));
+    }
+    
+    /** Conditional requests are answered from the user's version without loading the row. */
     @GetMapping("/{id}")
-    public ResponseEntity<UserResponse> getUserById(@PathVariable Long id) {
-        UserResponse response = userService.getUserById(id);
-        return ResponseEntity.ok(response);
+    public ResponseEntity<UserResponse> getUserById(@PathVariable Long id, WebRequest request) {
+        return ConditionalResponses.respond(request, userService.getUserVersion(id),
+                CacheControl.noCache().cachePrivate(), () -> userService.getUserById(id));
     }
     
     @PutMapping("/{id}")
@@ -41,27 +71,42 @@ public class UserController {
         return ResponseEntity.ok(response);
     }
     
+    /**
+     * Lists active users. Only the fields in {@link UserSortField} can be sorted by, each with
+     * {@code id} as a tiebreaker.
+     *
+     * <p>Listings return a {@code Page} by default. Passing {@code cursor} (empty for the first
+     * page) switches to keyset pagination, which skips the count query and stays fast on deep
+     * pages; follow {@code nextCursor} from each response.
+     */
     @GetMapping
-    public ResponseEntity<Page<UserResponse>> getAllUsers(
+    public ResponseEntity<?> getAllUsers(
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "10") int size,
             @RequestParam(defaultValue = "id") String sortBy,
-            @RequestParam(defaultValue = "ASC") String sortDirection) {
+            @RequestParam(defaultValue = "ASC") String sortDirection,
+            @RequestParam(required = false) String cursor) {
         
-        Sort.Direction direction = sortDirection.equalsIgnoreCase("DESC") 
-            ? Sort.Direction.DESC : Sort.Direction.ASC;
-        Pageable pageable = PageRequest.of(page, size, Sort.by(direction, sortBy));
+        Sort sort = SortField.resolve(UserSortField.class, sortBy, sortDirection);
+        if (cursor != null) {
+            return ResponseEntity.ok(userService.getAllUsers(sort, cursor, size));
+        }
+        Pageable pageable = PageRequest.of(page, size, sort);
         
         Page<UserResponse> users = userService.getAllUsers(pageable);
         return ResponseEntity.ok(users);
     }
     
     @GetMapping("/search")
-    public ResponseEntity<Page<UserResponse>> searchUsers(
+    public ResponseEntity<?> searchUsers(
             @RequestParam String term,
             @RequestParam(defaultValue = "0") int page,
-            @RequestParam(defaultValue = "10") int size) {
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(required = false) String cursor) {
         
+        if (cursor != null) {
+            return ResponseEntity.ok(userService.searchUsers(term, cursor, size));
+        }
         Pageable pageable = PageRequest.of(page, size);
         Page<UserResponse> users = userService.searchUsers(term, pageable);
         return ResponseEntity.ok(users);
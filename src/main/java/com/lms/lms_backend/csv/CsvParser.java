@@ -0,0 +1,99 @@
+package com.lms.lms_backend.csv;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Minimal RFC 4180 reader: comma separated, fields optionally quoted with {@code "} (doubled
+ * inside quotes), records ending in CRLF or LF. Quoted fields may span lines; blank lines are
+ * skipped. Records are read one at a time, so only the current one is held in memory.
+ */
+public final class CsvParser {
+
+    private final Reader in;
+
+    public CsvParser(Reader reader) {
+        // One character of lookahead is needed after quotes and carriage returns
+        this.in = reader.markSupported() ? reader : new BufferedReader(reader);
+    }
+
+    public static List<List<String>> parse(Reader reader) throws IOException {
+        CsvParser parser = new CsvParser(reader);
+        List<List<String>> records = new ArrayList<>();
+        for (List<String> record = parser.next(); record != null; record = parser.next()) {
+            records.add(record);
+        }
+        return records;
+    }
+
+    /** The next record, or {@code null} once the input is exhausted. */
+    public List<String> next() throws IOException {
+        List<String> record = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        boolean fieldStarted = false;
+        int c;
+        while ((c = in.read()) != -1) {
+            if (quoted) {
+                if (c != '"') {
+                    field.append((char) c);
+                    continue;
+                }
+                in.mark(1);
+                int next = in.read();
+                if (next == '"') {
+                    field.append('"');
+                } else {
+                    quoted = false;
+                    if (next != -1) {
+                        in.reset();
+                    }
+                }
+                continue;
+            }
+            switch (c) {
+                case '"' -> {
+                    quoted = true;
+                    fieldStarted = true;
+                }
+                case ',' -> {
+                    record.add(field.toString());
+                    field.setLength(0);
+                    fieldStarted = true;
+                }
+                case '\r' -> {
+                    // Line break handled on the following \n; a lone \r is kept as data
+                    in.mark(1);
+                    if (in.read() != '\n') {
+                        in.reset();
+                        field.append('\r');
+                    } else if (fieldStarted || !record.isEmpty()) {
+                        record.add(field.toString());
+                        return record;
+                    } else {
+                        field.setLength(0);
+                    }
+                }
+                case '\n' -> {
+                    if (fieldStarted || !record.isEmpty()) {
+                        record.add(field.toString());
+                        return record;
+                    }
+                    field.setLength(0);
+                }
+                default -> {
+                    field.append((char) c);
+                    fieldStarted = true;
+                }
+            }
+        }
+        if (fieldStarted || !record.isEmpty()) {
+            record.add(field.toString());
+            return record;
+        }
+        return null;
+    }
+}
@@ -0,0 +1,105 @@
+package com.lms.lms_backend.csv;
+
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.lms.lms_backend.exception.BusinessException;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.lang.reflect.Field;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Reads CSV records bound to a request type one at a time, so an upload can be imported in
+ * chunks without holding all of it. The header row names the type's fields; each record is
+ * converted with the application {@link ObjectMapper}, so values parse as they would in JSON.
+ */
+public final class CsvRowReader<T> {
+
+    private final CsvParser parser;
+    private final Class<T> type;
+    private final ObjectMapper objectMapper;
+    private final List<String> header;
+
+    private CsvRowReader(CsvParser parser, Class<T> type, ObjectMapper objectMapper, List<String> header) {
+        this.parser = parser;
+        this.type = type;
+        this.objectMapper = objectMapper;
+        this.header = header;
+    }
+
+    /**
+     * Reads the header row of {@code csv}. Empty fields are treated as missing; an empty upload
+     * or a header naming an unknown field is rejected as a whole.
+     */
+    public static <T> CsvRowReader<T> open(Reader csv, Class<T> type, ObjectMapper objectMapper) {
+        CsvParser parser = new CsvParser(csv);
+        List<String> first = read(parser);
+        if (first == null) {
+            throw new BusinessException("CSV upload must start with a header row");
+        }
+        Set<String> columns = Arrays.stream(type.getDeclaredFields())
+                .map(Field::getName)
+                .collect(Collectors.toSet());
+        List<String> header = first.stream().map(String::trim).toList();
+        List<String> unknown = header.stream().filter(column -> !columns.contains(column)).toList();
+        if (!unknown.isEmpty()) {
+            throw new BusinessException("Unknown CSV columns " + unknown + "; supported columns are "
+                    + columns.stream().sorted().toList());
+        }
+        return new CsvRowReader<>(parser, type, objectMapper, header);
+    }
+
+    /** The next record, or {@code null} after the last one. */
+    public Row<T> next() {
+        List<String> fields = read(parser);
+        if (fields == null) {
+            return null;
+        }
+        if (fields.size() != header.size()) {
+            return Row.rejected("Expected " + header.size() + " fields but found " + fields.size());
+        }
+        Map<String, String> values = new LinkedHashMap<>();
+        for (int column = 0; column < header.size(); column++) {
+            String value = fields.get(column).trim();
+            values.put(header.get(column), value.isEmpty() ? null : value);
+        }
+        try {
+            return new Row<>(objectMapper.convertValue(values, type), List.of());
+        } catch (IllegalArgumentException e) {
+            return Row.rejected(describeConversionError(e));
+        }
+    }
+
+    /** Message for a value {@link ObjectMapper#convertValue} could not bind, naming the field. */
+    public static String describeConversionError(IllegalArgumentException e) {
+        if (e.getCause() instanceof JsonMappingException mapping && !mapping.getPath().isEmpty()) {
+            return "Invalid value for '" + mapping.getPath().get(0).getFieldName() + "'";
+        }
+        return "Invalid row";
+    }
+
+    private static List<String> read(CsvParser parser) {
+        try {
+            return parser.next();
+        } catch (IOException e) {
+            throw new BusinessException("Could not read the CSV upload");
+        }
+    }
+
+    /**
+     * One record: {@code value} is {@code null} where it could not be bound, and
+     * {@code errors} says why.
+     */
+    public record Row<T>(T value, List<String> errors) {
+
+        public static <T> Row<T> rejected(String error) {
+            return new Row<>(null, List.of(error));
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package com.lms.lms_backend.csv;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * All CSV records of an upload bound to a request type, as read by {@link CsvRowReader}.
+ *
+ * @param rows   one entry per record after the header, {@code null} where it could not be bound
+ * @param errors messages for the unbound records, keyed by index in {@code rows}
+ */
+public record CsvRows<T>(List<T> rows, Map<Integer, List<String>> errors) {
+
+    /**
+     * Reads {@code csv} into {@code type}. Empty fields are treated as missing; an empty upload
+     * or a header naming an unknown field is rejected as a whole.
+     */
+    public static <T> CsvRows<T> read(Reader csv, Class<T> type, ObjectMapper objectMapper) {
+        CsvRowReader<T> reader = CsvRowReader.open(csv, type, objectMapper);
+        List<T> rows = new ArrayList<>();
+        Map<Integer, List<String>> errors = new HashMap<>();
+        for (CsvRowReader.Row<T> row = reader.next(); row != null; row = reader.next()) {
+            if (row.value() == null) {
+                errors.put(rows.size(), row.errors());
+            }
+            rows.add(row.value());
+        }
+        return new CsvRows<>(rows, errors);
+    }
+}
@@ -0,0 +1,24 @@
+package com.lms.lms_backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Outcome of a bulk course import. Rejected rows are listed in {@code errors} and have a
+ * {@code null} entry in {@code courseIds}.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CourseImportResponse {
+
+    private int received;
+    private int imported;
+    private List<Long> courseIds;
+    private List<ImportRowError> errors;
+}
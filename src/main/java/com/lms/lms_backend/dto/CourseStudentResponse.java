@@ -0,0 +1,26 @@
+package com.lms.lms_backend.dto;
+
+import com.lms.lms_backend.enums.EnrollmentStatus;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/** One student enrolled in a course; built directly by the listing query. */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CourseStudentResponse {
+    private Long enrollmentId;
+    private EnrollmentStatus status;
+    private Integer progress;
+    private LocalDateTime enrollmentDate;
+    private LocalDateTime completedDate;
+    private Long userId;
+    private String email;
+    private String firstName;
+    private String lastName;
+}
@@ -0,0 +1,15 @@
+package com.lms.lms_backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CourseSuggestionResponse {
+    private Long id;
+    private String title;
+}
@@ -0,0 +1,29 @@
+package com.lms.lms_backend.dto;
+
+import com.lms.lms_backend.enums.CourseStatus;
+import com.lms.lms_backend.enums.EnrollmentStatus;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/** One of a student's enrollments with the course it is for; built directly by the listing query. */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class EnrolledCourseResponse {
+    private Long enrollmentId;
+    private EnrollmentStatus status;
+    private Integer progress;
+    private LocalDateTime enrollmentDate;
+    private LocalDateTime completedDate;
+    private Long courseId;
+    private String title;
+    private CourseStatus courseStatus;
+    private LocalDateTime startDate;
+    private LocalDateTime endDate;
+    private String instructorName;
+}
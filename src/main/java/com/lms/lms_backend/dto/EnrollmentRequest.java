@@ -0,0 +1,17 @@
+package com.lms.lms_backend.dto;
+
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class EnrollmentRequest {
+    
+    @NotNull(message = "Course id is required")
+    private Long courseId;
+}
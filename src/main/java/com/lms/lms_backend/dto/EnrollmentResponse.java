@@ -0,0 +1,23 @@
+package com.lms.lms_backend.dto;
+
+import com.lms.lms_backend.enums.EnrollmentStatus;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class EnrollmentResponse {
+    private Long id;
+    private Long userId;
+    private Long courseId;
+    private EnrollmentStatus status;
+    private Integer progress;
+    private LocalDateTime enrollmentDate;
+    private LocalDateTime completedDate;
+}
@@ -0,0 +1,23 @@
+package com.lms.lms_backend.dto;
+
+import com.lms.lms_backend.enums.AdmissionStatus;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class EnrollmentTicketResponse {
+    private String ticketId;
+    private Long courseId;
+    private AdmissionStatus status;
+    private Long enrollmentId;
+    private String message;
+    private LocalDateTime requestedAt;
+    private LocalDateTime completedAt;
+}
@@ -0,0 +1,28 @@
+package com.lms.lms_backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.Map;
+
+/** Why one row of a bulk import was rejected; rows are numbered from 1 in upload order. */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ImportRowError {
+
+    private int row;
+    private List<String> messages;
+
+    /** Errors keyed by zero-based row index, in row order. */
+    public static List<ImportRowError> of(Map<Integer, List<String>> errors) {
+        return errors.entrySet().stream()
+                .sorted(Map.Entry.comparingByKey())
+                .map(error -> new ImportRowError(error.getKey() + 1, error.getValue()))
+                .toList();
+    }
+}
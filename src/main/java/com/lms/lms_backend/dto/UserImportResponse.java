@@ -0,0 +1,24 @@
+package com.lms.lms_backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Outcome of bulk user provisioning. Rejected rows are listed in {@code errors} and have a
+ * {@code null} entry in {@code userIds}.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserImportResponse {
+
+    private int received;
+    private int imported;
+    private List<Long> userIds;
+    private List<ImportRowError> errors;
+}
@@ -0,0 +1,7 @@
+package com.lms.lms_backend.enums;
+
+public enum AdmissionStatus {
+    PENDING,
+    ENROLLED,
+    REJECTED
+}
@@ -0,0 +1,40 @@
+package com.lms.lms_backend.event;
+
+import com.lms.lms_backend.dto.CourseResponse;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+
+/**
+ * Published whenever a course row changes. {@code version} is the course's new
+ * {@code updatedAt}; {@code course} carries the freshly built response for saves and
+ * is {@code null} for deletions and enrollment-count changes.
+ */
+@Getter
+@AllArgsConstructor
+public class CourseChangedEvent {
+
+    public enum Type {
+        SAVED,
+        DELETED,
+        ENROLLMENT_CHANGED
+    }
+
+    private final Long courseId;
+    private final Type type;
+    private final LocalDateTime version;
+    private final CourseResponse course;
+
+    public static CourseChangedEvent saved(CourseResponse course) {
+        return new CourseChangedEvent(course.getId(), Type.SAVED, course.getUpdatedAt(), course);
+    }
+
+    public static CourseChangedEvent deleted(Long courseId) {
+        return new CourseChangedEvent(courseId, Type.DELETED, LocalDateTime.MAX, null);
+    }
+
+    public static CourseChangedEvent enrollmentChanged(Long courseId, LocalDateTime version) {
+        return new CourseChangedEvent(courseId, Type.ENROLLMENT_CHANGED, version, null);
+    }
+}
@@ -0,0 +1,16 @@
+package com.lms.lms_backend.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Published by the user service whenever a user row is modified. Listeners react
+ * after the surrounding transaction commits.
+ */
+@Getter
+@AllArgsConstructor
+public class UserChangedEvent {
+    private final Long userId;
+    private final String email;
+    private final Integer securityVersion;
+}
@@ -0,0 +1,7 @@
+package com.lms.lms_backend.export;
+
+import java.util.function.Function;
+
+/** One exported field: its name in the header or JSON object, and how to read it from a row. */
+public record ExportColumn<T>(String name, Function<T, Object> value) {
+}
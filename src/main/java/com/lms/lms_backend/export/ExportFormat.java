@@ -0,0 +1,36 @@
+package com.lms.lms_backend.export;
+
+import com.lms.lms_backend.exception.BusinessException;
+import org.springframework.http.MediaType;
+
+import java.util.Arrays;
+import java.util.Locale;
+
+/** Wire formats of the bulk exports: one JSON object per line, or CSV with a header row. */
+public enum ExportFormat {
+    NDJSON("ndjson", MediaType.parseMediaType("application/x-ndjson")),
+    CSV("csv", MediaType.parseMediaType("text/csv;charset=UTF-8"));
+
+    private final String extension;
+    private final MediaType mediaType;
+
+    ExportFormat(String extension, MediaType mediaType) {
+        this.extension = extension;
+        this.mediaType = mediaType;
+    }
+
+    public String extension() {
+        return extension;
+    }
+
+    public MediaType mediaType() {
+        return mediaType;
+    }
+
+    public static ExportFormat fromParameter(String format) {
+        return Arrays.stream(values())
+                .filter(value -> value.extension.equals(format.toLowerCase(Locale.ROOT)))
+                .findFirst()
+                .orElseThrow(() -> new BusinessException("Unsupported export format '" + format + "'; use ndjson or csv"));
+    }
+}
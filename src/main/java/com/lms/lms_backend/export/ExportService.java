@@ -0,0 +1,92 @@
+package com.lms.lms_backend.export;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.lms.lms_backend.model.Course;
+import com.lms.lms_backend.model.User;
+import com.lms.lms_backend.repository.CourseRepository;
+import com.lms.lms_backend.repository.UserRepository;
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * Bulk exports of the course catalog and the user list for offline analysis.
+ *
+ * <p>Rows are read through a forward-only database cursor and written to the output as they
+ * arrive. Each entity is detached once written, so neither the persistence context nor the
+ * response grows with the size of the table.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ExportService {
+
+    private static final List<ExportColumn<Course>> COURSE_COLUMNS = List.of(
+            new ExportColumn<>("id", Course::getId),
+            new ExportColumn<>("title", Course::getTitle),
+            new ExportColumn<>("description", Course::getDescription),
+            new ExportColumn<>("status", Course::getStatus),
+            new ExportColumn<>("capacity", Course::getCapacity),
+            new ExportColumn<>("enrolledCount", Course::getEnrolledCount),
+            new ExportColumn<>("startDate", Course::getStartDate),
+            new ExportColumn<>("endDate", Course::getEndDate),
+            new ExportColumn<>("instructorId", course -> course.getInstructor().getId()),
+            new ExportColumn<>("instructorEmail", course -> course.getInstructor().getEmail()),
+            new ExportColumn<>("createdAt", Course::getCreatedAt),
+            new ExportColumn<>("updatedAt", Course::getUpdatedAt));
+
+    private static final List<ExportColumn<User>> USER_COLUMNS = List.of(
+            new ExportColumn<>("id", User::getId),
+            new ExportColumn<>("email", User::getEmail),
+            new ExportColumn<>("firstName", User::getFirstName),
+            new ExportColumn<>("lastName", User::getLastName),
+            new ExportColumn<>("role", User::getRole),
+            new ExportColumn<>("active", User::getActive),
+            new ExportColumn<>("createdAt", User::getCreatedAt),
+            new ExportColumn<>("updatedAt", User::getUpdatedAt));
+
+    private final CourseRepository courseRepository;
+    private final UserRepository userRepository;
+    private final EntityManager entityManager;
+    private final ObjectMapper objectMapper;
+
+    @Transactional(readOnly = true)
+    public void exportCourses(ExportFormat format, OutputStream out) throws IOException {
+        try (Stream<Course> courses = courseRepository.streamAllWithInstructor()) {
+            long rows = export(courses, COURSE_COLUMNS, format, out, course -> {
+                entityManager.detach(course);
+                entityManager.detach(course.getInstructor());
+            });
+            log.info("Exported {} courses as {}", rows, format);
+        }
+    }
+
+    @Transactional(readOnly = true)
+    public void exportUsers(ExportFormat format, OutputStream out) throws IOException {
+        try (Stream<User> users = userRepository.streamAll()) {
+            long rows = export(users, USER_COLUMNS, format, out, entityManager::detach);
+            log.info("Exported {} users as {}", rows, format);
+        }
+    }
+
+    private <T> long export(Stream<T> rows, List<ExportColumn<T>> columns, ExportFormat format,
+                            OutputStream out, Consumer<T> detach) throws IOException {
+        long count = 0;
+        try (RowWriter<T> writer = RowWriter.create(format, out, columns, objectMapper)) {
+            for (T row : (Iterable<T>) rows::iterator) {
+                writer.write(row);
+                detach.accept(row);
+                count++;
+            }
+        }
+        return count;
+    }
+}
@@ -0,0 +1,117 @@
+package com.lms.lms_backend.export;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+
+/**
+ * Writes rows one at a time in an {@link ExportFormat}, holding nothing but the current row,
+ * so an export of any size runs in constant memory.
+ */
+abstract class RowWriter<T> implements AutoCloseable {
+
+    protected final List<ExportColumn<T>> columns;
+    protected final Writer out;
+
+    private RowWriter(OutputStream out, List<ExportColumn<T>> columns) {
+        this.columns = columns;
+        this.out = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+    }
+
+    static <T> RowWriter<T> create(ExportFormat format, OutputStream out, List<ExportColumn<T>> columns,
+                                   ObjectMapper objectMapper) throws IOException {
+        return switch (format) {
+            case NDJSON -> new Ndjson<>(out, columns, objectMapper);
+            case CSV -> new Csv<>(out, columns);
+        };
+    }
+
+    abstract void write(T row) throws IOException;
+
+    @Override
+    public void close() throws IOException {
+        out.flush();
+    }
+
+    private static final class Ndjson<T> extends RowWriter<T> {
+
+        private final JsonGenerator generator;
+
+        Ndjson(OutputStream out, List<ExportColumn<T>> columns, ObjectMapper objectMapper) throws IOException {
+            super(out, columns);
+            // Lines are separated explicitly; the mapper supplies the date and enum formats
+            this.generator = objectMapper.createGenerator(this.out);
+            this.generator.setRootValueSeparator(null);
+            this.generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        }
+
+        @Override
+        void write(T row) throws IOException {
+            generator.writeStartObject();
+            for (ExportColumn<T> column : columns) {
+                generator.writeFieldName(column.name());
+                generator.writeObject(column.value().apply(row));
+            }
+            generator.writeEndObject();
+            generator.writeRaw('\n');
+        }
+
+        @Override
+        public void close() throws IOException {
+            generator.close();
+            super.close();
+        }
+    }
+
+    private static final class Csv<T> extends RowWriter<T> {
+
+        Csv(OutputStream out, List<ExportColumn<T>> columns) throws IOException {
+            super(out, columns);
+            for (int i = 0; i < columns.size(); i++) {
+                writeField(i, columns.get(i).name());
+            }
+            this.out.write("\r\n");
+        }
+
+        @Override
+        void write(T row) throws IOException {
+            for (int i = 0; i < columns.size(); i++) {
+                writeField(i, format(columns.get(i).value().apply(row)));
+            }
+            out.write("\r\n");
+        }
+
+        // Same date-time shape as the JSON export, which keeps zero seconds
+        private static String format(Object value) {
+            if (value == null) {
+                return "";
+            }
+            return value instanceof LocalDateTime dateTime
+                    ? DateTimeFormatter.ISO_LOCAL_DATE_TIME.format(dateTime)
+                    : value.toString();
+        }
+
+        // RFC 4180: quote fields holding separators, quotes or line breaks, doubling inner quotes
+        private void writeField(int index, String value) throws IOException {
+            if (index > 0) {
+                out.write(',');
+            }
+            if (value.chars().noneMatch(c -> c == ',' || c == '"' || c == '\n' || c == '\r')) {
+                out.write(value);
+                return;
+            }
+            out.write('"');
+            out.write(value.replace("\"", "\"\""));
+            out.write('"');
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package com.lms.lms_backend.http;
+
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.context.request.WebRequest;
+
+import java.util.function.Supplier;
+
+/**
+ * Answers conditional GETs. {@code If-None-Match} and {@code If-Modified-Since} are checked
+ * against a {@link ResourceVersion} first, and the body is only built when the client's copy
+ * is out of date.
+ */
+public final class ConditionalResponses {
+
+    private ConditionalResponses() {
+    }
+
+    public static <T> ResponseEntity<T> respond(WebRequest request, ResourceVersion version,
+                                                CacheControl cacheControl, Supplier<T> body) {
+        // Also sets ETag and Last-Modified on the response
+        if (request.checkNotModified(version.etag(), version.lastModified().toEpochMilli())) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).cacheControl(cacheControl).build();
+        }
+        return ResponseEntity.ok()
+                .cacheControl(cacheControl)
+                .eTag(version.etag())
+                .lastModified(version.lastModified())
+                .body(body.get());
+    }
+}
@@ -0,0 +1,133 @@
+package com.lms.lms_backend.http;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.lms.lms_backend.cache.CacheRegistry;
+import com.lms.lms_backend.exception.BusinessException;
+import com.lms.lms_backend.exception.ServiceOverloadedException;
+import com.lms.lms_backend.security.UserPrincipal;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * Honours the {@code Idempotency-Key} header on POSTs. The first request with a key runs and
+ * its response is kept; a retry with the same key gets that response back, marked
+ * {@code Idempotent-Replayed: true}, without running again. A retry that arrives while the
+ * first is still running waits for its outcome instead of starting a second one, for at most
+ * {@code app.http.idempotency.wait-timeout}; past that it is refused with a 503 and
+ * {@code Retry-After}, and the first request carries on.
+ *
+ * <p>Keys are scoped to the calling user and the operation. Only successful responses are
+ * kept: if the first request throws, requests already waiting on it get the same exception
+ * and the next retry runs afresh. Responses live in this instance's memory, bounded by
+ * {@code app.http.idempotency.max-size} and kept for {@code app.http.idempotency.ttl}.
+ * Requests still running do not count towards the bound, so eviction never drops a key whose
+ * retry would then run a second time alongside the first.
+ */
+@Component
+public class IdempotentRequests {
+
+    public static final String HEADER = "Idempotency-Key";
+    private static final String REPLAYED = "Idempotent-Replayed";
+    private static final int MAX_KEY_LENGTH = 255;
+    private static final long RETRY_AFTER_SECONDS = 1;
+
+    private final Cache<String, Entry> responses;
+    private final Duration waitTimeout;
+
+    public IdempotentRequests(
+            CacheRegistry cacheRegistry,
+            @Value("${app.http.idempotency.max-size:10000}") long maxSize,
+            @Value("${app.http.idempotency.ttl:1h}") Duration ttl,
+            @Value("${app.http.idempotency.wait-timeout:10s}") Duration waitTimeout) {
+        this.waitTimeout = waitTimeout;
+        this.responses = Caffeine.newBuilder()
+                .maximumWeight(maxSize)
+                // Weighed on every write, so an entry starts to count once its response is put back
+                .weigher((String key, Entry entry) -> entry.response().isDone() ? 1 : 0)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        cacheRegistry.register("idempotentResponses", responses);
+    }
+
+    /**
+     * Runs {@code action} once per key. {@code request} is the request body; reusing a key for
+     * a different body is rejected. Without a key the action simply runs.
+     */
+    public <T> ResponseEntity<T> execute(String key, String operation, Object request,
+                                         Supplier<ResponseEntity<T>> action) {
+        if (key == null) {
+            return action.get();
+        }
+        if (key.isBlank() || key.length() > MAX_KEY_LENGTH) {
+            throw new BusinessException(HEADER + " must be 1 to " + MAX_KEY_LENGTH + " characters");
+        }
+
+        String scopedKey = currentUserId() + ":" + operation + ":" + key;
+        Entry started = new Entry(request, new CompletableFuture<>());
+        Entry entry = responses.get(scopedKey, k -> started);
+        if (entry != started) {
+            if (!entry.request().equals(request)) {
+                throw new BusinessException(HEADER + " was already used for a different request");
+            }
+            return replay(entry);
+        }
+
+        try {
+            ResponseEntity<T> response = action.get();
+            started.response().complete(response);
+            responses.asMap().replace(scopedKey, started, started);
+            return response;
+        } catch (RuntimeException | Error e) {
+            responses.asMap().remove(scopedKey, started);
+            started.response().completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> ResponseEntity<T> replay(Entry entry) {
+        ResponseEntity<T> original;
+        try {
+            original = (ResponseEntity<T>) entry.response().get(waitTimeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            throw stillInProgress();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw stillInProgress();
+        } catch (ExecutionException e) {
+            // The first request failed while this one waited on it
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw (Error) e.getCause();
+        }
+        HttpHeaders headers = new HttpHeaders();
+        headers.putAll(original.getHeaders());
+        headers.set(REPLAYED, "true");
+        return new ResponseEntity<>(original.getBody(), headers, original.getStatusCode());
+    }
+
+    private static ServiceOverloadedException stillInProgress() {
+        return new ServiceOverloadedException(
+                "A request with this " + HEADER + " is still in progress, please retry", RETRY_AFTER_SECONDS);
+    }
+
+    private static Long currentUserId() {
+        return ((UserPrincipal) SecurityContextHolder.getContext().getAuthentication().getPrincipal()).getId();
+    }
+
+    private record Entry(Object request, CompletableFuture<ResponseEntity<?>> response) {
+    }
+}
@@ -0,0 +1,40 @@
+package com.lms.lms_backend.http;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.temporal.ChronoUnit;
+
+/**
+ * Validators for a representation: a strong {@code ETag} and its {@code Last-Modified} time.
+ * Both are derived from the {@code updatedAt} stamps of the rows the representation is built
+ * from, so they can be checked before building it.
+ */
+public record ResourceVersion(String etag, Instant lastModified) {
+
+    /**
+     * Version of the representation named {@code name}, built from the given stamps in order;
+     * the newest stamp is its modification time.
+     */
+    public static ResourceVersion of(String name, LocalDateTime... updatedAt) {
+        StringBuilder tag = new StringBuilder("\"").append(name);
+        Instant newest = Instant.EPOCH;
+        for (LocalDateTime stamp : updatedAt) {
+            Instant instant = truncate(stamp).atZone(ZoneId.systemDefault()).toInstant();
+            long micros = ChronoUnit.MICROS.between(Instant.EPOCH, instant);
+            tag.append('-').append(Long.toString(micros, 36));
+            if (instant.isAfter(newest)) {
+                newest = instant;
+            }
+        }
+        return new ResourceVersion(tag.append('"').toString(), newest);
+    }
+
+    /**
+     * {@code updatedAt} at the precision the database keeps it, microseconds, so the stamp of
+     * an entity written in this process compares equal to the same stamp reloaded.
+     */
+    public static LocalDateTime truncate(LocalDateTime updatedAt) {
+        return updatedAt.truncatedTo(ChronoUnit.MICROS);
+    }
+}
@@ -11,6 +11,7 @@ import java.util.Set;
 
 @Entity
 @Table(name = "courses")
+@SequenceGenerator(name = BaseEntitiy.ID_GENERATOR, sequenceName = "courses_id_seq", allocationSize = BaseEntitiy.ID_ALLOCATION_SIZE)
 @Getter
 @Setter
 @NoArgsConstructor
@@ -37,7 +38,11 @@ public class Course extends BaseEntitiy {
     @Builder.Default
     private Integer capacity = 30;
     
-    @Column(name = "enrolled_count", nullable = false)
+    /**
+     * Only ever changed by the atomic seat statements in {@code CourseRepository}; entity saves
+     * leave the column alone so they cannot overwrite a concurrent enrollment.
+     */
+    @Column(name = "enrolled_count", nullable = false, updatable = false)
     @Builder.Default
     private Integer enrolledCount = 0;
     
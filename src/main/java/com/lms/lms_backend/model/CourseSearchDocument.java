@@ -0,0 +1,25 @@
+package com.lms.lms_backend.model;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Immutable;
+
+/**
+ * Read-only view of the generated {@code courses.search_vector} column. It is mapped apart
+ * from {@link Course} so loading a course never selects the vector; text filters join it
+ * on the course id.
+ */
+@Entity
+@Immutable
+@Table(name = "courses")
+@Getter
+@NoArgsConstructor
+public class CourseSearchDocument {
+    
+    @Id
+    private Long id;
+    
+    @Column(name = "search_vector", columnDefinition = "tsvector", insertable = false, updatable = false)
+    private String searchVector;
+}
@@ -9,6 +9,7 @@ import java.time.LocalDateTime;
 @Entity
 @Table(name = "enrollments", 
        uniqueConstraints = @UniqueConstraint(columnNames = {"user_id", "course_id"}))
+@SequenceGenerator(name = BaseEntitiy.ID_GENERATOR, sequenceName = "enrollments_id_seq", allocationSize = BaseEntitiy.ID_ALLOCATION_SIZE)
 @Getter
 @Setter
 @NoArgsConstructor
@@ -0,0 +1,24 @@
+package com.lms.lms_backend.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "revoked_tokens")
+@SequenceGenerator(name = BaseEntitiy.ID_GENERATOR, sequenceName = "revoked_tokens_id_seq", allocationSize = BaseEntitiy.ID_ALLOCATION_SIZE)
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class RevokedToken extends BaseEntitiy {
+    
+    @Column(nullable = false, unique = true, length = 64)
+    private String jti;
+    
+    // Same as the token's exp claim; the row is useless once the token would be rejected anyway
+    @Column(name = "expires_at", nullable = false)
+    private LocalDateTime expiresAt;
+}
@@ -9,6 +9,7 @@ import java.util.Set;
 
 @Entity
 @Table(name = "users")
+@SequenceGenerator(name = BaseEntitiy.ID_GENERATOR, sequenceName = "users_id_seq", allocationSize = BaseEntitiy.ID_ALLOCATION_SIZE)
 @Getter
 @Setter
 @NoArgsConstructor
@@ -36,6 +37,10 @@ public class User extends BaseEntitiy {
     @Builder.Default
     private Boolean active = true;
     
+    @Column(name = "security_version", nullable = false)
+    @Builder.Default
+    private Integer securityVersion = 0;
+    
     @OneToMany(mappedBy = "instructor", cascade = CascadeType.ALL)
     private Set<Course> instructedCourses = new HashSet<>();
     
@@ -0,0 +1,22 @@
+package com.lms.lms_backend.pagination;
+
+/**
+ * Supported course sorts. Each has an index on its own for unfiltered listings and one led by
+ * {@code status} for status-filtered listings (migrations V7 to V9).
+ */
+public enum CourseSortField implements SortField {
+    ID("id"),
+    TITLE("title"),
+    START_DATE("startDate");
+
+    private final String property;
+
+    CourseSortField(String property) {
+        this.property = property;
+    }
+
+    @Override
+    public String property() {
+        return property;
+    }
+}
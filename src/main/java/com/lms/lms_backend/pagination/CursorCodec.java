@@ -0,0 +1,148 @@
+package com.lms.lms_backend.pagination;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.lms.lms_backend.dto.CursorPageResponse;
+import com.lms.lms_backend.exception.BusinessException;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.metamodel.EntityType;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Converts keyset positions to and from the opaque {@code cursor} tokens handed to clients.
+ *
+ * <p>A token is URL-safe Base64 of a small JSON document holding the sort key values of the
+ * last row served and a signature of the ordering they belong to. Decoding restores each
+ * value to the Java type of its attribute, and a cursor presented with a different ordering
+ * than it was issued for is rejected.
+ */
+@Component
+@RequiredArgsConstructor
+public class CursorCodec {
+
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+    private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+
+    private final ObjectMapper objectMapper;
+    private final EntityManagerFactory entityManagerFactory;
+
+    public static void requireValidSize(int size) {
+        if (size < 1) {
+            throw new BusinessException("Page size must be at least 1");
+        }
+    }
+
+    /**
+     * Rows to fetch for a page of {@code size}: one row past the page tells whether there is a
+     * next page without counting.
+     */
+    public static int lookahead(int size) {
+        return size + 1;
+    }
+
+    /**
+     * Appends {@code id} as a tiebreaker in the direction of the last sort key, so the ordering
+     * is total and a composite index ending in {@code id} can serve it in a single scan.
+     */
+    public static Sort withIdTiebreaker(Sort sort) {
+        if (sort.getOrderFor("id") != null) {
+            return sort;
+        }
+        Sort.Direction direction = sort.stream()
+                .reduce((first, second) -> second)
+                .map(Sort.Order::getDirection)
+                .orElse(Sort.Direction.ASC);
+        return sort.and(Sort.by(direction, "id"));
+    }
+
+    /**
+     * Position to scroll an entity listing from; an empty or missing cursor starts at the
+     * first row.
+     */
+    public KeysetScrollPosition decode(String cursor, Class<?> entityClass, Sort sort) {
+        if (cursor == null || cursor.isBlank()) {
+            return ScrollPosition.keyset();
+        }
+        EntityType<?> entity = entityManagerFactory.getMetamodel().entity(entityClass);
+        Map<String, Object> keys = decode(cursor, sort.toString(),
+                attribute -> entity.getAttribute(attribute).getJavaType());
+        return ScrollPosition.forward(keys);
+    }
+
+    /**
+     * Decodes a cursor whose keys are not entity attributes, e.g. a computed rank.
+     * Returns {@code null} for an empty or missing cursor.
+     */
+    public Map<String, Object> decode(String cursor, String ordering, Function<String, Class<?>> typeOfKey) {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+        try {
+            Token token = objectMapper.readValue(DECODER.decode(cursor), Token.class);
+            if (!ordering.equals(token.ordering()) || token.keys() == null || token.keys().isEmpty()) {
+                throw new BusinessException("Cursor does not match the requested ordering");
+            }
+            Map<String, Object> keys = new LinkedHashMap<>();
+            token.keys().forEach((name, value) ->
+                    keys.put(name, objectMapper.convertValue(value, typeOfKey.apply(name))));
+            return keys;
+        } catch (IOException | IllegalArgumentException e) {
+            throw new BusinessException("Invalid cursor");
+        }
+    }
+
+    public String encode(Map<String, ?> keys, String ordering) {
+        try {
+            return ENCODER.encodeToString(objectMapper.writeValueAsBytes(new Token(ordering, keys)));
+        } catch (IOException e) {
+            throw new IllegalStateException("Could not encode cursor", e);
+        }
+    }
+
+    /** Builds the response for a window scrolled with {@code sort}, mapping each row. */
+    public <T, R> CursorPageResponse<R> toResponse(Window<T> window, Sort sort, Function<T, R> mapper) {
+        String nextCursor = null;
+        if (window.hasNext() && !window.isEmpty()) {
+            KeysetScrollPosition last = (KeysetScrollPosition) window.positionAt(window.size() - 1);
+            nextCursor = encode(last.getKeys(), sort.toString());
+        }
+        return toResponse(window.getContent().stream().map(mapper).toList(), nextCursor);
+    }
+
+    /**
+     * Builds the response for rows fetched {@link #lookahead ahead} of a page of {@code size},
+     * with a cursor on the keys of the last row served if there is a next page.
+     */
+    public <T, R> CursorPageResponse<R> toResponse(List<T> rows, int size, Function<T, Map<String, ?>> keysOf,
+                                                   String ordering, Function<T, R> mapper) {
+        String nextCursor = null;
+        if (rows.size() > size) {
+            rows = rows.subList(0, size);
+            nextCursor = encode(keysOf.apply(rows.get(size - 1)), ordering);
+        }
+        return toResponse(rows.stream().map(mapper).toList(), nextCursor);
+    }
+
+    public <R> CursorPageResponse<R> toResponse(List<R> content, String nextCursor) {
+        return CursorPageResponse.<R>builder()
+                .content(content)
+                .size(content.size())
+                .hasNext(nextCursor != null)
+                .nextCursor(nextCursor)
+                .build();
+    }
+
+    private record Token(String ordering, Map<String, ?> keys) {
+    }
+}
@@ -0,0 +1,41 @@
+package com.lms.lms_backend.pagination;
+
+import com.lms.lms_backend.exception.BusinessException;
+import org.springframework.data.domain.Sort;
+
+import java.util.Arrays;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+/**
+ * A field clients may sort a listing by. Implementations are enums listing the supported
+ * fields of one resource; each field is backed by an index whose trailing column is
+ * {@code id}, so sorted pages are read in index order instead of being sorted.
+ */
+public interface SortField {
+
+    /** Entity attribute, which is also the name clients pass as {@code sortBy}. */
+    String property();
+
+    /**
+     * Resolves request parameters to a {@link Sort} on one of {@code fields} with an
+     * {@code id} tiebreaker, rejecting unsupported fields and directions.
+     */
+    static <E extends Enum<E> & SortField> Sort resolve(Class<E> fields, String sortBy, String sortDirection) {
+        Sort.Direction direction = Sort.Direction.fromOptionalString(sortDirection)
+                .orElseThrow(() -> new BusinessException(
+                        "Unsupported sort direction '" + sortDirection + "'; use ASC or DESC"));
+        E field = find(fields, sortBy)
+                .orElseThrow(() -> new BusinessException("Cannot sort by '" + sortBy + "'; supported fields are "
+                        + Arrays.stream(fields.getEnumConstants())
+                                .map(SortField::property)
+                                .collect(Collectors.joining(", "))));
+        return CursorCodec.withIdTiebreaker(Sort.by(direction, field.property()));
+    }
+
+    private static <E extends Enum<E> & SortField> Optional<E> find(Class<E> fields, String sortBy) {
+        return Arrays.stream(fields.getEnumConstants())
+                .filter(field -> field.property().equals(sortBy))
+                .findFirst();
+    }
+}
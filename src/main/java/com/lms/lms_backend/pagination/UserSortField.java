@@ -0,0 +1,22 @@
+package com.lms.lms_backend.pagination;
+
+/**
+ * Supported user sorts. User listings only show active users, so each field is backed by a
+ * partial index on active users (migrations V7 and V9).
+ */
+public enum UserSortField implements SortField {
+    ID("id"),
+    EMAIL("email"),
+    LAST_NAME("lastName");
+
+    private final String property;
+
+    UserSortField(String property) {
+        this.property = property;
+    }
+
+    @Override
+    public String property() {
+        return property;
+    }
+}
@@ -3,37 +3,147 @@ package com.lms.lms_backend.repository;
 import com.lms.lms_backend.enums.CourseStatus;
 import com.lms.lms_backend.model.Course;
 import com.lms.lms_backend.model.User;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
+/**
+ * Every method returning courses for display fetches the instructor in the same query,
+ * since {@code CourseService.mapToResponse} reads it for each row.
+ */
 @Repository
 public interface CourseRepository extends JpaRepository<Course, Long>, JpaSpecificationExecutor<Course> {
     
+    /** Rows per round trip when streaming; large enough to amortize latency, small enough to stay flat. */
+    String EXPORT_FETCH_SIZE = "500";
+    
+    @EntityGraph(attributePaths = "instructor")
+    Optional<Course> findWithInstructorById(Long id);
+    
+    @EntityGraph(attributePaths = "instructor")
+    List<Course> findWithInstructorByIdIn(Collection<Long> ids);
+    
+    @Override
+    @EntityGraph(attributePaths = "instructor")
+    Page<Course> findAll(Pageable pageable);
+    
+    @Override
+    @EntityGraph(attributePaths = "instructor")
+    Page<Course> findAll(Specification<Course> spec, Pageable pageable);
+    
+    @EntityGraph(attributePaths = "instructor")
     Page<Course> findByStatus(CourseStatus status, Pageable pageable);
     
+    @EntityGraph(attributePaths = "instructor")
     Page<Course> findByInstructor(User instructor, Pageable pageable);
     
+    @EntityGraph(attributePaths = "instructor")
     Page<Course> findByInstructorId(Long instructorId, Pageable pageable);
     
+    @EntityGraph(attributePaths = "instructor")
     @Query("SELECT c FROM Course c WHERE c.status = :status AND c.startDate > :date")
-    Page<Course> findUpcomingCourses(@Param("status") CourseStatus status, 
-                                      @Param("date") LocalDateTime date, 
-                                      Pageable pageable);
+    List<Course> findUpcomingCourses(@Param("status") CourseStatus status, 
+                                      @Param("date") LocalDateTime date);
+    
+    /** Relevance of one course, computed exactly as the text-ranked listings order by it. */
+    @Query(value = "SELECT ts_rank(c.search_vector, to_tsquery('english', :query)) FROM courses c WHERE c.id = :id",
+           nativeQuery = true)
+    Float findRank(@Param("query") String tsQuery, @Param("id") Long id);
+    
+    /**
+     * Every course with its instructor in id order, read through a server-side cursor in
+     * batches of {@link #EXPORT_FETCH_SIZE}. Must be consumed inside a transaction and closed.
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = EXPORT_FETCH_SIZE),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT c FROM Course c JOIN FETCH c.instructor ORDER BY c.id")
+    Stream<Course> streamAllWithInstructor();
+    
+    /** Stamps that version a course's response: its own and its instructor's. */
+    @Query("SELECT c.updatedAt AS updatedAt, i.updatedAt AS instructorUpdatedAt " +
+           "FROM Course c JOIN c.instructor i WHERE c.id = :id")
+    Optional<CourseVersionView> findVersionById(@Param("id") Long id);
     
-    @Query("SELECT c FROM Course c WHERE " +
-           "LOWER(c.title) LIKE LOWER(CONCAT('%', :searchTerm, '%')) OR " +
-           "LOWER(c.description) LIKE LOWER(CONCAT('%', :searchTerm, '%'))")
-    Page<Course> searchCourses(@Param("searchTerm") String searchTerm, Pageable pageable);
+    /**
+     * Fingerprint of everything catalog listings are built from: courses, their instructors and
+     * the last course deletion. The sums change whenever any row's stamp does, even when a
+     * change commits with a stamp older than the newest one.
+     */
+    @Query(value = "SELECT GREATEST(c.updated_at, i.updated_at, t.deleted_at) AS updatedAt, " +
+                   "c.courses AS courses, c.stamps + i.stamps AS stamps " +
+                   "FROM (SELECT MAX(updated_at) AS updated_at, COUNT(*) AS courses, " +
+                   "COALESCE(SUM(EXTRACT(EPOCH FROM updated_at) * 1000000), 0) AS stamps FROM courses) c, " +
+                   "(SELECT MAX(u.updated_at) AS updated_at, " +
+                   "COALESCE(SUM(EXTRACT(EPOCH FROM u.updated_at) * 1000000), 0) AS stamps FROM users u " +
+                   "WHERE u.id IN (SELECT instructor_id FROM courses)) i, " +
+                   "catalog_tombstone t",
+           nativeQuery = true)
+    CatalogStampView findCatalogStamp();
+    
+    @Query("SELECT c.id AS id, c.title AS title FROM Course c WHERE c.status = :status")
+    List<CourseTitleView> findTitlesByStatus(@Param("status") CourseStatus status);
     
     @Query("SELECT COUNT(c) FROM Course c WHERE c.instructor.id = :instructorId")
     Long countByInstructorId(@Param("instructorId") Long instructorId);
     
     boolean existsByIdAndInstructorId(Long courseId, Long instructorId);
+    
+    /**
+     * Takes {@code seats} seats if the course is published, has not started and has that many
+     * left, all checked and applied in a single statement so concurrent enrollments can neither
+     * oversell nor lose an update. Returns the number of rows changed: 1 if the seats were
+     * reserved.
+     */
+    @Modifying
+    @Query("UPDATE Course c SET c.enrolledCount = c.enrolledCount + :seats, c.updatedAt = :now " +
+           "WHERE c.id = :id AND c.status = com.lms.lms_backend.enums.CourseStatus.PUBLISHED " +
+           "AND c.startDate > :now AND c.enrolledCount + :seats <= c.capacity")
+    int reserveSeats(@Param("id") Long courseId, @Param("seats") int seats, @Param("now") LocalDateTime now);
+    
+    /** Locks the course row until commit, for granting several seats from one read of the count. */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT c FROM Course c WHERE c.id = :id")
+    Optional<Course> findForSeatUpdate(@Param("id") Long courseId);
+    
+    @Modifying
+    @Query("UPDATE Course c SET c.enrolledCount = c.enrolledCount - 1, c.updatedAt = :now " +
+           "WHERE c.id = :id AND c.enrolledCount > 0")
+    int releaseSeat(@Param("id") Long courseId, @Param("now") LocalDateTime now);
+    
+    interface CourseTitleView {
+        Long getId();
+        String getTitle();
+    }
+    
+    interface CourseVersionView {
+        LocalDateTime getUpdatedAt();
+        LocalDateTime getInstructorUpdatedAt();
+    }
+    
+    interface CatalogStampView {
+        LocalDateTime getUpdatedAt();
+        Long getCourses();
+        BigDecimal getStamps();
+    }
 }
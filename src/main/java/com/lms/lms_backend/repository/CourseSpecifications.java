@@ -0,0 +1,198 @@
+package com.lms.lms_backend.repository;
+
+import com.lms.lms_backend.dto.CourseFilter;
+import com.lms.lms_backend.enums.CourseStatus;
+import com.lms.lms_backend.model.Course;
+import com.lms.lms_backend.model.CourseSearchDocument;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.hibernate.query.criteria.HibernateCriteriaBuilder;
+import org.hibernate.query.criteria.JpaEntityJoin;
+import org.hibernate.query.criteria.JpaRoot;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.stream.Collectors;
+
+/**
+ * Building blocks for course queries. {@link #matching(CourseFilter)} combines every given
+ * filter into a single predicate; each filter lines up with an index from the migrations, so
+ * any combination is served by index scans.
+ */
+public final class CourseSpecifications {
+
+    // Must match CourseRepository.findRank so a cursor's rank compares equal to its own row
+    private static final String RANK = "ts_rank(?, to_tsquery('english', ?))";
+
+    private CourseSpecifications() {
+    }
+
+    /** Every filter in {@code filter}; text is matched without affecting the order. */
+    public static Specification<Course> matching(CourseFilter filter) {
+        Specification<Course> spec = byAttributes(filter);
+        if (hasText(filter.getSearch())) {
+            spec = spec.and(matchesText(filter.getSearch()));
+        }
+        return spec;
+    }
+
+    /**
+     * Every filter in {@code filter}, ordered by text relevance and then id, both descending.
+     * With {@code after}, only rows ranked strictly after that position are returned.
+     */
+    public static Specification<Course> matchingByRelevance(CourseFilter filter, RankPosition after) {
+        return byAttributes(filter).and(rankedByText(filter.getSearch(), after));
+    }
+
+    /**
+     * Fetches the instructor with each course. Needed for fluent {@code findBy(...).scroll(...)}
+     * queries, which do not apply the repository's entity graphs; skipped for count queries.
+     */
+    public static Specification<Course> fetchInstructor() {
+        return (root, query, cb) -> {
+            if (!isCountQuery(query)) {
+                root.fetch("instructor");
+            }
+            return cb.conjunction();
+        };
+    }
+
+    public static Specification<Course> hasStatus(CourseStatus status) {
+        return (root, query, cb) -> cb.equal(root.get("status"), status);
+    }
+
+    public static Specification<Course> hasInstructor(Long instructorId) {
+        return (root, query, cb) -> cb.equal(root.get("instructor").get("id"), instructorId);
+    }
+
+    public static Specification<Course> startsAfter(LocalDateTime date) {
+        return (root, query, cb) -> cb.greaterThan(root.get("startDate"), date);
+    }
+
+    public static Specification<Course> startsBefore(LocalDateTime date) {
+        return (root, query, cb) -> cb.lessThan(root.get("startDate"), date);
+    }
+
+    public static Specification<Course> endsAfter(LocalDateTime date) {
+        return (root, query, cb) -> cb.greaterThan(root.get("endDate"), date);
+    }
+
+    public static Specification<Course> endsBefore(LocalDateTime date) {
+        return (root, query, cb) -> cb.lessThan(root.get("endDate"), date);
+    }
+
+    /** Full-text match against the GIN-indexed {@code search_vector}, every word as a prefix. */
+    public static Specification<Course> matchesText(String searchTerm) {
+        String tsQuery = toPrefixTsQuery(searchTerm);
+        return (root, query, cb) -> {
+            if (tsQuery == null) {
+                return cb.disjunction();
+            }
+            TextSearch search = TextSearch.join(root, cb, tsQuery);
+            return search.matches();
+        };
+    }
+
+    private static Specification<Course> rankedByText(String searchTerm, RankPosition after) {
+        String tsQuery = toPrefixTsQuery(searchTerm);
+        return (root, query, cb) -> {
+            if (tsQuery == null) {
+                return cb.disjunction();
+            }
+            TextSearch search = TextSearch.join(root, cb, tsQuery);
+            if (!isCountQuery(query)) {
+                query.orderBy(cb.desc(search.rank()), cb.desc(root.get("id")));
+            }
+            return after == null ? search.matches() : cb.and(search.matches(), search.rankedAfter(after));
+        };
+    }
+
+    private static Specification<Course> byAttributes(CourseFilter filter) {
+        return (root, query, cb) -> {
+            List<Predicate> predicates = new ArrayList<>();
+            if (filter.getStatus() != null) {
+                predicates.add(hasStatus(filter.getStatus()).toPredicate(root, query, cb));
+            }
+            if (filter.getInstructorId() != null) {
+                predicates.add(hasInstructor(filter.getInstructorId()).toPredicate(root, query, cb));
+            }
+            if (filter.getStartsAfter() != null) {
+                predicates.add(startsAfter(filter.getStartsAfter()).toPredicate(root, query, cb));
+            }
+            if (filter.getStartsBefore() != null) {
+                predicates.add(startsBefore(filter.getStartsBefore()).toPredicate(root, query, cb));
+            }
+            if (filter.getEndsAfter() != null) {
+                predicates.add(endsAfter(filter.getEndsAfter()).toPredicate(root, query, cb));
+            }
+            if (filter.getEndsBefore() != null) {
+                predicates.add(endsBefore(filter.getEndsBefore()).toPredicate(root, query, cb));
+            }
+            return cb.and(predicates.toArray(Predicate[]::new));
+        };
+    }
+
+    /**
+     * Turns free text into a tsquery where every word must match as a prefix,
+     * e.g. {@code "machine learn"} becomes {@code "machine:* & learn:*"}. Everything but
+     * letters and digits is dropped, so user input can never inject tsquery operators.
+     * Returns {@code null} when no words are left.
+     */
+    public static String toPrefixTsQuery(String searchTerm) {
+        if (searchTerm == null) {
+            return null;
+        }
+        String query = Arrays.stream(searchTerm.split("[^\\p{L}\\p{N}]+"))
+                .filter(word -> !word.isEmpty())
+                .map(word -> word.toLowerCase(Locale.ROOT) + ":*")
+                .collect(Collectors.joining(" & "));
+        return query.isEmpty() ? null : query;
+    }
+
+    public static boolean hasText(String searchTerm) {
+        return searchTerm != null && !searchTerm.isBlank();
+    }
+
+    private static boolean isCountQuery(CriteriaQuery<?> query) {
+        return query.getResultType() == Long.class || query.getResultType() == long.class;
+    }
+
+    /** Last row served by a relevance-ordered page. */
+    public record RankPosition(float rank, long id) {
+    }
+
+    /**
+     * The course's search document joined on id. Hibernate has no {@code @@} operator, so the
+     * match and rank are embedded as SQL over the joined column, which keeps them sargable.
+     */
+    private record TextSearch(Root<Course> root, HibernateCriteriaBuilder cb,
+                              Expression<String> vector, Expression<String> tsQuery) {
+
+        static TextSearch join(Root<Course> root, CriteriaBuilder criteriaBuilder, String tsQuery) {
+            HibernateCriteriaBuilder cb = (HibernateCriteriaBuilder) criteriaBuilder;
+            JpaEntityJoin<CourseSearchDocument> document = ((JpaRoot<?>) root).join(CourseSearchDocument.class);
+            document.on(cb.equal(document.get("id"), root.get("id")));
+            return new TextSearch(root, cb, document.get("searchVector"), cb.value(tsQuery));
+        }
+
+        Predicate matches() {
+            return cb.isTrue(cb.sql("? @@ to_tsquery('english', ?)", Boolean.class, vector, tsQuery));
+        }
+
+        Expression<Float> rank() {
+            return cb.sql(RANK, Float.class, vector, tsQuery);
+        }
+
+        Predicate rankedAfter(RankPosition after) {
+            return cb.isTrue(cb.sql("(" + RANK + ", ?) < (CAST(? AS real), ?)", Boolean.class,
+                    vector, tsQuery, root.get("id"), cb.value(after.rank()), cb.value(after.id())));
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package com.lms.lms_backend.repository;
+
+import com.lms.lms_backend.dto.CourseStudentResponse;
+import com.lms.lms_backend.dto.EnrolledCourseResponse;
+import com.lms.lms_backend.enums.EnrollmentStatus;
+import com.lms.lms_backend.model.Enrollment;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface EnrollmentRepository extends JpaRepository<Enrollment, Long> {
+    
+    Optional<Enrollment> findByUserIdAndCourseId(Long userId, Long courseId);
+    
+    List<Enrollment> findByCourseIdAndUserIdIn(Long courseId, Collection<Long> userIds);
+    
+    /*
+     * Enrollment listings: the displayed columns in one join, newest first. The "after" variants
+     * continue below a keyset position; the row comparison seeks straight into the
+     * (user_id | course_id, enrollment_date, id) indexes.
+     */
+    String ENROLLED_COURSE = "SELECT new com.lms.lms_backend.dto.EnrolledCourseResponse(" +
+            "e.id, e.status, e.progress, e.enrollmentDate, e.completedDate, " +
+            "c.id, c.title, c.status, c.startDate, c.endDate, CONCAT(i.firstName, ' ', i.lastName)) " +
+            "FROM Enrollment e JOIN e.course c JOIN c.instructor i WHERE e.user.id = :userId ";
+    String COURSE_STUDENT = "SELECT new com.lms.lms_backend.dto.CourseStudentResponse(" +
+            "e.id, e.status, e.progress, e.enrollmentDate, e.completedDate, " +
+            "u.id, u.email, u.firstName, u.lastName) " +
+            "FROM Enrollment e JOIN e.user u WHERE e.course.id = :courseId ";
+    String NEWEST_FIRST = "ORDER BY e.enrollmentDate DESC, e.id DESC";
+    String AFTER = "AND (e.enrollmentDate, e.id) < (:enrollmentDate, :id) ";
+    
+    @Query(ENROLLED_COURSE + NEWEST_FIRST)
+    List<EnrolledCourseResponse> findCoursesOfUser(@Param("userId") Long userId, Limit limit);
+    
+    @Query(ENROLLED_COURSE + AFTER + NEWEST_FIRST)
+    List<EnrolledCourseResponse> findCoursesOfUserAfter(@Param("userId") Long userId,
+                                                        @Param("enrollmentDate") LocalDateTime enrollmentDate,
+                                                        @Param("id") Long id, Limit limit);
+    
+    @Query(COURSE_STUDENT + NEWEST_FIRST)
+    List<CourseStudentResponse> findStudentsOfCourse(@Param("courseId") Long courseId, Limit limit);
+    
+    @Query(COURSE_STUDENT + AFTER + NEWEST_FIRST)
+    List<CourseStudentResponse> findStudentsOfCourseAfter(@Param("courseId") Long courseId,
+                                                          @Param("enrollmentDate") LocalDateTime enrollmentDate,
+                                                          @Param("id") Long id, Limit limit);
+    
+    /**
+     * Moves an enrollment from {@code from} to {@code to}, only if it is still in {@code from};
+     * returns 1 if it moved. Lets two concurrent drops release a single seat. Clears the
+     * persistence context so the enrollment is read back with its new status.
+     */
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE Enrollment e SET e.status = :to, e.updatedAt = :now WHERE e.id = :id AND e.status = :from")
+    int transition(@Param("id") Long enrollmentId, @Param("from") EnrollmentStatus from,
+                   @Param("to") EnrollmentStatus to, @Param("now") LocalDateTime now);
+}
@@ -2,21 +2,36 @@ package com.lms.lms_backend.repository;
 
 import com.lms.lms_backend.model.User;
 import com.lms.lms_backend.enums.UserRole;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Stream;
 
 @Repository
-public interface UserRepository extends JpaRepository<User, Long> {
+public interface UserRepository extends JpaRepository<User, Long>, JpaSpecificationExecutor<User> {
     
     Optional<User> findByEmail(String email);
     
     boolean existsByEmail(String email);
     
+    /** The subset of {@code emails} already registered, in one round-trip for bulk imports. */
+    @Query("SELECT u.email FROM User u WHERE u.email IN :emails")
+    Set<String> findExistingEmails(@Param("emails") Collection<String> emails);
+    
     Page<User> findByRole(UserRole role, Pageable pageable);
     
     Page<User> findByActiveTrue(Pageable pageable);
@@ -26,4 +41,31 @@ public interface UserRepository extends JpaRepository<User, Long> {
            "LOWER(u.lastName) LIKE LOWER(CONCAT('%', :searchTerm, '%')) OR " +
            "LOWER(u.email) LIKE LOWER(CONCAT('%', :searchTerm, '%')))")
     Page<User> searchUsers(String searchTerm, Pageable pageable);
+    
+    @Modifying
+    @Query("UPDATE User u SET u.password = :password WHERE u.email = :email")
+    int updatePassword(@Param("email") String email, @Param("password") String password);
+    
+    /**
+     * Every user in id order, read through a server-side cursor in batches of
+     * {@link CourseRepository#EXPORT_FETCH_SIZE}. Must be consumed inside a transaction and closed.
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = CourseRepository.EXPORT_FETCH_SIZE),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT u FROM User u ORDER BY u.id")
+    Stream<User> streamAll();
+    
+    /** Versions the user's response without loading the row. */
+    @Query("SELECT u.updatedAt FROM User u WHERE u.id = :id")
+    Optional<LocalDateTime> findUpdatedAtById(@Param("id") Long id);
+    
+    @Query("SELECT u.id AS id, u.securityVersion AS securityVersion FROM User u WHERE u.securityVersion > 0")
+    List<SecurityVersionView> findChangedSecurityVersions();
+    
+    interface SecurityVersionView {
+        Long getId();
+        Integer getSecurityVersion();
+    }
 }
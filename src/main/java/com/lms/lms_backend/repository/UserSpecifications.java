@@ -0,0 +1,27 @@
+package com.lms.lms_backend.repository;
+
+import com.lms.lms_backend.model.User;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.Locale;
+
+public final class UserSpecifications {
+
+    private UserSpecifications() {
+    }
+
+    public static Specification<User> isActive() {
+        return (root, query, cb) -> cb.isTrue(root.get("active"));
+    }
+
+    /** Same matching as {@link UserRepository#searchUsers}: a substring of first name, last name or email. */
+    public static Specification<User> matches(String searchTerm) {
+        return (root, query, cb) -> {
+            String pattern = "%" + searchTerm.toLowerCase(Locale.ROOT) + "%";
+            return cb.or(
+                    cb.like(cb.lower(root.get("firstName")), pattern),
+                    cb.like(cb.lower(root.get("lastName")), pattern),
+                    cb.like(cb.lower(root.get("email")), pattern));
+        };
+    }
+}
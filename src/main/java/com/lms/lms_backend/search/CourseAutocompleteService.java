@@ -0,0 +1,78 @@
+package com.lms.lms_backend.search;
+
+import com.lms.lms_backend.dto.CourseResponse;
+import com.lms.lms_backend.dto.CourseSuggestionResponse;
+import com.lms.lms_backend.enums.CourseStatus;
+import com.lms.lms_backend.event.CourseChangedEvent;
+import com.lms.lms_backend.repository.CourseRepository;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Course title suggestions for search-as-you-type, answered from a {@link CourseTitleIndex}
+ * without touching the database.
+ *
+ * <p>Only {@link CourseStatus#PUBLISHED} courses are indexed, matching what the public
+ * catalog shows. The index is loaded at startup and kept current from
+ * {@link CourseChangedEvent}s after commit; events older than the last one applied for a
+ * course are ignored, so out-of-order delivery cannot resurrect a stale title.
+ */
+@Service
+@Slf4j
+public class CourseAutocompleteService {
+
+    private final CourseRepository courseRepository;
+    private final int maxSuggestions;
+    private final CourseTitleIndex index = new CourseTitleIndex();
+    private final Map<Long, LocalDateTime> appliedVersions = new ConcurrentHashMap<>();
+
+    public CourseAutocompleteService(
+            CourseRepository courseRepository,
+            @Value("${app.search.autocomplete.max-suggestions:20}") int maxSuggestions) {
+        this.courseRepository = courseRepository;
+        this.maxSuggestions = maxSuggestions;
+    }
+
+    @PostConstruct
+    void load() {
+        courseRepository.findTitlesByStatus(CourseStatus.PUBLISHED)
+                .forEach(course -> index.put(course.getId(), course.getTitle()));
+        log.info("Indexed {} published course titles for autocomplete", index.size());
+    }
+
+    public List<CourseSuggestionResponse> suggest(String query, int limit) {
+        return index.suggest(query, Math.min(Math.max(limit, 1), maxSuggestions)).stream()
+                .map(suggestion -> CourseSuggestionResponse.builder()
+                        .id(suggestion.courseId())
+                        .title(suggestion.title())
+                        .build())
+                .toList();
+    }
+
+    @TransactionalEventListener
+    public void onCourseChanged(CourseChangedEvent event) {
+        if (event.getType() == CourseChangedEvent.Type.ENROLLMENT_CHANGED) {
+            return;
+        }
+        appliedVersions.compute(event.getCourseId(), (id, applied) -> {
+            if (applied != null && event.getVersion().isBefore(applied)) {
+                return applied;
+            }
+            CourseResponse course = event.getCourse();
+            if (course != null && course.getStatus() == CourseStatus.PUBLISHED) {
+                index.put(id, course.getTitle());
+            } else {
+                index.remove(id);
+            }
+            return event.getVersion();
+        });
+    }
+}
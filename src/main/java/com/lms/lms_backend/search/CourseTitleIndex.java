@@ -0,0 +1,321 @@
+package com.lms.lms_backend.search;
+
+import java.text.Normalizer;
+import java.util.*;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Pattern;
+
+/**
+ * In-memory, typo-tolerant prefix index over course titles.
+ *
+ * <p>Every word of every title is stored in a character trie whose terminal nodes list the
+ * ids of the courses containing that word. A query word matches any indexed word it is a
+ * prefix of, allowing a small number of edits (none below 4 characters, one up to 7, two
+ * beyond), found by walking the trie with one edit-distance row per node. All query words must
+ * match for a course to be suggested. Words after the first only look among the courses the
+ * previous words matched, and only the best {@code limit} suggestions are kept while ranking,
+ * so a common word never crowds out the course the whole query is after.
+ *
+ * <p>Safe for concurrent use; lookups share a read lock and only updates are exclusive.
+ */
+public class CourseTitleIndex {
+
+    private static final Pattern WORD_SEPARATOR = Pattern.compile("[^\\p{L}\\p{N}]+");
+    private static final Pattern DIACRITICS = Pattern.compile("\\p{M}+");
+
+    private final Node root = new Node();
+    private final Map<Long, Entry> entries = new HashMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    public void put(Long courseId, String title) {
+        lock.writeLock().lock();
+        try {
+            removeLocked(courseId);
+            String[] words = words(title);
+            entries.put(courseId, new Entry(courseId, title, words));
+            for (String word : words) {
+                insert(word).addCourse(courseId);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(Long courseId) {
+        lock.writeLock().lock();
+        try {
+            removeLocked(courseId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return entries.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public List<Suggestion> suggest(String query, int limit) {
+        String[] queryWords = words(query);
+        if (queryWords.length == 0 || limit <= 0) {
+            return List.of();
+        }
+
+        lock.readLock().lock();
+        try {
+            // Longer words match fewer courses, which narrows the search for the rest
+            String[] byLength = queryWords.clone();
+            Arrays.sort(byLength, Comparator.comparingInt(String::length).reversed());
+            Map<Long, Integer> scores = null;
+            for (String word : byLength) {
+                Map<Long, Integer> matches = match(word, scores);
+                if (scores == null) {
+                    scores = matches;
+                } else {
+                    scores.keySet().retainAll(matches.keySet());
+                    scores.replaceAll((id, distance) -> distance + matches.get(id));
+                }
+                if (scores.isEmpty()) {
+                    return List.of();
+                }
+            }
+
+            // Keeps the best `limit` seen so far, worst on top to be dropped first
+            String normalizedQuery = String.join(" ", queryWords);
+            PriorityQueue<Suggestion> best = new PriorityQueue<>(Math.min(limit, scores.size()) + 1,
+                    Suggestion.RANKING.reversed());
+            for (Map.Entry<Long, Integer> scored : scores.entrySet()) {
+                Entry entry = entries.get(scored.getKey());
+                boolean titlePrefix = String.join(" ", entry.words).startsWith(normalizedQuery);
+                best.add(new Suggestion(entry.courseId, entry.title, scored.getValue(), titlePrefix));
+                if (best.size() > limit) {
+                    best.poll();
+                }
+            }
+            List<Suggestion> suggestions = new ArrayList<>(best);
+            suggestions.sort(Suggestion.RANKING);
+            return suggestions;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Courses with a word matching {@code word}, with the fewest edits it took. If
+     * {@code candidates} is given, only those courses are considered.
+     */
+    private Map<Long, Integer> match(String word, Map<Long, Integer> candidates) {
+        int maxEdits = word.length() < 4 ? 0 : word.length() < 8 ? 1 : 2;
+        char[] query = word.toCharArray();
+        int[] firstRow = new int[query.length + 1];
+        for (int i = 0; i < firstRow.length; i++) {
+            firstRow[i] = i;
+        }
+        Map<Long, Integer> matches = new HashMap<>();
+        for (int i = 0; i < root.size; i++) {
+            walk(root.children[i], root.keys[i], (char) 0, query, firstRow, null, maxEdits, candidates, matches);
+        }
+        return matches;
+    }
+
+    /**
+     * Extends the edit-distance table by one trie character. Uses optimal string alignment
+     * distance, so swapping two adjacent letters costs a single edit.
+     */
+    private void walk(Node node, char c, char parent, char[] query, int[] previous, int[] beforePrevious,
+                      int maxEdits, Map<Long, Integer> candidates, Map<Long, Integer> matches) {
+        int[] row = new int[previous.length];
+        row[0] = previous[0] + 1;
+        int rowMin = row[0];
+        for (int j = 1; j < row.length; j++) {
+            int substitution = previous[j - 1] + (query[j - 1] == c ? 0 : 1);
+            row[j] = Math.min(substitution, Math.min(previous[j], row[j - 1]) + 1);
+            if (beforePrevious != null && j > 1 && query[j - 1] == parent && query[j - 2] == c) {
+                row[j] = Math.min(row[j], beforePrevious[j - 2] + 1);
+            }
+            rowMin = Math.min(rowMin, row[j]);
+        }
+
+        int distance = row[row.length - 1];
+        if (distance <= maxEdits) {
+            // The whole query matches this node's prefix, so every word below it matches too
+            collect(node, distance, candidates, matches);
+            if (distance == 0) {
+                return;
+            }
+        }
+        if (rowMin > maxEdits) {
+            return;
+        }
+        for (int i = 0; i < node.size; i++) {
+            walk(node.children[i], node.keys[i], c, query, row, previous, maxEdits, candidates, matches);
+        }
+    }
+
+    private void collect(Node node, int distance, Map<Long, Integer> candidates, Map<Long, Integer> matches) {
+        Deque<Node> stack = new ArrayDeque<>();
+        stack.push(node);
+        while (!stack.isEmpty()) {
+            Node current = stack.pop();
+            for (int i = 0; i < current.courseCount; i++) {
+                long courseId = current.courseIds[i];
+                if (candidates == null || candidates.containsKey(courseId)) {
+                    matches.merge(courseId, distance, Math::min);
+                }
+            }
+            for (int i = 0; i < current.size; i++) {
+                stack.push(current.children[i]);
+            }
+        }
+    }
+
+    private Node insert(String word) {
+        Node node = root;
+        for (int i = 0; i < word.length(); i++) {
+            node = node.childFor(word.charAt(i));
+        }
+        return node;
+    }
+
+    private void removeLocked(Long courseId) {
+        Entry existing = entries.remove(courseId);
+        if (existing == null) {
+            return;
+        }
+        for (String word : existing.words) {
+            Node[] path = new Node[word.length() + 1];
+            path[0] = root;
+            for (int i = 0; i < word.length(); i++) {
+                path[i + 1] = path[i].child(word.charAt(i));
+                if (path[i + 1] == null) {
+                    break;
+                }
+            }
+            Node node = path[word.length()];
+            if (node == null) {
+                continue;
+            }
+            node.removeCourse(courseId);
+            // Drop the nodes left holding neither courses nor children, deepest first
+            for (int i = word.length(); i > 0 && path[i].isEmpty(); i--) {
+                path[i - 1].removeChild(word.charAt(i - 1));
+            }
+        }
+    }
+
+    /** Nodes in the trie below the root; for checking that removals leave nothing behind. */
+    int nodeCount() {
+        lock.readLock().lock();
+        try {
+            int count = 0;
+            Deque<Node> stack = new ArrayDeque<>();
+            stack.push(root);
+            while (!stack.isEmpty()) {
+                Node current = stack.pop();
+                for (int i = 0; i < current.size; i++) {
+                    stack.push(current.children[i]);
+                    count++;
+                }
+            }
+            return count;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    static String[] words(String text) {
+        if (text == null) {
+            return new String[0];
+        }
+        String folded = DIACRITICS.matcher(Normalizer.normalize(text, Normalizer.Form.NFD)).replaceAll("");
+        return Arrays.stream(WORD_SEPARATOR.split(folded.toLowerCase(Locale.ROOT)))
+                .filter(word -> !word.isEmpty())
+                .toArray(String[]::new);
+    }
+
+    public record Suggestion(Long courseId, String title, int distance, boolean titlePrefix) {
+
+        static final Comparator<Suggestion> RANKING = Comparator
+                .comparingInt(Suggestion::distance)
+                .thenComparing(Suggestion::titlePrefix, Comparator.reverseOrder())
+                .thenComparingInt(suggestion -> suggestion.title().length())
+                .thenComparing(Suggestion::title)
+                .thenComparing(Suggestion::courseId);
+    }
+
+    private record Entry(Long courseId, String title, String[] words) {
+    }
+
+    /** Trie node with children in parallel sorted arrays, which keeps nodes small. */
+    private static final class Node {
+        private char[] keys = new char[0];
+        private Node[] children = new Node[0];
+        private int size;
+        private long[] courseIds = new long[0];
+        private int courseCount;
+
+        Node child(char c) {
+            int index = Arrays.binarySearch(keys, 0, size, c);
+            return index >= 0 ? children[index] : null;
+        }
+
+        Node childFor(char c) {
+            int index = Arrays.binarySearch(keys, 0, size, c);
+            if (index >= 0) {
+                return children[index];
+            }
+            int insertAt = -index - 1;
+            if (size == keys.length) {
+                int capacity = Math.max(2, size * 2);
+                keys = Arrays.copyOf(keys, capacity);
+                children = Arrays.copyOf(children, capacity);
+            }
+            System.arraycopy(keys, insertAt, keys, insertAt + 1, size - insertAt);
+            System.arraycopy(children, insertAt, children, insertAt + 1, size - insertAt);
+            Node child = new Node();
+            keys[insertAt] = c;
+            children[insertAt] = child;
+            size++;
+            return child;
+        }
+
+        void removeChild(char c) {
+            int index = Arrays.binarySearch(keys, 0, size, c);
+            if (index >= 0) {
+                System.arraycopy(keys, index + 1, keys, index, size - index - 1);
+                System.arraycopy(children, index + 1, children, index, size - index - 1);
+                children[--size] = null;
+            }
+        }
+
+        boolean isEmpty() {
+            return size == 0 && courseCount == 0;
+        }
+
+        void addCourse(long courseId) {
+            for (int i = 0; i < courseCount; i++) {
+                if (courseIds[i] == courseId) {
+                    return;
+                }
+            }
+            if (courseCount == courseIds.length) {
+                courseIds = Arrays.copyOf(courseIds, Math.max(2, courseCount * 2));
+            }
+            courseIds[courseCount++] = courseId;
+        }
+
+        void removeCourse(long courseId) {
+            for (int i = 0; i < courseCount; i++) {
+                if (courseIds[i] == courseId) {
+                    courseIds[i] = courseIds[--courseCount];
+                    return;
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,116 @@
+package com.lms.lms_backend.security;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * A limit on requests in flight that follows queueing in the backend. Completed requests feed
+ * two moving averages of latency: a short one over the last few dozen requests and a long one
+ * over about a thousand. A budget mixes fast and slow endpoints, so single slow requests move
+ * the short average only a little; it pulls away from the long one when requests start
+ * queueing. While the short average stays within {@code tolerance} times the long one, the
+ * limit grows by about its square root; past that, it shrinks in proportion, down to half per
+ * step. A request that failed from overload cuts the limit by a tenth. Changes are smoothed
+ * over several samples and kept between {@code minLimit} and {@code maxLimit}.
+ *
+ * <p>Latency only moves the limit while at least half of it is in use; a mostly idle budget
+ * says nothing about how much more the backend can take, in either direction.
+ *
+ * <p>Admission never waits: {@link #tryAcquire} either takes a slot or returns false.
+ * Samples are applied under a lock that is only tried, so a completing request never blocks
+ * on another; a sample lost to contention is made up for by the next ones.
+ */
+public final class AdaptiveConcurrencyLimit {
+
+    private static final double SMOOTHING = 0.2;
+    private static final double SHORT_WINDOW = 0.05;
+    private static final double LONG_WINDOW = 0.001;
+    private static final double MIN_GRADIENT = 0.5;
+    private static final double BACKOFF = 0.9;
+    private static final double SATURATION = 0.9;
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final double tolerance;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final ReentrantLock updates = new ReentrantLock();
+    private volatile double limit;
+    private double shortNanos;
+    private double longNanos;
+    private long samples;
+
+    public AdaptiveConcurrencyLimit(int initialLimit, int minLimit, int maxLimit, double tolerance) {
+        if (minLimit < 1 || maxLimit < minLimit || tolerance < 1) {
+            throw new IllegalArgumentException("Limits need 1 <= minLimit <= maxLimit and tolerance >= 1");
+        }
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.tolerance = tolerance;
+        this.limit = clamp(initialLimit);
+    }
+
+    public boolean tryAcquire() {
+        return tryAcquire(1.0);
+    }
+
+    /** Takes a slot if fewer than {@code share} of the current limit are in flight. */
+    public boolean tryAcquire(double share) {
+        int allowed = Math.max(1, (int) (limit * share));
+        while (true) {
+            int current = inFlight.get();
+            if (current >= allowed) {
+                return false;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    /** Frees the slot of a request that took {@code latencyNanos}; {@code overloaded} if it failed from overload. */
+    public void release(long latencyNanos, boolean overloaded) {
+        int inFlightAtCompletion = inFlight.getAndDecrement();
+        if (updates.tryLock()) {
+            try {
+                update(latencyNanos, overloaded, inFlightAtCompletion);
+            } finally {
+                updates.unlock();
+            }
+        }
+    }
+
+    /** Whether nearly all of the limit is in use. */
+    public boolean isSaturated() {
+        return inFlight.get() >= limit * SATURATION;
+    }
+
+    public int getLimit() {
+        return (int) limit;
+    }
+
+    public int getInFlight() {
+        return inFlight.get();
+    }
+
+    private void update(long latencyNanos, boolean overloaded, int inFlightAtCompletion) {
+        if (overloaded) {
+            limit = clamp(limit * BACKOFF);
+            return;
+        }
+        // Plain means until a window has filled, so the long one starts from the real mix
+        // rather than from whichever request came first
+        samples++;
+        shortNanos += (latencyNanos - shortNanos) * Math.max(SHORT_WINDOW, 1.0 / samples);
+        longNanos += (latencyNanos - longNanos) * Math.max(LONG_WINDOW, 1.0 / samples);
+        if (inFlightAtCompletion < limit / 2) {
+            return;
+        }
+        double gradient = Math.max(MIN_GRADIENT, Math.min(1.0, tolerance * longNanos / shortNanos));
+        double target = limit * gradient + (gradient == 1.0 ? Math.sqrt(limit) : 0);
+        limit = clamp(limit * (1 - SMOOTHING) + target * SMOOTHING);
+    }
+
+    private double clamp(double value) {
+        return Math.max(minLimit, Math.min(maxLimit, value));
+    }
+}
@@ -0,0 +1,100 @@
+package com.lms.lms_backend.security;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Fixed-size, thread-safe Bloom filter over strings. {@link #mightContain(String)} never
+ * returns a false negative; false positives occur at roughly the rate the filter was
+ * sized for, as long as no more than the expected number of entries are added.
+ *
+ * <p>The filter is cache-line blocked: one hash selects a 512-bit block and all probe bits
+ * for a value fall inside it, so a lookup touches a single cache line. Blocking costs a
+ * little accuracy, which is made up for by allocating ~20% more bits than a classic filter.
+ */
+public final class BloomFilter {
+
+    private static final int WORDS_PER_BLOCK = 8;
+    private static final int MAX_HASHES = 16;
+
+    private final AtomicLongArray words;
+    private final int blockMask;
+    private final int hashCount;
+
+    public BloomFilter(long expectedInsertions, double falsePositiveRate) {
+        long n = Math.max(1, expectedInsertions);
+        double bitsPerEntry = -Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2)) * 1.2;
+        long blocks = Long.highestOneBit(Math.max(1, (long) Math.ceil(n * bitsPerEntry / 512)) * 2 - 1);
+        if (blocks > (1 << 24)) {
+            throw new IllegalArgumentException("Bloom filter too large for " + expectedInsertions + " entries");
+        }
+        this.words = new AtomicLongArray((int) blocks * WORDS_PER_BLOCK);
+        this.blockMask = (int) blocks - 1;
+        this.hashCount = (int) Math.min(MAX_HASHES, Math.max(1, Math.round(bitsPerEntry / 1.2 * Math.log(2))));
+    }
+
+    public void put(String value) {
+        long hash = hash(value);
+        int base = ((int) hash & blockMask) * WORDS_PER_BLOCK;
+        long probe = mix(hash);
+        long step = (hash * 0x9E3779B97F4A7C15L) | 1;
+        for (int i = 0; i < hashCount; i++, probe += step) {
+            int bit = (int) (probe >>> 55);
+            int index = base + (bit >>> 6);
+            long mask = 1L << bit;
+            long current;
+            while (((current = words.get(index)) & mask) == 0
+                    && !words.compareAndSet(index, current, current | mask)) {
+                // another writer changed the word; retry with its value
+            }
+        }
+    }
+
+    public boolean mightContain(String value) {
+        long hash = hash(value);
+        int base = ((int) hash & blockMask) * WORDS_PER_BLOCK;
+        long probe = mix(hash);
+        long step = (hash * 0x9E3779B97F4A7C15L) | 1;
+        for (int i = 0; i < hashCount; i++, probe += step) {
+            int bit = (int) (probe >>> 55);
+            if ((words.get(base + (bit >>> 6)) & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public long bitSize() {
+        return (long) words.length() << 6;
+    }
+
+    public int hashCount() {
+        return hashCount;
+    }
+
+    private static long hash(String value) {
+        // Folds four UTF-16 chars per step, then finishes with the MurmurHash3 avalanche step
+        long h = 0x9E3779B97F4A7C15L ^ value.length();
+        int length = value.length();
+        int i = 0;
+        for (; i + 4 <= length; i += 4) {
+            long chunk = value.charAt(i)
+                    | (long) value.charAt(i + 1) << 16
+                    | (long) value.charAt(i + 2) << 32
+                    | (long) value.charAt(i + 3) << 48;
+            h = Long.rotateLeft(h ^ chunk * 0x87c37b91114253d5L, 31) * 0x4cf5ad432745937fL;
+        }
+        for (; i < length; i++) {
+            h = (h ^ value.charAt(i)) * 0x100000001b3L;
+        }
+        return mix(h);
+    }
+
+    private static long mix(long h) {
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+}
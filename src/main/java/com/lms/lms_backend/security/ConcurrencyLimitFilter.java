@@ -0,0 +1,121 @@
+package com.lms.lms_backend.security;
+
+import com.lms.lms_backend.exception.ServiceOverloadedException;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.CannotCreateTransactionException;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerExceptionResolver;
+
+import java.io.IOException;
+
+/**
+ * Sheds load before any work is done on a request. Catalog reads, writes and logins each have
+ * their own {@link AdaptiveConcurrencyLimit}, so a slow database narrows each budget on its
+ * own and a burst of one kind cannot take the others' slots. A request over its budget is
+ * answered at once with {@code 503} and {@code Retry-After}, through the same handler as
+ * {@link ServiceOverloadedException}, instead of queueing for a thread or a connection.
+ *
+ * <p>Writes, enrollments among them, come first: while the write budget is saturated,
+ * browsing is held to {@code saturated-browse-share} of its own limit, leaving the database to
+ * the writes. Other requests, such as ticket polls, exports and bulk imports, are not limited.
+ */
+@Component
+public class ConcurrencyLimitFilter extends OncePerRequestFilter {
+
+    private final HandlerExceptionResolver exceptionResolver;
+    private final boolean enabled;
+    private final double saturatedBrowseShare;
+    private final AdaptiveConcurrencyLimit catalogReads;
+    private final AdaptiveConcurrencyLimit writes;
+    private final AdaptiveConcurrencyLimit logins;
+
+    public ConcurrencyLimitFilter(
+            @Qualifier("handlerExceptionResolver") HandlerExceptionResolver exceptionResolver,
+            @Value("${app.security.concurrency-limit.enabled:true}") boolean enabled,
+            @Value("${app.security.concurrency-limit.min-limit:2}") int minLimit,
+            @Value("${app.security.concurrency-limit.tolerance:2.0}") double tolerance,
+            @Value("${app.security.concurrency-limit.saturated-browse-share:0.5}") double saturatedBrowseShare,
+            @Value("${app.security.concurrency-limit.catalog-reads.initial-limit:20}") int catalogInitial,
+            @Value("${app.security.concurrency-limit.catalog-reads.max-limit:200}") int catalogMax,
+            @Value("${app.security.concurrency-limit.writes.initial-limit:20}") int writesInitial,
+            @Value("${app.security.concurrency-limit.writes.max-limit:200}") int writesMax,
+            @Value("${app.security.concurrency-limit.logins.initial-limit:8}") int loginsInitial,
+            @Value("${app.security.concurrency-limit.logins.max-limit:64}") int loginsMax) {
+        this.exceptionResolver = exceptionResolver;
+        this.enabled = enabled;
+        this.saturatedBrowseShare = saturatedBrowseShare;
+        this.catalogReads = new AdaptiveConcurrencyLimit(catalogInitial, minLimit, catalogMax, tolerance);
+        this.writes = new AdaptiveConcurrencyLimit(writesInitial, minLimit, writesMax, tolerance);
+        this.logins = new AdaptiveConcurrencyLimit(loginsInitial, minLimit, loginsMax, tolerance);
+    }
+
+    @Override
+    protected void doFilterInternal(
+            @NonNull HttpServletRequest request,
+            @NonNull HttpServletResponse response,
+            @NonNull FilterChain filterChain
+    ) throws ServletException, IOException {
+        AdaptiveConcurrencyLimit budget = budgetFor(request);
+        if (budget == null) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        double share = budget == catalogReads && writes.isSaturated() ? saturatedBrowseShare : 1.0;
+        if (!budget.tryAcquire(share)) {
+            exceptionResolver.resolveException(request, response, null,
+                    new ServiceOverloadedException("Service is busy, please retry", 1));
+            return;
+        }
+
+        long start = System.nanoTime();
+        boolean overloaded = false;
+        try {
+            filterChain.doFilter(request, response);
+            overloaded = response.getStatus() == HttpStatus.SERVICE_UNAVAILABLE.value();
+        } catch (IOException | ServletException | RuntimeException e) {
+            overloaded = isOverload(e);
+            throw e;
+        } finally {
+            budget.release(System.nanoTime() - start, overloaded);
+        }
+    }
+
+    /** Only a busy pool or database counts against the limit, not an ordinary failure. */
+    private static boolean isOverload(Throwable failure) {
+        for (Throwable cause = failure; cause != null; cause = cause.getCause()) {
+            if (cause instanceof ServiceOverloadedException || cause instanceof CannotCreateTransactionException) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private AdaptiveConcurrencyLimit budgetFor(HttpServletRequest request) {
+        if (!enabled) {
+            return null;
+        }
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        HttpMethod method = HttpMethod.valueOf(request.getMethod());
+        if (method == HttpMethod.POST && (path.equals("/api/auth/login") || path.equals("/api/users/register"))) {
+            return logins;
+        }
+        if (method == HttpMethod.GET) {
+            return path.startsWith("/api/courses") ? catalogReads : null;
+        }
+        // Bulk imports run for minutes and are bounded by their own row and chunk limits
+        if (method == HttpMethod.HEAD || method == HttpMethod.OPTIONS || path.endsWith("/import")) {
+            return null;
+        }
+        return writes;
+    }
+}
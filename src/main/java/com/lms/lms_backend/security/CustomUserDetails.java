@@ -9,27 +9,64 @@ import org.springframework.security.core.userdetails.UserDetails;
 import java.util.Collection;
 import java.util.List;
 
-public class CustomUserDetails implements UserDetails {
+/**
+ * Detached, immutable snapshot of a {@link User}. Only scalar columns are copied, so
+ * instances can be cached and shared across threads without touching the lazy
+ * {@code instructedCourses}/{@code enrollments} collections.
+ */
+public class CustomUserDetails implements UserDetails, UserPrincipal {
     
-    private final User user;
+    private final Long id;
+    private final String email;
+    private final String password;
+    private final String firstName;
+    private final String lastName;
+    private final UserRole role;
+    private final boolean active;
+    private final Integer securityVersion;
+    private final List<GrantedAuthority> authorities;
 
     public CustomUserDetails(User user) {
-        this.user = user;
+        this.id = user.getId();
+        this.email = user.getEmail();
+        this.password = user.getPassword();
+        this.firstName = user.getFirstName();
+        this.lastName = user.getLastName();
+        this.role = user.getRole();
+        this.active = Boolean.TRUE.equals(user.getActive());
+        this.securityVersion = user.getSecurityVersion();
+        this.authorities = List.of(new SimpleGrantedAuthority("ROLE_" + role.name()));
+    }
+
+    private CustomUserDetails(CustomUserDetails source, String password) {
+        this.id = source.id;
+        this.email = source.email;
+        this.password = password;
+        this.firstName = source.firstName;
+        this.lastName = source.lastName;
+        this.role = source.role;
+        this.active = source.active;
+        this.securityVersion = source.securityVersion;
+        this.authorities = source.authorities;
+    }
+
+    public CustomUserDetails withPassword(String encodedPassword) {
+        return new CustomUserDetails(this, encodedPassword);
     }
 
     @Override
     public Collection<? extends GrantedAuthority> getAuthorities() {
-        return List.of(new SimpleGrantedAuthority("ROLE_" + user.getRole().name()));
+        return authorities;
     }
 
     @Override
     public String getPassword() {
-        return user.getPassword();
+        return password;
     }
 
     @Override
     public String getUsername() {
-        return user.getEmail();
+        return email;
     }
 
     @Override
@@ -39,7 +76,7 @@ public class CustomUserDetails implements UserDetails {
 
     @Override
     public boolean isAccountNonLocked() {
-        return user.getActive();
+        return active;
     }
 
     @Override
@@ -49,18 +86,28 @@ public class CustomUserDetails implements UserDetails {
 
     @Override
     public boolean isEnabled() {
-        return user.getActive();
+        return active;
     }
 
+    @Override
     public Long getId() {
-        return user.getId();
+        return id;
     }
 
+    @Override
     public UserRole getRole() {
-        return user.getRole();
+        return role;
+    }
+
+    public String getFirstName() {
+        return firstName;
+    }
+
+    public String getLastName() {
+        return lastName;
     }
 
-    public User getUser() {
-        return user;
+    public Integer getSecurityVersion() {
+        return securityVersion;
     }
 }
@@ -1,9 +1,12 @@
 package com.lms.lms_backend.security;
 
-import com.lms.lms_backend.model.User;
+import com.lms.lms_backend.event.UserChangedEvent;
 import com.lms.lms_backend.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
@@ -11,15 +14,38 @@ import org.springframework.transaction.annotation.Transactional;
 
 @Service
 @RequiredArgsConstructor
-public class CustomUserDetailsService implements UserDetailsService {
+@Slf4j
+public class CustomUserDetailsService implements UserDetailsService, UserDetailsPasswordService {
 
     private final UserRepository userRepository;
+    private final UserDetailsCache userDetailsCache;
+    private final ApplicationEventPublisher eventPublisher;
 
+    // No surrounding transaction: a cache hit must not borrow a pooled connection
     @Override
-    @Transactional(readOnly = true)
-    public UserDetails loadUserByUsername(String email) throws UsernameNotFoundException {
-        User user = userRepository.findByEmail(email)
-                .orElseThrow(() -> new UsernameNotFoundException("User not found with email: " + email));
-        return new CustomUserDetails(user);
+    public CustomUserDetails loadUserByUsername(String email) throws UsernameNotFoundException {
+        return userDetailsCache.getByEmail(email, key -> userRepository.findByEmail(key)
+                .map(CustomUserDetails::new)
+                .orElseThrow(() -> new UsernameNotFoundException("User not found with email: " + key)));
+    }
+
+    public CustomUserDetails loadUserById(Long id) throws UsernameNotFoundException {
+        return userDetailsCache.getById(id, key -> userRepository.findById(key)
+                .map(CustomUserDetails::new)
+                .orElseThrow(() -> new UsernameNotFoundException("User not found with id: " + key)));
+    }
+
+    /**
+     * Called by {@code DaoAuthenticationProvider} after a successful login when the stored
+     * hash was produced with a different BCrypt cost.
+     */
+    @Override
+    @Transactional
+    public UserDetails updatePassword(UserDetails user, String newPassword) {
+        CustomUserDetails details = (CustomUserDetails) user;
+        userRepository.updatePassword(details.getUsername(), newPassword);
+        eventPublisher.publishEvent(new UserChangedEvent(details.getId(), details.getUsername(), details.getSecurityVersion()));
+        log.debug("Rehashed password for user id: {}", details.getId());
+        return details.withPassword(newPassword);
     }
 }
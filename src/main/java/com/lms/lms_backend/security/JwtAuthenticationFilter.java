@@ -1,15 +1,15 @@
 package com.lms.lms_backend.security;
 
+import com.lms.lms_backend.enums.UserRole;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.lang.NonNull;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.core.userdetails.UserDetails;
-import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
@@ -21,7 +21,12 @@ import java.io.IOException;
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     private final JwtService jwtService;
-    private final UserDetailsService userDetailsService;
+    private final CustomUserDetailsService userDetailsService;
+    private final SecurityVersionRegistry securityVersionRegistry;
+    private final TokenRevocationService tokenRevocationService;
+
+    @Value("${app.jwt.stateless-auth:true}")
+    private boolean statelessAuth;
 
     @Override
     protected void doFilterInternal(
@@ -30,7 +35,7 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
             @NonNull FilterChain filterChain
     ) throws ServletException, IOException {
         final String authHeader = request.getHeader("Authorization");
-        final String jwt;
+        final VerifiedToken jwt;
         final String userEmail;
 
         if (authHeader == null || !authHeader.startsWith("Bearer ")) {
@@ -38,18 +43,21 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
             return;
         }
 
-        jwt = authHeader.substring(7);
-        userEmail = jwtService.extractUsername(jwt);
+        jwt = jwtService.verify(authHeader.substring(7));
+        userEmail = jwt.getSubject();
 
-        if (userEmail != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-            UserDetails userDetails = this.userDetailsService.loadUserByUsername(userEmail);
+        // Refresh tokens are only exchanged at /api/auth/refresh, never accepted as credentials
+        if (userEmail != null && SecurityContextHolder.getContext().getAuthentication() == null
+                && jwtService.isAccessToken(jwt) && !tokenRevocationService.isRevoked(jwt.getId())) {
+            UsernamePasswordAuthenticationToken authToken;
 
-            if (jwtService.isTokenValid(jwt, userDetails)) {
-                UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
-                        userDetails,
-                        null,
-                        userDetails.getAuthorities()
-                );
+            if (statelessAuth && jwt.hasClaim(JwtService.CLAIM_USER_ID)) {
+                authToken = authenticateFromClaims(jwt, userEmail);
+            } else {
+                authToken = authenticateFromDatabase(jwt, userEmail);
+            }
+
+            if (authToken != null) {
                 authToken.setDetails(
                         new WebAuthenticationDetailsSource().buildDetails(request)
                 );
@@ -58,4 +66,38 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         }
         filterChain.doFilter(request, response);
     }
+
+    private UsernamePasswordAuthenticationToken authenticateFromClaims(VerifiedToken jwt, String userEmail) {
+        Long userId = jwt.getClaim(JwtService.CLAIM_USER_ID, Long.class);
+        Integer securityVersion = jwt.getClaim(JwtService.CLAIM_SECURITY_VERSION, Integer.class);
+
+        // Tokens issued before a deactivation or role change carry an older version
+        if (jwt.isExpired() || securityVersion == null
+                || !securityVersionRegistry.isCurrent(userId, securityVersion)) {
+            return null;
+        }
+
+        TokenUserPrincipal principal = new TokenUserPrincipal(
+                userId,
+                userEmail,
+                UserRole.valueOf(jwt.getClaim(JwtService.CLAIM_ROLE, String.class))
+        );
+        return new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities());
+    }
+
+    private UsernamePasswordAuthenticationToken authenticateFromDatabase(VerifiedToken jwt, String userEmail) {
+        // Tokens issued before stateless authentication carry only the email
+        CustomUserDetails userDetails = jwt.hasClaim(JwtService.CLAIM_USER_ID)
+                ? this.userDetailsService.loadUserById(jwt.getClaim(JwtService.CLAIM_USER_ID, Long.class))
+                : this.userDetailsService.loadUserByUsername(userEmail);
+
+        if (!jwtService.isTokenCurrent(jwt, userDetails)) {
+            return null;
+        }
+        return new UsernamePasswordAuthenticationToken(
+                userDetails,
+                null,
+                userDetails.getAuthorities()
+        );
+    }
 }
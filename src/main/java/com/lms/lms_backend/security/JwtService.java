@@ -1,10 +1,12 @@
 package com.lms.lms_backend.security;
 
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
 import io.jsonwebtoken.io.Decoders;
 import io.jsonwebtoken.security.Keys;
+import jakarta.annotation.PostConstruct;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Service;
@@ -13,11 +15,20 @@ import java.security.Key;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.UUID;
 import java.util.function.Function;
 
 @Service
 public class JwtService {
 
+    public static final String CLAIM_USER_ID = "uid";
+    public static final String CLAIM_ROLE = "role";
+    public static final String CLAIM_SECURITY_VERSION = "sv";
+    public static final String CLAIM_TYPE = "typ";
+
+    private static final String TYPE_ACCESS = "access";
+    private static final String TYPE_REFRESH = "refresh";
+
     @Value("${app.jwt.secret}")
     private String secretKey;
 
@@ -27,6 +38,28 @@ public class JwtService {
     @Value("${app.jwt.refresh-expiration}")
     private long refreshExpiration;
 
+    // Decoded once at startup; the built parser is immutable and safe to share across threads
+    private Key signInKey;
+    private JwtParser jwtParser;
+
+    @PostConstruct
+    void init() {
+        byte[] keyBytes = Decoders.BASE64.decode(secretKey);
+        this.signInKey = Keys.hmacShaKeyFor(keyBytes);
+        this.jwtParser = Jwts.parserBuilder()
+                .setSigningKey(signInKey)
+                .build();
+    }
+
+    /**
+     * Parses the token and checks its signature exactly once.
+     *
+     * @throws io.jsonwebtoken.JwtException if the token is malformed, tampered with or expired
+     */
+    public VerifiedToken verify(String token) {
+        return new VerifiedToken(extractAllClaims(token));
+    }
+
     public String extractUsername(String token) {
         return extractClaim(token, Claims::getSubject);
     }
@@ -41,11 +74,34 @@ public class JwtService {
     }
 
     public String generateToken(Map<String, Object> extraClaims, UserDetails userDetails) {
-        return buildToken(extraClaims, userDetails, jwtExpiration);
+        Map<String, Object> claims = new HashMap<>(extraClaims);
+        claims.put(CLAIM_TYPE, TYPE_ACCESS);
+        if (userDetails instanceof CustomUserDetails user) {
+            // Lets JwtAuthenticationFilter rebuild the principal without loading the user
+            claims.put(CLAIM_USER_ID, user.getId());
+            claims.put(CLAIM_ROLE, user.getRole().name());
+            claims.put(CLAIM_SECURITY_VERSION, user.getSecurityVersion());
+        }
+        return buildToken(claims, userDetails, jwtExpiration);
     }
 
     public String generateRefreshToken(UserDetails userDetails) {
-        return buildToken(new HashMap<>(), userDetails, refreshExpiration);
+        Map<String, Object> claims = new HashMap<>();
+        claims.put(CLAIM_TYPE, TYPE_REFRESH);
+        if (userDetails instanceof CustomUserDetails user) {
+            // Stops refreshing once the user is deactivated or changes role
+            claims.put(CLAIM_SECURITY_VERSION, user.getSecurityVersion());
+        }
+        return buildToken(claims, userDetails, refreshExpiration);
+    }
+
+    /** Whether {@code token} may authenticate requests, as opposed to only being exchanged for one. */
+    public boolean isAccessToken(VerifiedToken token) {
+        return TYPE_ACCESS.equals(typeOf(token));
+    }
+
+    public boolean isRefreshToken(VerifiedToken token) {
+        return TYPE_REFRESH.equals(typeOf(token));
     }
 
     private String buildToken(
@@ -53,40 +109,49 @@ public class JwtService {
             UserDetails userDetails,
             long expiration
     ) {
+        long now = System.currentTimeMillis();
         return Jwts
                 .builder()
                 .setClaims(extraClaims)
+                .setId(UUID.randomUUID().toString())
                 .setSubject(userDetails.getUsername())
-                .setIssuedAt(new Date(System.currentTimeMillis()))
-                .setExpiration(new Date(System.currentTimeMillis() + expiration))
-                .signWith(getSignInKey(), SignatureAlgorithm.HS256)
+                .setIssuedAt(new Date(now))
+                .setExpiration(new Date(now + expiration))
+                .signWith(signInKey, SignatureAlgorithm.HS256)
                 .compact();
     }
 
     public boolean isTokenValid(String token, UserDetails userDetails) {
-        final String username = extractUsername(token);
-        return (username.equals(userDetails.getUsername())) && !isTokenExpired(token);
+        return isTokenValid(verify(token), userDetails);
+    }
+
+    public boolean isTokenValid(VerifiedToken token, UserDetails userDetails) {
+        return token.getSubject().equals(userDetails.getUsername()) && !token.isExpired();
     }
 
-    private boolean isTokenExpired(String token) {
-        return extractExpiration(token).before(new Date());
+    /**
+     * Whether {@code token} still speaks for {@code user}: issued to them, unexpired, and, if it
+     * carries a security version, not outdated by a deactivation or role change since.
+     */
+    public boolean isTokenCurrent(VerifiedToken token, CustomUserDetails user) {
+        Integer securityVersion = token.getClaim(CLAIM_SECURITY_VERSION, Integer.class);
+        return user.isEnabled() && isTokenValid(token, user)
+                && (securityVersion == null || securityVersion.equals(user.getSecurityVersion()));
     }
 
-    private Date extractExpiration(String token) {
-        return extractClaim(token, Claims::getExpiration);
+    // Tokens issued before the type claim are told apart by their lifetime
+    private String typeOf(VerifiedToken token) {
+        String type = token.getClaim(CLAIM_TYPE, String.class);
+        if (type != null) {
+            return type;
+        }
+        long lifetime = token.getExpiration().getTime() - token.getIssuedAt().getTime();
+        return lifetime > jwtExpiration ? TYPE_REFRESH : TYPE_ACCESS;
     }
 
     private Claims extractAllClaims(String token) {
-        return Jwts
-                .parserBuilder()
-                .setSigningKey(getSignInKey())
-                .build()
+        return jwtParser
                 .parseClaimsJws(token)
                 .getBody();
     }
-
-    private Key getSignInKey() {
-        byte[] keyBytes = Decoders.BASE64.decode(secretKey);
-        return Keys.hmacShaKeyFor(keyBytes);
-    }
 }
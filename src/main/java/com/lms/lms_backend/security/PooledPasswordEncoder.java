@@ -0,0 +1,179 @@
+package com.lms.lms_backend.security;
+
+import com.lms.lms_backend.exception.ServiceOverloadedException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * BCrypt encoder that runs hashing on a bounded, core-sized worker pool instead of the
+ * calling request thread. When both the workers and the queue are busy the call fails
+ * immediately with {@link ServiceOverloadedException}, so a login rush is shed with fast
+ * 503s rather than piling up until every connector thread is stuck in BCrypt.
+ *
+ * <p>{@link #upgradeEncoding(String)} reports hashes of a lower cost than the configured one,
+ * which lets {@code DaoAuthenticationProvider} rehash them on the next successful login.
+ * Stronger hashes are kept: with the cost calibrated per instance, instances on different
+ * hardware would otherwise rehash the same users back and forth.
+ */
+@Slf4j
+public class PooledPasswordEncoder implements PasswordEncoder {
+
+    private static final Pattern BCRYPT_COST = Pattern.compile("^\\$2[abxy]?\\$(\\d{2})\\$");
+    private static final int MIN_STRENGTH = 10;
+    private static final int MAX_STRENGTH = 16;
+
+    private final BCryptPasswordEncoder delegate;
+    private final int strength;
+    private final ThreadPoolExecutor executor;
+    private final long timeoutMillis;
+
+    public PooledPasswordEncoder(int strength, int threads, int queueCapacity, Duration timeout) {
+        this.strength = strength;
+        this.delegate = new BCryptPasswordEncoder(strength);
+        this.timeoutMillis = timeout.toMillis();
+
+        AtomicInteger counter = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(
+                threads, threads,
+                0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "bcrypt-" + counter.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+        log.info("Password hashing uses BCrypt cost {} on {} threads (queue {})", strength, threads, queueCapacity);
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return submit(() -> delegate.encode(rawPassword));
+    }
+
+    /**
+     * Hashes many passwords across the workers, in order. At most one task per worker is queued
+     * at a time, so interactive logins keep getting through while a batch runs; when the queue
+     * is full anyway, the calling thread hashes the password itself instead of failing.
+     */
+    public List<String> encodeAll(List<? extends CharSequence> rawPasswords) {
+        Semaphore inFlight = new Semaphore(executor.getMaximumPoolSize());
+        List<Future<String>> futures = new ArrayList<>(rawPasswords.size());
+        try {
+            for (CharSequence rawPassword : rawPasswords) {
+                inFlight.acquire();
+                try {
+                    futures.add(executor.submit(() -> {
+                        try {
+                            return delegate.encode(rawPassword);
+                        } finally {
+                            inFlight.release();
+                        }
+                    }));
+                } catch (RejectedExecutionException ex) {
+                    inFlight.release();
+                    futures.add(CompletableFuture.completedFuture(delegate.encode(rawPassword)));
+                }
+            }
+            List<String> encoded = new ArrayList<>(futures.size());
+            for (Future<String> future : futures) {
+                encoded.add(future.get());
+            }
+            return encoded;
+        } catch (InterruptedException ex) {
+            futures.forEach(future -> future.cancel(true));
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while hashing passwords", ex);
+        } catch (ExecutionException ex) {
+            futures.forEach(future -> future.cancel(true));
+            if (ex.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException(ex.getCause());
+        }
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return submit(() -> delegate.matches(rawPassword, encodedPassword));
+    }
+
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        if (encodedPassword == null) {
+            return false;
+        }
+        Matcher matcher = BCRYPT_COST.matcher(encodedPassword);
+        return matcher.find() && Integer.parseInt(matcher.group(1)) < strength;
+    }
+
+    public int getStrength() {
+        return strength;
+    }
+
+    public void shutdown() {
+        executor.shutdown();
+    }
+
+    private <T> T submit(Callable<T> task) {
+        Future<T> future;
+        try {
+            future = executor.submit(task);
+        } catch (RejectedExecutionException ex) {
+            throw new ServiceOverloadedException("Too many concurrent password operations, please retry", 1);
+        }
+        try {
+            return future.get(timeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException ex) {
+            future.cancel(true);
+            throw new ServiceOverloadedException("Password operation timed out, please retry", 1);
+        } catch (InterruptedException ex) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while hashing password", ex);
+        } catch (ExecutionException ex) {
+            if (ex.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException(ex.getCause());
+        }
+    }
+
+    /**
+     * Picks the highest BCrypt cost whose hash time on this machine stays within the target.
+     * Each cost step doubles the work, so one measurement at the minimum cost is enough to
+     * extrapolate.
+     */
+    public static int calibrateStrength(Duration targetLatency) {
+        BCryptPasswordEncoder probe = new BCryptPasswordEncoder(MIN_STRENGTH);
+        long[] samples = new long[5];
+        probe.encode("calibration-warmup");
+        for (int i = 0; i < samples.length; i++) {
+            long start = System.nanoTime();
+            probe.encode("calibration-sample");
+            samples[i] = System.nanoTime() - start;
+        }
+        Arrays.sort(samples);
+        long median = samples[samples.length / 2];
+
+        int strength = MIN_STRENGTH;
+        long estimate = median;
+        while (strength < MAX_STRENGTH && estimate * 2 <= targetLatency.toNanos()) {
+            estimate *= 2;
+            strength++;
+        }
+        log.info("Calibrated BCrypt cost {} (~{} ms per hash, target {} ms)",
+                strength, TimeUnit.NANOSECONDS.toMillis(estimate), targetLatency.toMillis());
+        return strength;
+    }
+}
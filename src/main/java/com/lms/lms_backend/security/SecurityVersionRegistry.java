@@ -0,0 +1,56 @@
+package com.lms.lms_backend.security;
+
+import com.lms.lms_backend.event.UserChangedEvent;
+import com.lms.lms_backend.repository.UserRepository;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory view of {@code users.security_version}. Only users whose version was ever
+ * bumped are kept, so checking a token's {@code sv} claim is a single map lookup.
+ *
+ * <p>Each instance refreshes its view from the database at startup and from
+ * {@link UserChangedEvent}s after commit. Changes committed on other instances are picked up
+ * by a reload on the revocation list's schedule, so a deactivation takes effect everywhere
+ * within {@code app.jwt.revocation.rebuild-interval}.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class SecurityVersionRegistry {
+
+    private final UserRepository userRepository;
+    private final Map<Long, Integer> versions = new ConcurrentHashMap<>();
+
+    @PostConstruct
+    void load() {
+        reload();
+        log.info("Loaded security versions for {} users", versions.size());
+    }
+
+    @Scheduled(fixedDelayString = "${app.jwt.revocation.rebuild-interval:60s}",
+            initialDelayString = "${app.jwt.revocation.rebuild-interval:60s}")
+    public void reload() {
+        // Versions only ever go up, so a snapshot older than a local event cannot undo it
+        userRepository.findChangedSecurityVersions()
+                .forEach(v -> versions.merge(v.getId(), v.getSecurityVersion(), Math::max));
+    }
+
+    public boolean isCurrent(Long userId, int tokenVersion) {
+        return tokenVersion >= versions.getOrDefault(userId, 0);
+    }
+
+    @TransactionalEventListener
+    public void onUserChanged(UserChangedEvent event) {
+        if (event.getSecurityVersion() != null && event.getSecurityVersion() > 0) {
+            versions.merge(event.getUserId(), event.getSecurityVersion(), Math::max);
+        }
+    }
+}
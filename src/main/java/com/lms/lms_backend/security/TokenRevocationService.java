@@ -0,0 +1,99 @@
+package com.lms.lms_backend.security;
+
+import com.lms.lms_backend.model.RevokedToken;
+import com.lms.lms_backend.repository.RevokedTokenRepository;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Revocation list for access and refresh tokens, keyed by {@code jti}.
+ *
+ * <p>The {@code revoked_tokens} table is the source of truth. Every request is first checked
+ * against an in-memory {@link BloomFilter} of the revoked ids, so the common case of a token
+ * that was never revoked costs a few nanoseconds; only a possible hit goes to the database.
+ * The filter is rebuilt on a schedule, which also drops expired rows and picks up revocations
+ * made by other instances.
+ */
+@Service
+@Slf4j
+public class TokenRevocationService {
+
+    private final RevokedTokenRepository revokedTokenRepository;
+    private final long expectedInsertions;
+    private final double falsePositiveRate;
+
+    private volatile BloomFilter filter;
+    // Revocations made while a rebuild is loading from the database, replayed into the new filter
+    private final Map<String, Long> recentRevocations = new ConcurrentHashMap<>();
+
+    public TokenRevocationService(
+            RevokedTokenRepository revokedTokenRepository,
+            @Value("${app.jwt.revocation.expected-insertions:500000}") long expectedInsertions,
+            @Value("${app.jwt.revocation.false-positive-rate:0.001}") double falsePositiveRate) {
+        this.revokedTokenRepository = revokedTokenRepository;
+        this.expectedInsertions = expectedInsertions;
+        this.falsePositiveRate = falsePositiveRate;
+        this.filter = new BloomFilter(expectedInsertions, falsePositiveRate);
+    }
+
+    @PostConstruct
+    void init() {
+        reloadFilter();
+    }
+
+    public boolean isRevoked(String jti) {
+        if (jti == null || !filter.mightContain(jti)) {
+            return false;
+        }
+        return revokedTokenRepository.existsByJti(jti);
+    }
+
+    @Transactional
+    public void revoke(VerifiedToken token) {
+        String jti = token.getId();
+        if (jti == null || token.isExpired()) {
+            return;
+        }
+        recentRevocations.put(jti, System.nanoTime());
+        filter.put(jti);
+        if (!revokedTokenRepository.existsByJti(jti)) {
+            revokedTokenRepository.save(RevokedToken.builder()
+                    .jti(jti)
+                    .expiresAt(LocalDateTime.ofInstant(token.getExpiration().toInstant(), ZoneId.systemDefault()))
+                    .build());
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.jwt.revocation.rebuild-interval:60s}",
+            initialDelayString = "${app.jwt.revocation.rebuild-interval:60s}")
+    @Transactional
+    public void rebuild() {
+        int purged = revokedTokenRepository.deleteExpired(LocalDateTime.now());
+        int size = reloadFilter();
+        log.debug("Rebuilt token revocation filter with {} entries ({} expired purged)", size, purged);
+    }
+
+    private int reloadFilter() {
+        long startedAt = System.nanoTime();
+        List<String> active = revokedTokenRepository.findActiveJtis(LocalDateTime.now());
+
+        BloomFilter next = new BloomFilter(Math.max(expectedInsertions, active.size() * 2L), falsePositiveRate);
+        active.forEach(next::put);
+        recentRevocations.keySet().forEach(next::put);
+        filter = next;
+        // Catch revocations that raced with the swap, then forget those the snapshot already covers
+        recentRevocations.keySet().forEach(next::put);
+        recentRevocations.values().removeIf(revokedAt -> revokedAt - startedAt < 0);
+        return active.size();
+    }
+}
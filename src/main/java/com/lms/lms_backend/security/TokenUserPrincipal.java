@@ -0,0 +1,65 @@
+package com.lms.lms_backend.security;
+
+import com.lms.lms_backend.enums.UserRole;
+import org.springframework.security.core.AuthenticatedPrincipal;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Immutable principal built straight from the claims of a verified access token,
+ * so authenticating a request does not need a users-table lookup.
+ */
+public final class TokenUserPrincipal implements UserPrincipal, AuthenticatedPrincipal {
+
+    private static final Map<UserRole, List<GrantedAuthority>> AUTHORITIES = new EnumMap<>(UserRole.class);
+
+    static {
+        for (UserRole role : UserRole.values()) {
+            AUTHORITIES.put(role, List.of(new SimpleGrantedAuthority("ROLE_" + role.name())));
+        }
+    }
+
+    private final Long id;
+    private final String email;
+    private final UserRole role;
+
+    public TokenUserPrincipal(Long id, String email, UserRole role) {
+        this.id = id;
+        this.email = email;
+        this.role = role;
+    }
+
+    @Override
+    public Long getId() {
+        return id;
+    }
+
+    @Override
+    public String getUsername() {
+        return email;
+    }
+
+    @Override
+    public String getName() {
+        return email;
+    }
+
+    @Override
+    public UserRole getRole() {
+        return role;
+    }
+
+    public Collection<? extends GrantedAuthority> getAuthorities() {
+        return AUTHORITIES.get(role);
+    }
+
+    @Override
+    public String toString() {
+        return "TokenUserPrincipal[id=" + id + ", email=" + email + ", role=" + role + "]";
+    }
+}
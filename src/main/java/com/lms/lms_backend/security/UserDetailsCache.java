@@ -0,0 +1,99 @@
+package com.lms.lms_backend.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.lms.lms_backend.cache.CacheRegistry;
+import com.lms.lms_backend.event.UserChangedEvent;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Function;
+
+/**
+ * Size-bounded, TTL-expiring cache of {@link CustomUserDetails} snapshots, keyed both by
+ * email and by id. Entries are dropped once a transaction that changed the user commits.
+ *
+ * <p>A miss is loaded on the caller's thread, outside the cache's locks: a loader blocked on
+ * the database inside {@code Cache.get} would pin its carrier when running on virtual
+ * threads. Concurrent misses for one key still share a single load, and an invalidation
+ * during a load drops it rather than letting it be cached.
+ */
+@Component
+public class UserDetailsCache {
+
+    private final Cache<String, CompletableFuture<CustomUserDetails>> byEmail;
+    private final Cache<Long, CompletableFuture<CustomUserDetails>> byId;
+
+    public UserDetailsCache(
+            CacheRegistry cacheRegistry,
+            @Value("${app.cache.user-details.max-size:10000}") long maxSize,
+            @Value("${app.cache.user-details.ttl:10m}") Duration ttl) {
+        this.byEmail = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        this.byId = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        cacheRegistry.register("userDetailsByEmail", byEmail);
+        cacheRegistry.register("userDetailsById", byId);
+    }
+
+    public CustomUserDetails getByEmail(String email, Function<String, CustomUserDetails> loader) {
+        return get(byEmail, email, loader);
+    }
+
+    public CustomUserDetails getById(Long id, Function<Long, CustomUserDetails> loader) {
+        return get(byId, id, loader);
+    }
+
+    public void invalidate(Long id, String email) {
+        if (id != null) {
+            byId.invalidate(id);
+        }
+        if (email != null) {
+            byEmail.invalidate(email);
+        }
+    }
+
+    @TransactionalEventListener
+    public void onUserChanged(UserChangedEvent event) {
+        invalidate(event.getUserId(), event.getEmail());
+    }
+
+    private static <K> CustomUserDetails get(Cache<K, CompletableFuture<CustomUserDetails>> cache, K key,
+                                             Function<K, CustomUserDetails> loader) {
+        CompletableFuture<CustomUserDetails> cached = cache.getIfPresent(key);
+        if (cached == null) {
+            CompletableFuture<CustomUserDetails> started = new CompletableFuture<>();
+            cached = cache.asMap().putIfAbsent(key, started);
+            if (cached == null) {
+                try {
+                    CustomUserDetails loaded = loader.apply(key);
+                    started.complete(loaded);
+                    return loaded;
+                } catch (RuntimeException | Error e) {
+                    cache.asMap().remove(key, started);
+                    started.completeExceptionally(e);
+                    throw e;
+                }
+            }
+        }
+        try {
+            return cached.join();
+        } catch (CompletionException e) {
+            // The load this caller waited on failed, e.g. with UsernameNotFoundException
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+}
@@ -0,0 +1,16 @@
+package com.lms.lms_backend.security;
+
+import com.lms.lms_backend.enums.UserRole;
+
+/**
+ * The authenticated user as seen by services, regardless of whether the principal
+ * was loaded from the database or rebuilt from signed token claims.
+ */
+public interface UserPrincipal {
+
+    Long getId();
+
+    String getUsername();
+
+    UserRole getRole();
+}
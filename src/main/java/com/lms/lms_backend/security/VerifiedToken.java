@@ -0,0 +1,50 @@
+package com.lms.lms_backend.security;
+
+import io.jsonwebtoken.Claims;
+
+import java.util.Date;
+
+/**
+ * A JWT whose signature has already been checked by {@link JwtService#verify(String)}.
+ * Holds the parsed claims so callers can read them without parsing the token again.
+ */
+public final class VerifiedToken {
+
+    private final Claims claims;
+
+    VerifiedToken(Claims claims) {
+        this.claims = claims;
+    }
+
+    public String getId() {
+        return claims.getId();
+    }
+
+    public String getSubject() {
+        return claims.getSubject();
+    }
+
+    public Date getIssuedAt() {
+        return claims.getIssuedAt();
+    }
+
+    public Date getExpiration() {
+        return claims.getExpiration();
+    }
+
+    public boolean isExpired() {
+        return claims.getExpiration().before(new Date());
+    }
+
+    public boolean hasClaim(String name) {
+        return claims.containsKey(name);
+    }
+
+    public <T> T getClaim(String name, Class<T> type) {
+        return claims.get(name, type);
+    }
+
+    public Claims getClaims() {
+        return claims;
+    }
+}
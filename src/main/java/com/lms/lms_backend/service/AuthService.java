@@ -2,25 +2,29 @@ package com.lms.lms_backend.service;
 
 import com.lms.lms_backend.dto.LoginRequest;
 import com.lms.lms_backend.dto.AuthenticationResponse;
-import com.lms.lms_backend.model.User;
+import com.lms.lms_backend.dto.LogoutRequest;
 import com.lms.lms_backend.exception.BusinessException;
-import com.lms.lms_backend.repository.UserRepository;
 import com.lms.lms_backend.security.CustomUserDetails;
+import com.lms.lms_backend.security.CustomUserDetailsService;
 import com.lms.lms_backend.security.JwtService;
+import com.lms.lms_backend.security.TokenRevocationService;
+import com.lms.lms_backend.security.VerifiedToken;
 import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
 
 @Service
 @RequiredArgsConstructor
 public class AuthService {
 
-    private final UserRepository userRepository;
+    private final CustomUserDetailsService userDetailsService;
     private final JwtService jwtService;
     private final AuthenticationManager authenticationManager;
+    private final TokenRevocationService tokenRevocationService;
     
     @Value("${app.jwt.expiration}")
     private long jwtExpiration;
@@ -34,7 +38,6 @@ public class AuthService {
         );
 
         CustomUserDetails userDetails = (CustomUserDetails) authentication.getPrincipal();
-        User user = userDetails.getUser();
 
         String accessToken = jwtService.generateToken(userDetails);
         String refreshToken = jwtService.generateRefreshToken(userDetails);
@@ -44,25 +47,25 @@ public class AuthService {
                 .refreshToken(refreshToken)
                 .tokenType("Bearer")
                 .expiresIn(jwtExpiration / 1000) // Convert to seconds
-                .user(AuthenticationResponse.UserInfo.builder()
-                        .id(user.getId())
-                        .email(user.getEmail())
-                        .firstName(user.getFirstName())
-                        .lastName(user.getLastName())
-                        .role(user.getRole())
-                        .build())
+                .user(toUserInfo(userDetails))
                 .build();
     }
 
     public AuthenticationResponse refreshToken(String refreshToken) {
-        String userEmail = jwtService.extractUsername(refreshToken);
-        
-        User user = userRepository.findByEmail(userEmail)
-                .orElseThrow(() -> new BusinessException("User not found"));
+        VerifiedToken token = jwtService.verify(refreshToken);
+        if (!jwtService.isRefreshToken(token) || tokenRevocationService.isRevoked(token.getId())) {
+            throw new BusinessException("Invalid refresh token");
+        }
+        String userEmail = token.getSubject();
         
-        CustomUserDetails userDetails = new CustomUserDetails(user);
+        CustomUserDetails userDetails;
+        try {
+            userDetails = userDetailsService.loadUserByUsername(userEmail);
+        } catch (UsernameNotFoundException ex) {
+            throw new BusinessException("User not found");
+        }
         
-        if (!jwtService.isTokenValid(refreshToken, userDetails)) {
+        if (!jwtService.isTokenCurrent(token, userDetails)) {
             throw new BusinessException("Invalid refresh token");
         }
 
@@ -73,13 +76,29 @@ public class AuthService {
                 .refreshToken(refreshToken)
                 .tokenType("Bearer")
                 .expiresIn(jwtExpiration / 1000)
-                .user(AuthenticationResponse.UserInfo.builder()
-                        .id(user.getId())
-                        .email(user.getEmail())
-                        .firstName(user.getFirstName())
-                        .lastName(user.getLastName())
-                        .role(user.getRole())
-                        .build())
+                .user(toUserInfo(userDetails))
+                .build();
+    }
+
+    public void logout(String accessToken, LogoutRequest request) {
+        VerifiedToken token = jwtService.verify(accessToken);
+        tokenRevocationService.revoke(token);
+        if (request != null && request.getRefreshToken() != null) {
+            VerifiedToken refreshToken = jwtService.verify(request.getRefreshToken());
+            if (!refreshToken.getSubject().equals(token.getSubject())) {
+                throw new BusinessException("Refresh token does not belong to the current user");
+            }
+            tokenRevocationService.revoke(refreshToken);
+        }
+    }
+
+    private AuthenticationResponse.UserInfo toUserInfo(CustomUserDetails userDetails) {
+        return AuthenticationResponse.UserInfo.builder()
+                .id(userDetails.getId())
+                .email(userDetails.getUsername())
+                .firstName(userDetails.getFirstName())
+                .lastName(userDetails.getLastName())
+                .role(userDetails.getRole())
                 .build();
     }
 }
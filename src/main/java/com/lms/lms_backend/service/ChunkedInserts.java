@@ -0,0 +1,64 @@
+package com.lms.lms_backend.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.transaction.TransactionException;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Inserts the rows of a bulk import in chunks, one transaction each. A chunk the database
+ * rejects is retried row by row, so a bad row is reported on its own and the rest still land.
+ */
+@Slf4j
+final class ChunkedInserts {
+
+    private ChunkedInserts() {
+    }
+
+    /**
+     * Runs {@code insert} for each chunk of {@code indexes} in its own transaction. It must
+     * return the new ids in the order given; they are written to {@code ids} once the chunk
+     * commits, and rows that cannot be saved get an entry in {@code errors}.
+     */
+    static void run(TransactionTemplate transactionTemplate, List<Integer> indexes, int chunkSize,
+                    Function<List<Integer>, List<Long>> insert, Long[] ids, Map<Integer, List<String>> errors) {
+        for (int from = 0; from < indexes.size(); from += chunkSize) {
+            List<Integer> chunk = indexes.subList(from, Math.min(from + chunkSize, indexes.size()));
+            try {
+                commit(transactionTemplate, chunk, insert, ids);
+            } catch (DataAccessException | TransactionException e) {
+                log.warn("Import chunk of {} rows failed, retrying row by row: {}", chunk.size(), e.getMessage());
+                for (Integer index : chunk) {
+                    try {
+                        commit(transactionTemplate, List.of(index), insert, ids);
+                    } catch (DataAccessException | TransactionException rowFailure) {
+                        log.debug("Import row {} failed", index + 1, rowFailure);
+                        errors.put(index, List.of("Could not be saved"));
+                    }
+                }
+            }
+        }
+    }
+
+    static int countImported(Long[] ids) {
+        int imported = 0;
+        for (Long id : ids) {
+            if (id != null) {
+                imported++;
+            }
+        }
+        return imported;
+    }
+
+    private static void commit(TransactionTemplate transactionTemplate, List<Integer> chunk,
+                               Function<List<Integer>, List<Long>> insert, Long[] ids) {
+        List<Long> saved = transactionTemplate.execute(status -> insert.apply(chunk));
+        for (int i = 0; i < chunk.size(); i++) {
+            ids[chunk.get(i)] = saved.get(i);
+        }
+    }
+}
@@ -0,0 +1,181 @@
+package com.lms.lms_backend.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.lms.lms_backend.csv.CsvRows;
+import com.lms.lms_backend.dto.CourseCreateRequest;
+import com.lms.lms_backend.dto.CourseImportResponse;
+import com.lms.lms_backend.dto.ImportRowError;
+import com.lms.lms_backend.enums.UserRole;
+import com.lms.lms_backend.event.CourseChangedEvent;
+import com.lms.lms_backend.exception.BusinessException;
+import com.lms.lms_backend.exception.ResourceNotFoundException;
+import com.lms.lms_backend.model.Course;
+import com.lms.lms_backend.model.User;
+import com.lms.lms_backend.repository.CourseRepository;
+import com.lms.lms_backend.repository.UserRepository;
+import com.lms.lms_backend.security.UserPrincipal;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Creates many courses for the current instructor in one request.
+ *
+ * <p>Every row is validated before anything is written, with the same rules as a single
+ * create. Valid rows are then inserted in chunks, one transaction each; within a chunk the
+ * pooled id sequence and JDBC batching turn the inserts into a handful of statements. A chunk
+ * the database rejects is retried row by row so only the offending rows are reported, and
+ * rows already committed stay imported.
+ */
+@Service
+@Slf4j
+public class CourseImportService {
+
+    private final CourseRepository courseRepository;
+    private final UserRepository userRepository;
+    private final Validator validator;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ObjectMapper objectMapper;
+    private final int maxRows;
+    private final int chunkSize;
+
+    public CourseImportService(CourseRepository courseRepository,
+                               UserRepository userRepository,
+                               Validator validator,
+                               TransactionTemplate transactionTemplate,
+                               ApplicationEventPublisher eventPublisher,
+                               ObjectMapper objectMapper,
+                               @Value("${app.courses.import.max-rows:5000}") int maxRows,
+                               @Value("${app.courses.import.chunk-size:500}") int chunkSize) {
+        this.courseRepository = courseRepository;
+        this.userRepository = userRepository;
+        this.validator = validator;
+        this.transactionTemplate = transactionTemplate;
+        this.eventPublisher = eventPublisher;
+        this.objectMapper = objectMapper;
+        this.maxRows = maxRows;
+        this.chunkSize = chunkSize;
+    }
+
+    public CourseImportResponse importCourses(List<CourseCreateRequest> requests) {
+        requireWithinLimit(requests.size());
+        Map<Integer, List<String>> errors = new HashMap<>();
+        for (int i = 0; i < requests.size(); i++) {
+            if (requests.get(i) == null) {
+                errors.put(i, List.of("Row is empty"));
+            }
+        }
+        return importRows(new ArrayList<>(requests), errors);
+    }
+
+    /**
+     * Imports CSV with a header row naming {@link CourseCreateRequest} fields, e.g.
+     * {@code title,description,capacity,status,startDate,endDate}.
+     */
+    public CourseImportResponse importCsv(Reader csv) {
+        CsvRows<CourseCreateRequest> csvRows = CsvRows.read(csv, CourseCreateRequest.class, objectMapper);
+        requireWithinLimit(csvRows.rows().size());
+        return importRows(csvRows.rows(), new HashMap<>(csvRows.errors()));
+    }
+
+    /** {@code rows} holds {@code null} where the row could not be parsed; those have errors already. */
+    private CourseImportResponse importRows(List<CourseCreateRequest> rows, Map<Integer, List<String>> errors) {
+        UserPrincipal currentUser = getCurrentUser();
+        if (currentUser.getRole() != UserRole.INSTRUCTOR && currentUser.getRole() != UserRole.ADMIN) {
+            throw new AccessDeniedException("Only instructors can create courses");
+        }
+        User instructor = userRepository.findById(currentUser.getId())
+                .orElseThrow(() -> new ResourceNotFoundException("Instructor not found"));
+
+        List<Integer> valid = new ArrayList<>(rows.size());
+        for (int i = 0; i < rows.size(); i++) {
+            CourseCreateRequest row = rows.get(i);
+            if (row == null) {
+                continue;
+            }
+            if (validate(row, i, errors)) {
+                valid.add(i);
+            }
+        }
+
+        Long[] courseIds = new Long[rows.size()];
+        ChunkedInserts.run(transactionTemplate, valid, chunkSize,
+                chunk -> insert(chunk, rows, instructor), courseIds, errors);
+
+        int imported = ChunkedInserts.countImported(courseIds);
+        log.info("Imported {} of {} courses for instructor: {}", imported, rows.size(), instructor.getId());
+        return CourseImportResponse.builder()
+                .received(rows.size())
+                .imported(imported)
+                .courseIds(Arrays.asList(courseIds))
+                .errors(ImportRowError.of(errors))
+                .build();
+    }
+
+    /** Saves the rows at {@code indexes}; runs inside the chunk's transaction. */
+    private List<Long> insert(List<Integer> indexes, List<CourseCreateRequest> rows, User instructor) {
+        List<Course> courses = new ArrayList<>(indexes.size());
+        for (Integer index : indexes) {
+            courses.add(toCourse(rows.get(index), instructor));
+        }
+        courseRepository.saveAll(courses);
+        courseRepository.flush();
+        courses.forEach(course -> eventPublisher.publishEvent(
+                CourseChangedEvent.saved(CourseService.mapToResponse(course))));
+        return courses.stream().map(Course::getId).toList();
+    }
+
+    private boolean validate(CourseCreateRequest row, int index, Map<Integer, List<String>> errors) {
+        List<String> messages = validator.validate(row).stream()
+                .sorted((a, b) -> a.getPropertyPath().toString().compareTo(b.getPropertyPath().toString()))
+                .map(ConstraintViolation::getMessage)
+                .collect(Collectors.toCollection(ArrayList::new));
+        if (row.getStartDate() != null && row.getEndDate() != null && row.getStartDate().isAfter(row.getEndDate())) {
+            messages.add("Start date must be before end date");
+        }
+        if (messages.isEmpty()) {
+            return true;
+        }
+        errors.put(index, messages);
+        return false;
+    }
+
+    private static Course toCourse(CourseCreateRequest request, User instructor) {
+        return Course.builder()
+                .title(request.getTitle())
+                .description(request.getDescription())
+                .instructor(instructor)
+                .status(request.getStatus())
+                .capacity(request.getCapacity())
+                .enrolledCount(0)
+                .startDate(request.getStartDate())
+                .endDate(request.getEndDate())
+                .build();
+    }
+
+    private void requireWithinLimit(int rows) {
+        if (rows > maxRows) {
+            throw new BusinessException("An import may contain at most " + maxRows + " courses");
+        }
+    }
+
+    private UserPrincipal getCurrentUser() {
+        return (UserPrincipal) SecurityContextHolder.getContext()
+                .getAuthentication().getPrincipal();
+    }
+}
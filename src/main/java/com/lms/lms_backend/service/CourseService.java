@@ -1,27 +1,53 @@
 package com.lms.lms_backend.service;
 
+import com.lms.lms_backend.cache.CourseDetailCache;
+import com.lms.lms_backend.cache.UpcomingCourseCalendar;
 import com.lms.lms_backend.dto.CourseCreateRequest;
+import com.lms.lms_backend.dto.CourseFilter;
 import com.lms.lms_backend.dto.CourseUpdateRequest;
 import com.lms.lms_backend.dto.CourseResponse;
+import com.lms.lms_backend.dto.CursorPageResponse;
+import com.lms.lms_backend.event.CourseChangedEvent;
+import com.lms.lms_backend.event.UserChangedEvent;
 import com.lms.lms_backend.model.Course;
 import com.lms.lms_backend.model.User;
 import com.lms.lms_backend.enums.CourseStatus;
 import com.lms.lms_backend.enums.UserRole;
 import com.lms.lms_backend.exception.BusinessException;
 import com.lms.lms_backend.exception.ResourceNotFoundException;
+import com.lms.lms_backend.http.ResourceVersion;
+import com.lms.lms_backend.pagination.CursorCodec;
 import com.lms.lms_backend.repository.CourseRepository;
+import com.lms.lms_backend.repository.CourseSpecifications;
+import com.lms.lms_backend.repository.CourseSpecifications.RankPosition;
 import com.lms.lms_backend.repository.UserRepository;
-import com.lms.lms_backend.security.CustomUserDetails;
+import com.lms.lms_backend.security.UserPrincipal;
+import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.hibernate.exception.ConstraintViolationException;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 @Service
 @RequiredArgsConstructor
@@ -29,11 +55,22 @@ import java.time.LocalDateTime;
 @Transactional
 public class CourseService {
 
+    private static final String RELEVANCE_ORDERING = "relevance";
+    private static final Sort UPCOMING_ORDER = Sort.by("startDate", "id").ascending();
+    private static final String ENROLLED_COUNT_CONSTRAINT = "chk_courses_enrolled_count";
+
     private final CourseRepository courseRepository;
     private final UserRepository userRepository;
+    private final CourseDetailCache courseDetailCache;
+    private final ApplicationEventPublisher eventPublisher;
+    private final CursorCodec cursorCodec;
+    private final UpcomingCourseCalendar upcomingCourseCalendar;
+
+    // Upcoming courses whose seats or instructor changed since the last refreshUpcomingCourses
+    private final Set<Long> staleUpcoming = ConcurrentHashMap.newKeySet();
 
     public CourseResponse createCourse(CourseCreateRequest request) {
-        CustomUserDetails currentUser = getCurrentUser();
+        UserPrincipal currentUser = getCurrentUser();
 
         if (currentUser.getRole() != UserRole.INSTRUCTOR && currentUser.getRole() != UserRole.ADMIN) {
             throw new AccessDeniedException("Only instructors can create courses");
@@ -58,18 +95,49 @@ public class CourseService {
         Course savedCourse = courseRepository.save(course);
         log.info("Course created with id: {} by instructor: {}", savedCourse.getId(), instructor.getId());
 
-        return mapToResponse(savedCourse);
+        CourseResponse response = mapToResponse(savedCourse);
+        eventPublisher.publishEvent(CourseChangedEvent.saved(response));
+        return response;
     }
 
-    @Transactional(readOnly = true)
+    // Served from the cache without a transaction, so a hit never borrows a pooled connection
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public CourseResponse getCourseById(Long id) {
-        Course course = courseRepository.findById(id)
+        return courseDetailCache.get(id, this::loadCourse);
+    }
+
+    /** Validators for {@link #getCourseById}, looked up without building the response. */
+    @Transactional(readOnly = true)
+    public ResourceVersion getCourseVersion(Long id) {
+        CourseRepository.CourseVersionView version = courseRepository.findVersionById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Course not found with id: " + id));
+        return ResourceVersion.of("course-" + id, version.getUpdatedAt(), version.getInstructorUpdatedAt());
+    }
+
+    /**
+     * Seats reserved after the course was read are invisible to the capacity check above; the
+     * database's check constraint catches those, and is reported the same way.
+     */
+    private Course saveCapacityChecked(Course course) {
+        try {
+            return courseRepository.saveAndFlush(course);
+        } catch (DataIntegrityViolationException e) {
+            if (e.getCause() instanceof ConstraintViolationException violation
+                    && ENROLLED_COUNT_CONSTRAINT.equals(violation.getConstraintName())) {
+                throw new BusinessException("Cannot reduce capacity below current enrollment count");
+            }
+            throw e;
+        }
+    }
+
+    private CourseResponse loadCourse(Long id) {
+        Course course = courseRepository.findWithInstructorById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Course not found with id: " + id));
         return mapToResponse(course);
     }
 
     public CourseResponse updateCourse(Long id, CourseUpdateRequest request) {
-        CustomUserDetails currentUser = getCurrentUser();
+        UserPrincipal currentUser = getCurrentUser();
 
         Course course = courseRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Course not found with id: " + id));
@@ -104,14 +172,17 @@ public class CourseService {
             course.setEndDate(request.getEndDate());
         }
 
-        Course updatedCourse = courseRepository.save(course);
+        // Flush so auditing stamps updatedAt, which versions the cached response
+        Course updatedCourse = saveCapacityChecked(course);
         log.info("Course updated with id: {}", updatedCourse.getId());
 
-        return mapToResponse(updatedCourse);
+        CourseResponse response = mapToResponse(updatedCourse);
+        eventPublisher.publishEvent(CourseChangedEvent.saved(response));
+        return response;
     }
 
     public void deleteCourse(Long id) {
-        CustomUserDetails currentUser = getCurrentUser();
+        UserPrincipal currentUser = getCurrentUser();
 
         Course course = courseRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Course not found with id: " + id));
@@ -126,39 +197,151 @@ public class CourseService {
         }
 
         courseRepository.delete(course);
+        eventPublisher.publishEvent(CourseChangedEvent.deleted(id));
         log.info("Course deleted with id: {}", id);
     }
 
     @Transactional(readOnly = true)
     public Page<CourseResponse> getAllCourses(Pageable pageable) {
-        return courseRepository.findAll(pageable).map(this::mapToResponse);
+        return courseRepository.findAll(pageable).map(CourseService::mapToResponse);
     }
 
+    /**
+     * All courses matching {@code filter}. A text search without an explicit sort is ordered
+     * by relevance; otherwise the pageable's sort applies.
+     */
     @Transactional(readOnly = true)
-    public Page<CourseResponse> searchCourses(String searchTerm, CourseStatus status, Pageable pageable) {
-        Page<Course> courses;
-
-        if (status != null) {
-            courses = courseRepository.findByStatus(status, pageable);
-        } else if (searchTerm != null && !searchTerm.isEmpty()) {
-            courses = courseRepository.searchCourses(searchTerm, pageable);
-        } else {
-            courses = courseRepository.findAll(pageable);
-        }
-
-        return courses.map(this::mapToResponse);
+    public Page<CourseResponse> searchCourses(CourseFilter filter, Pageable pageable) {
+        Specification<Course> spec = CourseSpecifications.hasText(filter.getSearch()) && pageable.getSort().isUnsorted()
+                ? CourseSpecifications.matchingByRelevance(filter, null)
+                : CourseSpecifications.matching(filter);
+        return courseRepository.findAll(spec, pageable).map(CourseService::mapToResponse);
     }
 
     @Transactional(readOnly = true)
     public Page<CourseResponse> getInstructorCourses(Long instructorId, Pageable pageable) {
         return courseRepository.findByInstructorId(instructorId, pageable)
-                .map(this::mapToResponse);
+                .map(CourseService::mapToResponse);
     }
 
-    @Transactional(readOnly = true)
+    // Served from the in-memory calendar; the sort is always start date, then id
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public Page<CourseResponse> getUpcomingCourses(Pageable pageable) {
-        return courseRepository.findUpcomingCourses(CourseStatus.PUBLISHED, LocalDateTime.now(), pageable)
-                .map(this::mapToResponse);
+        UpcomingCourseCalendar.Window window = upcomingCourseCalendar.upcoming(
+                LocalDateTime.now(), pageable.getOffset(), pageable.getPageSize());
+        return new PageImpl<>(window.content(), pageable, window.total());
+    }
+
+    // Keyset (cursor) variants of the listings above: no OFFSET and no count query
+
+    @Transactional(readOnly = true)
+    public CursorPageResponse<CourseResponse> searchCourses(CourseFilter filter, Sort sort, String cursor, int size) {
+        if (CourseSpecifications.hasText(filter.getSearch()) && sort.isUnsorted()) {
+            return searchByRelevance(filter, cursor, size);
+        }
+        return scroll(CourseSpecifications.matching(filter), sort, cursor, size);
+    }
+
+    @Transactional(readOnly = true)
+    public CursorPageResponse<CourseResponse> getInstructorCourses(Long instructorId, String cursor, int size) {
+        return scroll(CourseSpecifications.hasInstructor(instructorId), Sort.by("id").descending(), cursor, size);
+    }
+
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public CursorPageResponse<CourseResponse> getUpcomingCourses(String cursor, int size) {
+        CursorCodec.requireValidSize(size);
+        LocalDateTime now = LocalDateTime.now();
+        Map<String, Object> after = cursorCodec.decode(cursor, Course.class, UPCOMING_ORDER).getKeys();
+        UpcomingCourseCalendar.Window window = after.isEmpty()
+                ? upcomingCourseCalendar.upcoming(now, 0, size)
+                : upcomingCourseCalendar.upcomingAfter(now, (LocalDateTime) after.get("startDate"),
+                        (Long) after.get("id"), size);
+        String nextCursor = null;
+        if (window.hasNext()) {
+            CourseResponse last = window.content().get(window.content().size() - 1);
+            nextCursor = cursorCodec.encode(Map.of("startDate", last.getStartDate(), "id", last.getId()),
+                    UPCOMING_ORDER.toString());
+        }
+        return cursorCodec.toResponse(window.content(), nextCursor);
+    }
+
+    /**
+     * Fills the upcoming calendar before requests are served; from then on it follows
+     * {@link CourseChangedEvent}s. The query fetches instructors, so mapping needs no session.
+     */
+    @PostConstruct
+    void loadUpcomingCalendar() {
+        upcomingCourseCalendar.load(courseRepository.findUpcomingCourses(CourseStatus.PUBLISHED, LocalDateTime.now())
+                .stream()
+                .map(CourseService::mapToResponse)
+                .toList());
+    }
+
+    /**
+     * Enrollment events carry no response, so the calendar's copy is rebuilt to refresh its
+     * seats. Only the course is noted here: reading it now would take a second connection while
+     * the committing transaction still holds its own, which an enrollment rush turns into pool
+     * exhaustion. {@link #refreshUpcomingCourses()} reloads all noted courses in one query.
+     */
+    @TransactionalEventListener
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void onEnrollmentChanged(CourseChangedEvent event) {
+        if (event.getType() == CourseChangedEvent.Type.ENROLLMENT_CHANGED
+                && upcomingCourseCalendar.contains(event.getCourseId())) {
+            staleUpcoming.add(event.getCourseId());
+        }
+    }
+
+    // The calendar's copies embed the instructor's name and email
+    @TransactionalEventListener
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void onInstructorChanged(UserChangedEvent event) {
+        staleUpcoming.addAll(upcomingCourseCalendar.coursesOf(event.getUserId()));
+    }
+
+    @Scheduled(fixedDelayString = "${app.courses.upcoming.seat-refresh-interval:1s}")
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void refreshUpcomingCourses() {
+        if (staleUpcoming.isEmpty()) {
+            return;
+        }
+        List<Long> courseIds = new ArrayList<>(staleUpcoming);
+        // Changes noted from here on are picked up by the next run
+        courseIds.forEach(staleUpcoming::remove);
+        courseRepository.findWithInstructorByIdIn(courseIds).stream()
+                .map(CourseService::mapToResponse)
+                .forEach(upcomingCourseCalendar::put);
+    }
+
+    private CursorPageResponse<CourseResponse> scroll(Specification<Course> spec, Sort sort, String cursor, int size) {
+        CursorCodec.requireValidSize(size);
+        Sort stableSort = CursorCodec.withIdTiebreaker(sort);
+        Window<Course> window = courseRepository.findBy(spec.and(CourseSpecifications.fetchInstructor()), query -> query
+                .sortBy(stableSort)
+                .limit(size)
+                .scroll(cursorCodec.decode(cursor, Course.class, stableSort)));
+        return cursorCodec.toResponse(window, stableSort, CourseService::mapToResponse);
+    }
+
+    private CursorPageResponse<CourseResponse> searchByRelevance(CourseFilter filter, String cursor, int size) {
+        CursorCodec.requireValidSize(size);
+        Map<String, Object> after = cursorCodec.decode(cursor, RELEVANCE_ORDERING,
+                key -> "rank".equals(key) ? Float.class : Long.class);
+        RankPosition position = null;
+        if (after != null) {
+            if (!(after.get("rank") instanceof Float rank) || !(after.get("id") instanceof Long id)) {
+                throw new BusinessException("Invalid cursor");
+            }
+            position = new RankPosition(rank, id);
+        }
+
+        List<Course> courses = courseRepository.findBy(
+                CourseSpecifications.matchingByRelevance(filter, position).and(CourseSpecifications.fetchInstructor()),
+                query -> query.limit(CursorCodec.lookahead(size)).all());
+        return cursorCodec.toResponse(courses, size, last -> Map.of(
+                        "rank", courseRepository.findRank(CourseSpecifications.toPrefixTsQuery(filter.getSearch()), last.getId()),
+                        "id", last.getId()),
+                RELEVANCE_ORDERING, CourseService::mapToResponse);
     }
 
     private void validateCourseDates(LocalDateTime startDate, LocalDateTime endDate) {
@@ -170,12 +353,13 @@ public class CourseService {
         }
     }
 
-    private CustomUserDetails getCurrentUser() {
-        return (CustomUserDetails) SecurityContextHolder.getContext()
+    private UserPrincipal getCurrentUser() {
+        return (UserPrincipal) SecurityContextHolder.getContext()
                 .getAuthentication().getPrincipal();
     }
 
-    private CourseResponse mapToResponse(Course course) {
+    // Shared with CourseImportService; needs the instructor loaded
+    static CourseResponse mapToResponse(Course course) {
         return CourseResponse.builder()
                 .id(course.getId())
                 .title(course.getTitle())
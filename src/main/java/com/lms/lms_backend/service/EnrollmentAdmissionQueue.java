@@ -0,0 +1,221 @@
+package com.lms.lms_backend.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.lms.lms_backend.dto.EnrollmentTicketResponse;
+import com.lms.lms_backend.enums.AdmissionStatus;
+import com.lms.lms_backend.enums.UserRole;
+import com.lms.lms_backend.exception.BusinessException;
+import com.lms.lms_backend.exception.ResourceNotFoundException;
+import com.lms.lms_backend.exception.ServiceOverloadedException;
+import com.lms.lms_backend.security.UserPrincipal;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Write-behind admission for courses that open to a rush of students. A request is only put
+ * on its course's bounded in-memory queue and answered with a ticket; one drain per course at
+ * a time then admits queued requests in batches through {@link EnrollmentService#admit}, so a
+ * batch costs one locked read of the course, one batched insert and one seat-count update
+ * instead of a transaction per student all contending for the same row.
+ *
+ * <p>When a course's queue is full the request is refused with
+ * {@link ServiceOverloadedException} rather than waiting. Queued requests live only in this
+ * instance's memory: tickets not yet admitted are lost on a restart, and clients find the
+ * outcome by polling their ticket until it leaves {@link AdmissionStatus#PENDING}.
+ *
+ * <p>A student has at most one pending request per course; a second is refused until the
+ * first is resolved. A ticket can be polled for {@code ticket-ttl} after it is resolved, and a
+ * course's queue is dropped once it has been drained.
+ */
+@Service
+@Slf4j
+public class EnrollmentAdmissionQueue {
+
+    private static final String NOT_SAVED = "Enrollment could not be saved, please retry";
+    private static final Duration UNTIL_RESOLVED = Duration.ofNanos(Long.MAX_VALUE);
+
+    private final EnrollmentService enrollmentService;
+    private final int queueCapacity;
+    private final int batchSize;
+    private final Cache<String, Ticket> tickets;
+    private final Map<Long, CourseQueue> queues = new ConcurrentHashMap<>();
+    private final ExecutorService workers;
+
+    public EnrollmentAdmissionQueue(EnrollmentService enrollmentService,
+                                    @Value("${app.enrollments.admission.queue-capacity:1000}") int queueCapacity,
+                                    @Value("${app.enrollments.admission.batch-size:100}") int batchSize,
+                                    @Value("${app.enrollments.admission.workers:4}") int workers,
+                                    @Value("${app.enrollments.admission.ticket-ttl:10m}") Duration ticketTtl) {
+        this.enrollmentService = enrollmentService;
+        this.queueCapacity = queueCapacity;
+        this.batchSize = batchSize;
+        this.tickets = Caffeine.newBuilder()
+                .expireAfter(Expiry.writing((String id, Ticket ticket) ->
+                        ticket.status() == AdmissionStatus.PENDING ? UNTIL_RESOLVED : ticketTtl))
+                .build();
+        AtomicInteger counter = new AtomicInteger();
+        this.workers = Executors.newFixedThreadPool(workers, runnable -> {
+            Thread thread = new Thread(runnable, "admission-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /** Queues an enrollment of the current student and returns its pending ticket. */
+    public EnrollmentTicketResponse submit(Long courseId) {
+        UserPrincipal currentUser = getCurrentUser();
+        if (currentUser.getRole() != UserRole.STUDENT) {
+            throw new AccessDeniedException("Only students can enroll in courses");
+        }
+
+        Ticket ticket = new Ticket(UUID.randomUUID().toString(), courseId, currentUser.getId(),
+                AdmissionStatus.PENDING, null, null, LocalDateTime.now(), null);
+        tickets.put(ticket.id(), ticket);
+        CourseQueue queue;
+        try {
+            // Offered under the map's lock for the course, so a drained queue is never dropped with a request in it
+            queue = queues.compute(courseId, (id, existing) -> {
+                CourseQueue current = existing != null ? existing : new CourseQueue(queueCapacity);
+                if (!current.students.add(ticket.userId())) {
+                    throw new BusinessException("An enrollment in this course is already pending");
+                }
+                if (!current.pending.offer(new PendingAdmission(ticket.id(), ticket.userId()))) {
+                    current.students.remove(ticket.userId());
+                    throw new ServiceOverloadedException("Too many pending enrollments for this course, please retry", 1);
+                }
+                return current;
+            });
+        } catch (RuntimeException e) {
+            tickets.invalidate(ticket.id());
+            throw e;
+        }
+        scheduleDrain(courseId, queue);
+        return toResponse(ticket);
+    }
+
+    /** The ticket's current state; visible to the student who holds it and to admins. */
+    public EnrollmentTicketResponse getTicket(String ticketId) {
+        UserPrincipal currentUser = getCurrentUser();
+        Ticket ticket = tickets.getIfPresent(ticketId);
+        // Someone else's ticket is reported as missing rather than forbidden, so ids can't be probed
+        if (ticket == null || (!ticket.userId().equals(currentUser.getId()) && currentUser.getRole() != UserRole.ADMIN)) {
+            throw new ResourceNotFoundException("Enrollment ticket not found with id: " + ticketId);
+        }
+        return toResponse(ticket);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        workers.shutdown();
+    }
+
+    private void scheduleDrain(Long courseId, CourseQueue queue) {
+        if (queue.draining.compareAndSet(false, true)) {
+            workers.execute(() -> drain(courseId, queue));
+        }
+    }
+
+    private void drain(Long courseId, CourseQueue queue) {
+        try {
+            List<PendingAdmission> batch = new ArrayList<>(batchSize);
+            while (queue.pending.drainTo(batch, batchSize) > 0) {
+                admit(courseId, queue, batch);
+                batch.clear();
+            }
+        } finally {
+            queue.draining.set(false);
+        }
+        // A request queued after the last drainTo but before the flag was cleared would otherwise wait
+        if (!queue.pending.isEmpty()) {
+            scheduleDrain(courseId, queue);
+        } else {
+            queues.computeIfPresent(courseId, (id, current) ->
+                    current == queue && current.pending.isEmpty() && !current.draining.get() ? null : current);
+        }
+    }
+
+    private void admit(Long courseId, CourseQueue queue, List<PendingAdmission> batch) {
+        List<Long> userIds = batch.stream().map(PendingAdmission::userId).toList();
+        try {
+            complete(queue, batch, enrollmentService.admit(courseId, userIds));
+        } catch (RuntimeException e) {
+            // One bad request must not fail the whole batch; nothing of it was committed
+            log.warn("Admitting {} enrollments for course {} failed, retrying one by one", batch.size(), courseId, e);
+            for (PendingAdmission admission : batch) {
+                try {
+                    complete(queue, List.of(admission), enrollmentService.admit(courseId, List.of(admission.userId())));
+                } catch (RuntimeException single) {
+                    log.error("Admitting user {} to course {} failed", admission.userId(), courseId, single);
+                    complete(queue, List.of(admission), List.of(EnrollmentService.Admission.rejected(NOT_SAVED)));
+                }
+            }
+        }
+    }
+
+    private void complete(CourseQueue queue, List<PendingAdmission> batch, List<EnrollmentService.Admission> outcomes) {
+        LocalDateTime now = LocalDateTime.now();
+        for (int i = 0; i < batch.size(); i++) {
+            EnrollmentService.Admission outcome = outcomes.get(i);
+            queue.students.remove(batch.get(i).userId());
+            tickets.asMap().computeIfPresent(batch.get(i).ticketId(), (id, ticket) -> new Ticket(
+                    ticket.id(), ticket.courseId(), ticket.userId(),
+                    outcome.enrollmentId() != null ? AdmissionStatus.ENROLLED : AdmissionStatus.REJECTED,
+                    outcome.enrollmentId(), outcome.rejection(), ticket.requestedAt(), now));
+        }
+    }
+
+    private static EnrollmentTicketResponse toResponse(Ticket ticket) {
+        return EnrollmentTicketResponse.builder()
+                .ticketId(ticket.id())
+                .courseId(ticket.courseId())
+                .status(ticket.status())
+                .enrollmentId(ticket.enrollmentId())
+                .message(ticket.message())
+                .requestedAt(ticket.requestedAt())
+                .completedAt(ticket.completedAt())
+                .build();
+    }
+
+    private UserPrincipal getCurrentUser() {
+        return (UserPrincipal) SecurityContextHolder.getContext()
+                .getAuthentication().getPrincipal();
+    }
+
+    private record Ticket(String id, Long courseId, Long userId, AdmissionStatus status, Long enrollmentId,
+                          String message, LocalDateTime requestedAt, LocalDateTime completedAt) {
+    }
+
+    private record PendingAdmission(String ticketId, Long userId) {
+    }
+
+    private static final class CourseQueue {
+        private final BlockingQueue<PendingAdmission> pending;
+        private final Set<Long> students = ConcurrentHashMap.newKeySet();
+        private final AtomicBoolean draining = new AtomicBoolean();
+
+        private CourseQueue(int capacity) {
+            this.pending = new LinkedBlockingQueue<>(capacity);
+        }
+    }
+}
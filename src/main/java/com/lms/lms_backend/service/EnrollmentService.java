@@ -0,0 +1,313 @@
+package com.lms.lms_backend.service;
+
+import com.lms.lms_backend.dto.CourseStudentResponse;
+import com.lms.lms_backend.dto.CursorPageResponse;
+import com.lms.lms_backend.dto.EnrolledCourseResponse;
+import com.lms.lms_backend.dto.EnrollmentResponse;
+import com.lms.lms_backend.enums.CourseStatus;
+import com.lms.lms_backend.enums.EnrollmentStatus;
+import com.lms.lms_backend.enums.UserRole;
+import com.lms.lms_backend.event.CourseChangedEvent;
+import com.lms.lms_backend.exception.BusinessException;
+import com.lms.lms_backend.exception.ResourceNotFoundException;
+import com.lms.lms_backend.http.ResourceVersion;
+import com.lms.lms_backend.model.Course;
+import com.lms.lms_backend.model.Enrollment;
+import com.lms.lms_backend.pagination.CursorCodec;
+import com.lms.lms_backend.repository.CourseRepository;
+import com.lms.lms_backend.repository.EnrollmentRepository;
+import com.lms.lms_backend.repository.UserRepository;
+import com.lms.lms_backend.security.UserPrincipal;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.exception.ConstraintViolationException;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Sort;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * Enrolls students without read-modify-write on the course. A seat is taken by one
+ * conditional {@code UPDATE} that also checks status, start date and capacity, so concurrent
+ * enrollments in a popular course neither oversell nor lose updates, and a full course fails
+ * immediately instead of being retried. The {@code uk_user_course} constraint decides
+ * duplicate enrollments the same way.
+ *
+ * <p>The enrollment row is written before the seat is reserved: the course row is the one
+ * every enrollment competes for, and updating it last keeps its lock held only until commit.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+@Transactional
+public class EnrollmentService {
+
+    private static final String UNIQUE_USER_COURSE = "uk_user_course";
+    private static final String ALREADY_ENROLLED = "Already enrolled in this course";
+    private static final String COURSE_FULL = "Course is full";
+    private static final String NEWEST_FIRST = Sort.by("enrollmentDate", "id").descending().toString();
+
+    private final EnrollmentRepository enrollmentRepository;
+    private final CourseRepository courseRepository;
+    private final UserRepository userRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final CursorCodec cursorCodec;
+
+    public EnrollmentResponse enroll(Long courseId) {
+        UserPrincipal currentUser = getCurrentUser();
+        if (currentUser.getRole() != UserRole.STUDENT) {
+            throw new AccessDeniedException("Only students can enroll in courses");
+        }
+        // The event's version must match the row
+        LocalDateTime now = ResourceVersion.truncate(LocalDateTime.now());
+
+        Long enrollmentId = enrollmentRepository.findByUserIdAndCourseId(currentUser.getId(), courseId)
+                .map(existing -> reactivate(existing, now))
+                .orElseGet(() -> insert(currentUser.getId(), courseId, now));
+
+        if (courseRepository.reserveSeats(courseId, 1, now) == 0) {
+            throw noSeat(courseId, now);
+        }
+        eventPublisher.publishEvent(CourseChangedEvent.enrollmentChanged(courseId, now));
+        log.info("User {} enrolled in course {}", currentUser.getId(), courseId);
+
+        return enrollmentRepository.findById(enrollmentId)
+                .map(EnrollmentService::mapToResponse)
+                .orElseThrow();
+    }
+
+    /** Drops an active enrollment and gives its seat back. */
+    public void drop(Long enrollmentId) {
+        UserPrincipal currentUser = getCurrentUser();
+        Enrollment enrollment = enrollmentRepository.findById(enrollmentId)
+                .orElseThrow(() -> new ResourceNotFoundException("Enrollment not found with id: " + enrollmentId));
+
+        if (!enrollment.getUser().getId().equals(currentUser.getId()) &&
+                currentUser.getRole() != UserRole.ADMIN) {
+            throw new AccessDeniedException("You can only drop your own enrollments");
+        }
+
+        LocalDateTime now = ResourceVersion.truncate(LocalDateTime.now());
+        Long courseId = enrollment.getCourse().getId();
+        // Conditional, so two concurrent drops release a single seat
+        if (enrollmentRepository.transition(enrollmentId, EnrollmentStatus.ACTIVE, EnrollmentStatus.DROPPED, now) == 0) {
+            throw new BusinessException("Enrollment is not active");
+        }
+        courseRepository.releaseSeat(courseId, now);
+        eventPublisher.publishEvent(CourseChangedEvent.enrollmentChanged(courseId, now));
+        log.info("Enrollment {} dropped from course {}", enrollmentId, courseId);
+    }
+
+    /**
+     * Admits queued requests for one course in a single transaction, for
+     * {@link EnrollmentAdmissionQueue}. The course row is locked once, the seats left are
+     * granted in arrival order, new enrollments go out as one JDBC batch and
+     * {@code enrolled_count} is raised by one statement for all of them. Returns one outcome per
+     * entry of {@code userIds}, in order; the callers were checked when their requests were
+     * queued.
+     */
+    public List<Admission> admit(Long courseId, List<Long> userIds) {
+        LocalDateTime now = ResourceVersion.truncate(LocalDateTime.now());
+        Course course = courseRepository.findForSeatUpdate(courseId).orElse(null);
+        String closed = course == null ? "Course not found with id: " + courseId : closedReason(course, now);
+        if (closed != null) {
+            return userIds.stream().map(userId -> Admission.rejected(closed)).toList();
+        }
+
+        Map<Long, Enrollment> existing = new HashMap<>();
+        enrollmentRepository.findByCourseIdAndUserIdIn(courseId, userIds)
+                .forEach(enrollment -> existing.put(enrollment.getUser().getId(), enrollment));
+        int seatsLeft = course.getCapacity() - course.getEnrolledCount();
+
+        Admission[] admissions = new Admission[userIds.size()];
+        Map<Integer, Enrollment> inserts = new LinkedHashMap<>();
+        Map<Integer, Long> reactivations = new LinkedHashMap<>();
+        Set<Long> seen = new HashSet<>();
+        for (int i = 0; i < userIds.size(); i++) {
+            Long userId = userIds.get(i);
+            Enrollment enrollment = existing.get(userId);
+            if (!seen.add(userId) || (enrollment != null && enrollment.getStatus() != EnrollmentStatus.DROPPED)) {
+                admissions[i] = Admission.rejected(ALREADY_ENROLLED);
+            } else if (inserts.size() + reactivations.size() == seatsLeft) {
+                admissions[i] = Admission.rejected(COURSE_FULL);
+            } else if (enrollment != null) {
+                reactivations.put(i, enrollment.getId());
+            } else {
+                inserts.put(i, Enrollment.builder()
+                        .user(userRepository.getReferenceById(userId))
+                        .course(course)
+                        .status(EnrollmentStatus.ACTIVE)
+                        .enrollmentDate(now)
+                        .build());
+            }
+        }
+
+        enrollmentRepository.saveAll(inserts.values());
+        enrollmentRepository.flush();
+        inserts.forEach((index, enrollment) -> admissions[index] = Admission.enrolled(enrollment.getId()));
+        // Conditional like a direct re-enrollment, which may be racing for the same row
+        reactivations.forEach((index, enrollmentId) -> admissions[index] = enrollmentRepository.transition(
+                enrollmentId, EnrollmentStatus.DROPPED, EnrollmentStatus.ACTIVE, now) == 1
+                ? Admission.enrolled(enrollmentId) : Admission.rejected(ALREADY_ENROLLED));
+
+        int seats = (int) Arrays.stream(admissions).filter(admission -> admission.enrollmentId() != null).count();
+        if (seats > 0) {
+            if (courseRepository.reserveSeats(courseId, seats, now) == 0) {
+                throw new IllegalStateException("Seats granted under the course lock could not be reserved");
+            }
+            eventPublisher.publishEvent(CourseChangedEvent.enrollmentChanged(courseId, now));
+        }
+        log.info("Admitted {} of {} queued enrollments for course {}", seats, userIds.size(), courseId);
+        return List.of(admissions);
+    }
+
+    /**
+     * A user's enrollments with their courses, newest first; users see their own, admins
+     * anyone's. Each page is one query; follow {@code nextCursor} for the next.
+     */
+    @Transactional(readOnly = true)
+    public CursorPageResponse<EnrolledCourseResponse> getUserCourses(Long userId, String cursor, int size) {
+        UserPrincipal currentUser = getCurrentUser();
+        if (!currentUser.getId().equals(userId) && currentUser.getRole() != UserRole.ADMIN) {
+            throw new AccessDeniedException("You can only view your own enrollments");
+        }
+        CursorCodec.requireValidSize(size);
+        Map<String, Object> after = decodeNewestFirst(cursor);
+        Limit limit = Limit.of(CursorCodec.lookahead(size));
+        List<EnrolledCourseResponse> rows = after == null
+                ? enrollmentRepository.findCoursesOfUser(userId, limit)
+                : enrollmentRepository.findCoursesOfUserAfter(userId,
+                        (LocalDateTime) after.get("enrollmentDate"), (Long) after.get("id"), limit);
+        return toPage(rows, size, EnrolledCourseResponse::getEnrollmentDate, EnrolledCourseResponse::getEnrollmentId);
+    }
+
+    /** The students of a course, newest enrollment first; for its instructor and admins. */
+    @Transactional(readOnly = true)
+    public CursorPageResponse<CourseStudentResponse> getCourseStudents(Long courseId, String cursor, int size) {
+        UserPrincipal currentUser = getCurrentUser();
+        boolean allowed = currentUser.getRole() == UserRole.ADMIN
+                ? courseRepository.existsById(courseId)
+                : currentUser.getRole() == UserRole.INSTRUCTOR
+                        && courseRepository.existsByIdAndInstructorId(courseId, currentUser.getId());
+        if (!allowed) {
+            if (currentUser.getRole() == UserRole.ADMIN) {
+                throw new ResourceNotFoundException("Course not found with id: " + courseId);
+            }
+            throw new AccessDeniedException("You can only view students of your own courses");
+        }
+        CursorCodec.requireValidSize(size);
+        Map<String, Object> after = decodeNewestFirst(cursor);
+        Limit limit = Limit.of(CursorCodec.lookahead(size));
+        List<CourseStudentResponse> rows = after == null
+                ? enrollmentRepository.findStudentsOfCourse(courseId, limit)
+                : enrollmentRepository.findStudentsOfCourseAfter(courseId,
+                        (LocalDateTime) after.get("enrollmentDate"), (Long) after.get("id"), limit);
+        return toPage(rows, size, CourseStudentResponse::getEnrollmentDate, CourseStudentResponse::getEnrollmentId);
+    }
+
+    private Map<String, Object> decodeNewestFirst(String cursor) {
+        Map<String, Object> after = cursorCodec.decode(cursor, NEWEST_FIRST,
+                key -> "enrollmentDate".equals(key) ? LocalDateTime.class : Long.class);
+        if (after != null && (!(after.get("enrollmentDate") instanceof LocalDateTime) || !(after.get("id") instanceof Long))) {
+            throw new BusinessException("Invalid cursor");
+        }
+        return after;
+    }
+
+    private <T> CursorPageResponse<T> toPage(List<T> rows, int size, Function<T, LocalDateTime> enrollmentDate,
+                                             Function<T, Long> enrollmentId) {
+        return cursorCodec.toResponse(rows, size, last -> Map.of("enrollmentDate", enrollmentDate.apply(last),
+                "id", enrollmentId.apply(last)), NEWEST_FIRST, Function.identity());
+    }
+
+    private Long insert(Long userId, Long courseId, LocalDateTime now) {
+        Enrollment enrollment = Enrollment.builder()
+                .user(userRepository.getReferenceById(userId))
+                .course(courseRepository.getReferenceById(courseId))
+                .status(EnrollmentStatus.ACTIVE)
+                .enrollmentDate(now)
+                .build();
+        try {
+            return enrollmentRepository.saveAndFlush(enrollment).getId();
+        } catch (DataIntegrityViolationException e) {
+            String constraint = e.getCause() instanceof ConstraintViolationException violation
+                    ? violation.getConstraintName() : null;
+            if (UNIQUE_USER_COURSE.equals(constraint)) {
+                throw new BusinessException(ALREADY_ENROLLED);
+            }
+            if ("fk_enrollment_course".equals(constraint)) {
+                throw new ResourceNotFoundException("Course not found with id: " + courseId);
+            }
+            throw e;
+        }
+    }
+
+    private Long reactivate(Enrollment existing, LocalDateTime now) {
+        if (existing.getStatus() != EnrollmentStatus.DROPPED
+                || enrollmentRepository.transition(existing.getId(), EnrollmentStatus.DROPPED, EnrollmentStatus.ACTIVE, now) == 0) {
+            throw new BusinessException(ALREADY_ENROLLED);
+        }
+        return existing.getId();
+    }
+
+    /** Explains a failed reservation; only read on that path, so enrolling stays one statement. */
+    private RuntimeException noSeat(Long courseId, LocalDateTime now) {
+        Course course = courseRepository.findById(courseId)
+                .orElseThrow(() -> new ResourceNotFoundException("Course not found with id: " + courseId));
+        String closed = closedReason(course, now);
+        return new BusinessException(closed != null ? closed : COURSE_FULL);
+    }
+
+    private static String closedReason(Course course, LocalDateTime now) {
+        if (course.getStatus() != CourseStatus.PUBLISHED) {
+            return "Course is not open for enrollment";
+        }
+        if (course.getStartDate() == null || !course.getStartDate().isAfter(now)) {
+            return "Course has already started";
+        }
+        return null;
+    }
+
+    static EnrollmentResponse mapToResponse(Enrollment enrollment) {
+        return EnrollmentResponse.builder()
+                .id(enrollment.getId())
+                .userId(enrollment.getUser().getId())
+                .courseId(enrollment.getCourse().getId())
+                .status(enrollment.getStatus())
+                .progress(enrollment.getProgress())
+                .enrollmentDate(enrollment.getEnrollmentDate())
+                .completedDate(enrollment.getCompletedDate())
+                .build();
+    }
+
+    /** Outcome of one queued request: the enrollment id, or why it was rejected. */
+    public record Admission(Long enrollmentId, String rejection) {
+
+        static Admission enrolled(Long enrollmentId) {
+            return new Admission(enrollmentId, null);
+        }
+
+        static Admission rejected(String rejection) {
+            return new Admission(null, rejection);
+        }
+    }
+
+    private UserPrincipal getCurrentUser() {
+        return (UserPrincipal) SecurityContextHolder.getContext()
+                .getAuthentication().getPrincipal();
+    }
+}
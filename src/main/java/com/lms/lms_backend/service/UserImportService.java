@@ -0,0 +1,251 @@
+package com.lms.lms_backend.service;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.lms.lms_backend.csv.CsvRowReader;
+import com.lms.lms_backend.dto.ImportRowError;
+import com.lms.lms_backend.dto.UserImportResponse;
+import com.lms.lms_backend.dto.UserRegistrationRequest;
+import com.lms.lms_backend.exception.BusinessException;
+import com.lms.lms_backend.model.User;
+import com.lms.lms_backend.repository.UserRepository;
+import com.lms.lms_backend.security.PooledPasswordEncoder;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Supplier;
+
+/**
+ * Registers many users in one request, e.g. a semester's students.
+ *
+ * <p>Rows are validated as single registrations are. Duplicate emails are found in one pass
+ * over the upload plus one query against the database per chunk, instead of an
+ * {@code existsByEmail} per row. Passwords of the accepted rows are hashed in parallel on the
+ * password-hashing workers, and the users are inserted in JDBC-batched chunks like a course
+ * import.
+ *
+ * <p>Uploads are read as they are imported: each chunk of rows is checked, hashed and
+ * committed before the next is read, so only one chunk is held in memory.
+ */
+@Service
+@Slf4j
+public class UserImportService {
+
+    private final UserRepository userRepository;
+    private final PasswordEncoder passwordEncoder;
+    private final Validator validator;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+    private final int maxRows;
+    private final int chunkSize;
+
+    public UserImportService(UserRepository userRepository,
+                             PasswordEncoder passwordEncoder,
+                             Validator validator,
+                             TransactionTemplate transactionTemplate,
+                             ObjectMapper objectMapper,
+                             @Value("${app.users.import.max-rows:10000}") int maxRows,
+                             @Value("${app.users.import.chunk-size:500}") int chunkSize) {
+        this.userRepository = userRepository;
+        this.passwordEncoder = passwordEncoder;
+        this.validator = validator;
+        this.transactionTemplate = transactionTemplate;
+        this.objectMapper = objectMapper;
+        this.maxRows = maxRows;
+        this.chunkSize = chunkSize;
+    }
+
+    /** Imports a JSON array of {@link UserRegistrationRequest}s, reading it one row at a time. */
+    public UserImportResponse importJson(InputStream json) {
+        JsonParser parser;
+        try {
+            parser = objectMapper.createParser(json);
+            if (parser.nextToken() != JsonToken.START_ARRAY) {
+                throw new BusinessException("JSON upload must be an array of users");
+            }
+        } catch (IOException e) {
+            throw new BusinessException("Could not read the JSON upload");
+        }
+        return importRows(() -> nextJsonRow(parser));
+    }
+
+    /**
+     * Imports CSV with a header row naming {@link UserRegistrationRequest} fields, e.g.
+     * {@code email,password,firstName,lastName,role}.
+     */
+    public UserImportResponse importCsv(Reader csv) {
+        CsvRowReader<UserRegistrationRequest> reader = CsvRowReader.open(csv, UserRegistrationRequest.class, objectMapper);
+        return importRows(reader::next);
+    }
+
+    /**
+     * Reads {@code upload} until it returns {@code null}, importing every {@code chunkSize} rows
+     * as they arrive. An upload that breaks off or runs past the limit is reported on the row
+     * where it happened; the rows before it are still imported.
+     */
+    private UserImportResponse importRows(Supplier<CsvRowReader.Row<UserRegistrationRequest>> upload) {
+        Map<Integer, List<String>> errors = new HashMap<>();
+        Map<String, Integer> firstRowByEmail = new HashMap<>();
+        List<Long> userIds = new ArrayList<>();
+        List<UserRegistrationRequest> chunk = new ArrayList<>(chunkSize);
+        while (true) {
+            int index = userIds.size() + chunk.size();
+            CsvRowReader.Row<UserRegistrationRequest> row;
+            try {
+                row = upload.get();
+            } catch (BusinessException e) {
+                errors.put(index, List.of(e.getMessage() + "; the rest of the upload was not read"));
+                break;
+            }
+            if (row == null) {
+                break;
+            }
+            if (index == maxRows) {
+                errors.put(index, List.of("An import may contain at most " + maxRows
+                        + " users; the rest of the upload was not read"));
+                break;
+            }
+            if (row.value() == null) {
+                errors.put(index, row.errors());
+            }
+            chunk.add(row.value());
+            if (chunk.size() == chunkSize) {
+                importChunk(chunk, userIds, firstRowByEmail, errors);
+            }
+        }
+        importChunk(chunk, userIds, firstRowByEmail, errors);
+
+        int imported = (int) userIds.stream().filter(Objects::nonNull).count();
+        log.info("Provisioned {} of {} users", imported, userIds.size());
+        return UserImportResponse.builder()
+                .received(userIds.size())
+                .imported(imported)
+                .userIds(userIds)
+                .errors(ImportRowError.of(errors))
+                .build();
+    }
+
+    /**
+     * Imports {@code chunk}, which follows the rows already in {@code userIds} and holds
+     * {@code null} where a row could not be read, then appends its ids and clears it. Emails
+     * are checked against the earlier rows of the upload and against the database.
+     */
+    private void importChunk(List<UserRegistrationRequest> chunk, List<Long> userIds,
+                             Map<String, Integer> firstRowByEmail, Map<Integer, List<String>> errors) {
+        int offset = userIds.size();
+        List<Integer> valid = new ArrayList<>(chunk.size());
+        for (int i = 0; i < chunk.size(); i++) {
+            UserRegistrationRequest row = chunk.get(i);
+            if (row == null || !validate(row, offset + i, errors)) {
+                continue;
+            }
+            Integer firstRow = firstRowByEmail.putIfAbsent(row.getEmail(), offset + i);
+            if (firstRow != null) {
+                errors.put(offset + i, List.of("Email already appears in row " + (firstRow + 1)));
+                continue;
+            }
+            valid.add(i);
+        }
+
+        Set<String> existing = valid.isEmpty() ? Set.of()
+                : userRepository.findExistingEmails(valid.stream().map(i -> chunk.get(i).getEmail()).toList());
+        valid.removeIf(i -> {
+            String email = chunk.get(i).getEmail();
+            if (existing.contains(email)) {
+                errors.put(offset + i, List.of("Email already exists: " + email));
+                return true;
+            }
+            return false;
+        });
+
+        List<String> passwords = encodePasswords(valid.stream().map(i -> chunk.get(i).getPassword()).toList());
+        Map<Integer, String> encodedByRow = new HashMap<>();
+        for (int i = 0; i < valid.size(); i++) {
+            encodedByRow.put(valid.get(i), passwords.get(i));
+        }
+
+        Long[] chunkIds = new Long[chunk.size()];
+        Map<Integer, List<String>> chunkErrors = new HashMap<>();
+        ChunkedInserts.run(transactionTemplate, valid, chunkSize,
+                indexes -> insert(indexes, chunk, encodedByRow), chunkIds, chunkErrors);
+        chunkErrors.forEach((i, messages) -> errors.put(offset + i, messages));
+        userIds.addAll(Arrays.asList(chunkIds));
+        chunk.clear();
+    }
+
+    /** Saves the rows at {@code indexes}; runs inside the chunk's transaction. */
+    private List<Long> insert(List<Integer> indexes, List<UserRegistrationRequest> rows,
+                              Map<Integer, String> encodedByRow) {
+        List<User> users = new ArrayList<>(indexes.size());
+        for (Integer index : indexes) {
+            UserRegistrationRequest request = rows.get(index);
+            users.add(User.builder()
+                    .email(request.getEmail())
+                    .password(encodedByRow.get(index))
+                    .firstName(request.getFirstName())
+                    .lastName(request.getLastName())
+                    .role(request.getRole())
+                    .active(true)
+                    .build());
+        }
+        userRepository.saveAll(users);
+        userRepository.flush();
+        return users.stream().map(User::getId).toList();
+    }
+
+    private List<String> encodePasswords(List<String> rawPasswords) {
+        if (passwordEncoder instanceof PooledPasswordEncoder pooled) {
+            return pooled.encodeAll(rawPasswords);
+        }
+        return rawPasswords.stream().map(passwordEncoder::encode).toList();
+    }
+
+    private boolean validate(UserRegistrationRequest row, int index, Map<Integer, List<String>> errors) {
+        List<String> messages = validator.validate(row).stream()
+                .sorted((a, b) -> a.getPropertyPath().toString().compareTo(b.getPropertyPath().toString()))
+                .map(ConstraintViolation::getMessage)
+                .toList();
+        if (messages.isEmpty()) {
+            return true;
+        }
+        errors.put(index, messages);
+        return false;
+    }
+
+    private CsvRowReader.Row<UserRegistrationRequest> nextJsonRow(JsonParser parser) {
+        JsonNode node;
+        try {
+            if (parser.nextToken() == JsonToken.END_ARRAY) {
+                return null;
+            }
+            node = objectMapper.readTree(parser);
+        } catch (IOException e) {
+            throw new BusinessException("Could not read the JSON upload");
+        }
+        if (node == null || node.isNull()) {
+            return CsvRowReader.Row.rejected("Row is empty");
+        }
+        try {
+            return new CsvRowReader.Row<>(objectMapper.convertValue(node, UserRegistrationRequest.class), List.of());
+        } catch (IllegalArgumentException e) {
+            return CsvRowReader.Row.rejected(CsvRowReader.describeConversionError(e));
+        }
+    }
+}
@@ -1,16 +1,22 @@
 package com.lms.lms_backend.service;
 
+import com.lms.lms_backend.dto.CursorPageResponse;
 import com.lms.lms_backend.dto.UserRegistrationRequest;
 import com.lms.lms_backend.dto.UserUpdateRequest;
 import com.lms.lms_backend.dto.UserResponse;
+import com.lms.lms_backend.http.ResourceVersion;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 
 public interface UserService {
     UserResponse registerUser(UserRegistrationRequest request);
     UserResponse getUserById(Long id);
+    ResourceVersion getUserVersion(Long id);
     UserResponse updateUser(Long id, UserUpdateRequest request);
     Page<UserResponse> getAllUsers(Pageable pageable);
     Page<UserResponse> searchUsers(String searchTerm, Pageable pageable);
+    CursorPageResponse<UserResponse> getAllUsers(Sort sort, String cursor, int size);
+    CursorPageResponse<UserResponse> searchUsers(String searchTerm, String cursor, int size);
     void deactivateUser(Long id);
 }
@@ -1,21 +1,32 @@
 package com.lms.lms_backend.service.impl;
 
+import com.lms.lms_backend.dto.CursorPageResponse;
 import com.lms.lms_backend.dto.UserRegistrationRequest;
 import com.lms.lms_backend.dto.UserUpdateRequest;
 import com.lms.lms_backend.dto.UserResponse;
+import com.lms.lms_backend.event.UserChangedEvent;
 import com.lms.lms_backend.model.User;
 import com.lms.lms_backend.exception.BusinessException;
 import com.lms.lms_backend.exception.ResourceNotFoundException;
+import com.lms.lms_backend.http.ResourceVersion;
+import com.lms.lms_backend.pagination.CursorCodec;
 import com.lms.lms_backend.repository.UserRepository;
+import com.lms.lms_backend.repository.UserSpecifications;
 import com.lms.lms_backend.service.UserService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+
 @Service
 @RequiredArgsConstructor
 @Slf4j
@@ -24,6 +35,8 @@ public class UserServiceImpl implements UserService {
     
     private final UserRepository userRepository;
     private final PasswordEncoder passwordEncoder;
+    private final ApplicationEventPublisher eventPublisher;
+    private final CursorCodec cursorCodec;
     
     @Override
     public UserResponse registerUser(UserRegistrationRequest request) {
@@ -57,6 +70,14 @@ public class UserServiceImpl implements UserService {
         return mapToResponse(user);
     }
     
+    @Override
+    @Transactional(readOnly = true)
+    public ResourceVersion getUserVersion(Long id) {
+        LocalDateTime updatedAt = userRepository.findUpdatedAtById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("User not found with id: " + id));
+        return ResourceVersion.of("user-" + id, updatedAt);
+    }
+    
     @Override
     public UserResponse updateUser(Long id, UserUpdateRequest request) {
         log.debug("Updating user with id: {}", id);
@@ -68,6 +89,7 @@ public class UserServiceImpl implements UserService {
         user.setLastName(request.getLastName());
         
         User updatedUser = userRepository.save(user);
+        publishUserChanged(updatedUser);
         log.info("User updated successfully with id: {}", updatedUser.getId());
         
         return mapToResponse(updatedUser);
@@ -89,6 +111,31 @@ public class UserServiceImpl implements UserService {
                 .map(this::mapToResponse);
     }
     
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPageResponse<UserResponse> getAllUsers(Sort sort, String cursor, int size) {
+        log.debug("Scrolling all active users");
+        return scroll(UserSpecifications.isActive(), sort, cursor, size);
+    }
+    
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPageResponse<UserResponse> searchUsers(String searchTerm, String cursor, int size) {
+        log.debug("Scrolling users with term: {}", searchTerm);
+        return scroll(UserSpecifications.isActive().and(UserSpecifications.matches(searchTerm)),
+                Sort.by("id"), cursor, size);
+    }
+    
+    private CursorPageResponse<UserResponse> scroll(Specification<User> spec, Sort sort, String cursor, int size) {
+        CursorCodec.requireValidSize(size);
+        Sort stableSort = CursorCodec.withIdTiebreaker(sort);
+        Window<User> window = userRepository.findBy(spec, query -> query
+                .sortBy(stableSort)
+                .limit(size)
+                .scroll(cursorCodec.decode(cursor, User.class, stableSort)));
+        return cursorCodec.toResponse(window, stableSort, this::mapToResponse);
+    }
+    
     @Override
     public void deactivateUser(Long id) {
         log.debug("Deactivating user with id: {}", id);
@@ -97,10 +144,24 @@ public class UserServiceImpl implements UserService {
                 .orElseThrow(() -> new ResourceNotFoundException("User not found with id: " + id));
         
         user.setActive(false);
+        revokeIssuedTokens(user);
         userRepository.save(user);
+        publishUserChanged(user);
         log.info("User deactivated successfully with id: {}", id);
     }
     
+    /**
+     * Invalidates every access token issued so far. Call on any change that must take effect
+     * before outstanding tokens expire, such as deactivation or a role change.
+     */
+    private void revokeIssuedTokens(User user) {
+        user.setSecurityVersion(user.getSecurityVersion() + 1);
+    }
+    
+    private void publishUserChanged(User user) {
+        eventPublisher.publishEvent(new UserChangedEvent(user.getId(), user.getEmail(), user.getSecurityVersion()));
+    }
+    
     private UserResponse mapToResponse(User user) {
         return UserResponse.builder()
                 .email(user.getEmail())
@@ -0,0 +1,8 @@
+-- Hibernate now draws ids from each table's BIGSERIAL sequence with the pooled optimizer:
+-- one nextval reserves the block of 50 ids ending at the returned value, which lets inserts
+-- be batched. Existing ids all lie at or below the current value, so every new block is free.
+-- Inserts relying on the column default still work; they take the top of a fresh block.
+ALTER SEQUENCE users_id_seq INCREMENT BY 50;
+ALTER SEQUENCE courses_id_seq INCREMENT BY 50;
+ALTER SEQUENCE enrollments_id_seq INCREMENT BY 50;
+ALTER SEQUENCE revoked_tokens_id_seq INCREMENT BY 50;
@@ -0,0 +1,4 @@
+-- Seats are reserved and released with conditional updates of enrolled_count; the check makes
+-- overselling impossible even for writers that bypass them, e.g. lowering the capacity.
+ALTER TABLE courses
+    ADD CONSTRAINT chk_courses_enrolled_count CHECK (enrolled_count >= 0 AND enrolled_count <= capacity);
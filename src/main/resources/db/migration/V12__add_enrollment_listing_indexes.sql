@@ -0,0 +1,8 @@
+-- Enrollment listings page by (enrollment_date, id) within one user or one course; each index
+-- serves the filter, the seek and the ordering in a single range scan.
+CREATE INDEX idx_enrollments_user_date_id ON enrollments(user_id, enrollment_date, id);
+CREATE INDEX idx_enrollments_course_date_id ON enrollments(course_id, enrollment_date, id);
+
+-- Covered by the composite indexes above, which have the same leading column
+DROP INDEX idx_enrollments_user;
+DROP INDEX idx_enrollments_course;
@@ -0,0 +1,20 @@
+-- A deleted course leaves no updated_at behind, so deletions stamp this single row instead.
+-- Together with the stamps of courses and their instructors it versions the public catalog,
+-- whichever instance or writer made the change.
+CREATE TABLE catalog_tombstone (
+    id SMALLINT PRIMARY KEY CHECK (id = 1),
+    deleted_at TIMESTAMP NOT NULL
+);
+
+INSERT INTO catalog_tombstone (id, deleted_at) VALUES (1, CURRENT_TIMESTAMP);
+
+CREATE FUNCTION stamp_course_deletion() RETURNS TRIGGER AS $$
+BEGIN
+    UPDATE catalog_tombstone SET deleted_at = GREATEST(deleted_at, clock_timestamp()::TIMESTAMP) WHERE id = 1;
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE TRIGGER trg_courses_deleted
+    AFTER DELETE ON courses
+    FOR EACH STATEMENT EXECUTE FUNCTION stamp_course_deletion();
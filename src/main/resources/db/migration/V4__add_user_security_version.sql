@@ -0,0 +1,2 @@
+-- Bumped whenever previously issued access tokens must stop working (deactivation, role change)
+ALTER TABLE users ADD COLUMN security_version INTEGER NOT NULL DEFAULT 0;
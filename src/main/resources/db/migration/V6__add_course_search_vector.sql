@@ -0,0 +1,8 @@
+-- Full-text search document for courses; the title outranks the description
+ALTER TABLE courses ADD COLUMN search_vector tsvector
+    GENERATED ALWAYS AS (
+        setweight(to_tsvector('english', coalesce(title, '')), 'A') ||
+        setweight(to_tsvector('english', coalesce(description, '')), 'B')
+    ) STORED;
+
+CREATE INDEX idx_courses_search_vector ON courses USING GIN (search_vector);
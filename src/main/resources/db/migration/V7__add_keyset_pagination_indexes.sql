@@ -0,0 +1,10 @@
+-- Keyset pages seek to (sort key, id) > cursor; each listing's filter, sort key and id
+-- tiebreaker form one index so the seek and the ordering come from a single range scan.
+CREATE INDEX idx_courses_status_id ON courses(status, id);
+CREATE INDEX idx_courses_instructor_id_id ON courses(instructor_id, id);
+CREATE INDEX idx_courses_status_start_date_id ON courses(status, start_date, id);
+CREATE INDEX idx_users_active_id ON users(id) WHERE active = true;
+
+-- Covered by the composite indexes above, which have the same leading column
+DROP INDEX idx_courses_status;
+DROP INDEX idx_courses_instructor;
@@ -0,0 +1,10 @@
+-- Indexes for the composable course filters. Status + start date is served by
+-- idx_courses_status_start_date_id and instructor filters by idx_courses_instructor_id_id (V7).
+
+-- Date windows on their own, or combined with other filters through a bitmap AND
+CREATE INDEX idx_courses_start_date ON courses(start_date, id);
+CREATE INDEX idx_courses_end_date ON courses(end_date, id);
+
+-- The public catalog almost always filters on PUBLISHED; partial indexes keep those combinations small
+CREATE INDEX idx_courses_published_end_date ON courses(end_date, id) WHERE status = 'PUBLISHED';
+CREATE INDEX idx_courses_published_instructor ON courses(instructor_id, start_date) WHERE status = 'PUBLISHED';
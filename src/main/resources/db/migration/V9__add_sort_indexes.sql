@@ -0,0 +1,9 @@
+-- Indexes behind the whitelisted sort fields (CourseSortField, UserSortField), each ending in
+-- the id tiebreaker so a sorted page is an index range scan with no sort step.
+-- Courses by id and start date are covered by V7/V8.
+CREATE INDEX idx_courses_title_id ON courses(title, id);
+CREATE INDEX idx_courses_status_title_id ON courses(status, title, id);
+
+-- User listings only show active users
+CREATE INDEX idx_users_active_email ON users(email, id) WHERE active = true;
+CREATE INDEX idx_users_active_last_name ON users(last_name, id) WHERE active = true;
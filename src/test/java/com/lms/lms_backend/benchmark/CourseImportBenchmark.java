@@ -0,0 +1,149 @@
+package com.lms.lms_backend.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.sql.*;
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Rows per second for inserting courses the way a loop of single creates did, against the
+ * bulk import: ids drawn from a sequence in blocks of 50 and inserts sent as JDBC batches
+ * that the driver rewrites into multi-row statements.
+ *
+ * <p>Each invocation inserts {@value #ROWS} courses, so the throughput score is rows/second.
+ * The single-create path runs each row in its own transaction with an
+ * {@code INSERT ... RETURNING id}, as one {@code POST /api/courses} does with identity ids;
+ * the import path inserts one chunk in a single transaction.
+ *
+ * <p>Rows go into a scratch copy of {@code courses} with its own sequences, dropped after the
+ * run, so no application data or ids are used; it is a regular table because both connections
+ * need to see it. Connection settings default to the local development
+ * database and can be overridden with {@code -Dbench.db.url}, {@code -Dbench.db.user} and
+ * {@code -Dbench.db.password}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CourseImportBenchmark {
+
+    private static final int ROWS = 500;
+    private static final int ALLOCATION_SIZE = 50;
+
+    private Connection singleConnection;
+    private Connection batchConnection;
+    private PreparedStatement insertReturningId;
+    private PreparedStatement nextIdBlock;
+    private PreparedStatement insertWithId;
+    private Timestamp startDate;
+    private Timestamp endDate;
+
+    @Setup(Level.Trial)
+    public void setUp() throws SQLException {
+        String url = System.getProperty("bench.db.url", "jdbc:postgresql://localhost:5433/lms");
+        singleConnection = connect(url);
+        batchConnection = connect(url + (url.contains("?") ? "&" : "?") + "reWriteBatchedInserts=true");
+
+        try (Statement statement = singleConnection.createStatement()) {
+            statement.execute("CREATE TABLE IF NOT EXISTS bench_import_courses (LIKE courses INCLUDING ALL)");
+            statement.execute("CREATE SEQUENCE IF NOT EXISTS bench_import_serial");
+            statement.execute("CREATE SEQUENCE IF NOT EXISTS bench_import_pooled INCREMENT BY " + ALLOCATION_SIZE);
+            statement.execute("ALTER TABLE bench_import_courses ALTER COLUMN id SET DEFAULT nextval('bench_import_serial')");
+        }
+
+        insertReturningId = singleConnection.prepareStatement("INSERT INTO bench_import_courses " +
+                "(title, description, instructor_id, status, capacity, enrolled_count, start_date, end_date, created_at, updated_at) " +
+                "VALUES (?, ?, 1, 'PUBLISHED', 30, 0, ?, ?, now(), now()) RETURNING id");
+        batchConnection.setAutoCommit(false);
+        nextIdBlock = batchConnection.prepareStatement("SELECT nextval('bench_import_pooled')");
+        insertWithId = batchConnection.prepareStatement("INSERT INTO bench_import_courses " +
+                "(id, title, description, instructor_id, status, capacity, enrolled_count, start_date, end_date, created_at, updated_at) " +
+                "VALUES (?, ?, ?, 1, 'PUBLISHED', 30, 0, ?, ?, now(), now())");
+        startDate = Timestamp.valueOf(LocalDateTime.now().plusDays(30));
+        endDate = Timestamp.valueOf(LocalDateTime.now().plusDays(120));
+    }
+
+    @TearDown(Level.Iteration)
+    public void truncate() throws SQLException {
+        try (Statement statement = singleConnection.createStatement()) {
+            statement.execute("TRUNCATE bench_import_courses");
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws SQLException {
+        try (Statement statement = singleConnection.createStatement()) {
+            statement.execute("DROP TABLE bench_import_courses");
+            statement.execute("DROP SEQUENCE bench_import_serial");
+            statement.execute("DROP SEQUENCE bench_import_pooled");
+        }
+        singleConnection.close();
+        batchConnection.close();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public long singleCreates() throws SQLException {
+        long checksum = 0;
+        for (int i = 0; i < ROWS; i++) {
+            bindCourse(insertReturningId, 1, i);
+            try (ResultSet resultSet = insertReturningId.executeQuery()) {
+                resultSet.next();
+                checksum += resultSet.getLong(1);
+            }
+        }
+        return checksum;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public long batchedImport() throws SQLException {
+        long checksum = 0;
+        long nextId = 0;
+        long blockEnd = 0;
+        for (int i = 0; i < ROWS; i++) {
+            if (nextId == blockEnd) {
+                try (ResultSet resultSet = nextIdBlock.executeQuery()) {
+                    resultSet.next();
+                    nextId = resultSet.getLong(1);
+                    blockEnd = nextId + ALLOCATION_SIZE;
+                }
+            }
+            insertWithId.setLong(1, nextId);
+            bindCourse(insertWithId, 2, i);
+            insertWithId.addBatch();
+            checksum += nextId++;
+            if ((i + 1) % ALLOCATION_SIZE == 0) {
+                insertWithId.executeBatch();
+            }
+        }
+        insertWithId.executeBatch();
+        batchConnection.commit();
+        return checksum;
+    }
+
+    private void bindCourse(PreparedStatement statement, int firstParameter, int row) throws SQLException {
+        statement.setString(firstParameter, "Imported course " + row);
+        statement.setString(firstParameter + 1, "Description of imported course " + row);
+        statement.setTimestamp(firstParameter + 2, startDate);
+        statement.setTimestamp(firstParameter + 3, endDate);
+    }
+
+    private static Connection connect(String url) throws SQLException {
+        return DriverManager.getConnection(url,
+                System.getProperty("bench.db.user", "postgres"),
+                System.getProperty("bench.db.password", "password"));
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(CourseImportBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
@@ -0,0 +1,121 @@
+package com.lms.lms_backend.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.sql.*;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Compares the old {@code LOWER(...) LIKE '%term%'} course search with the ranked full-text
+ * search on a seeded catalog. Each invocation runs one page query plus its count query,
+ * as a {@code Page} listing does.
+ *
+ * <p>Needs a database migrated to at least V6. The catalog is seeded into a temporary copy
+ * of {@code courses} (same columns and indexes), so no application data is touched.
+ * Connection settings default to the local development database and can be overridden with
+ * {@code -Dbench.db.url}, {@code -Dbench.db.user} and {@code -Dbench.db.password}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CourseSearchBenchmark {
+
+    private static final String VOCABULARY = "'{machine,learning,neural,network,data,science,statistics," +
+            "programming,java,python,spring,database,design,systems,cloud,security,algorithms,calculus," +
+            "physics,chemistry,biology,history,economics,marketing,finance,writing,literature,music,art," +
+            "philosophy,psychology,introduction,advanced,practical,applications,fundamentals,theory,analysis}'";
+
+    @Param({"10000", "50000"})
+    private int catalogSize;
+
+    @Param({"learning", "algorithms design"})
+    private String term;
+
+    private Connection connection;
+    private PreparedStatement likePage;
+    private PreparedStatement likeCount;
+    private PreparedStatement fullTextPage;
+    private PreparedStatement fullTextCount;
+    private String tsQuery;
+
+    @Setup(Level.Trial)
+    public void setUp() throws SQLException {
+        connection = DriverManager.getConnection(
+                System.getProperty("bench.db.url", "jdbc:postgresql://localhost:5433/lms"),
+                System.getProperty("bench.db.user", "postgres"),
+                System.getProperty("bench.db.password", "password"));
+
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("CREATE TEMP TABLE bench_courses (LIKE courses INCLUDING ALL)");
+            statement.execute("INSERT INTO bench_courses (title, description, instructor_id, status, start_date, end_date) " +
+                    "SELECT initcap(w[1 + (g * 7) % 38] || ' ' || w[1 + (g * 13) % 38] || ' ' || w[1 + (g * 31) % 38]), " +
+                    // 60-word descriptions: ~10% subject words, the rest from a 20k-word long tail
+                    "       (SELECT string_agg(CASE WHEN random() < 0.1 THEN w[1 + floor(random() * 38)::int + s * 0] " +
+                    "                               ELSE 'topic' || floor(random() * 20000)::int END, ' ') " +
+                    "        FROM generate_series(1, 60) AS s), " +
+                    "       1, 'PUBLISHED', now() + interval '30 days', now() + interval '120 days' " +
+                    "FROM generate_series(1, " + catalogSize + ") AS g, (SELECT " + VOCABULARY + "::text[] AS w) AS v");
+            statement.execute("ANALYZE bench_courses");
+        }
+
+        // The LIKE path searches one phrase, as the old repository method did
+        likePage = connection.prepareStatement("SELECT id FROM bench_courses " +
+                "WHERE lower(title) LIKE lower('%' || ? || '%') OR lower(description) LIKE lower('%' || ? || '%') " +
+                "ORDER BY id DESC LIMIT 10");
+        likeCount = connection.prepareStatement("SELECT count(*) FROM bench_courses " +
+                "WHERE lower(title) LIKE lower('%' || ? || '%') OR lower(description) LIKE lower('%' || ? || '%')");
+        fullTextPage = connection.prepareStatement("SELECT id FROM bench_courses " +
+                "WHERE search_vector @@ to_tsquery('english', ?) " +
+                "ORDER BY ts_rank(search_vector, to_tsquery('english', ?)) DESC, id DESC LIMIT 10");
+        fullTextCount = connection.prepareStatement("SELECT count(*) FROM bench_courses " +
+                "WHERE search_vector @@ to_tsquery('english', ?)");
+        tsQuery = Arrays.stream(term.split(" "))
+                .map(word -> word + ":*")
+                .collect(Collectors.joining(" & "));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws SQLException {
+        connection.close();
+    }
+
+    @Benchmark
+    public void likeSearch(Blackhole blackhole) throws SQLException {
+        blackhole.consume(run(likePage, term, 2));
+        blackhole.consume(run(likeCount, term, 2));
+    }
+
+    @Benchmark
+    public void fullTextSearch(Blackhole blackhole) throws SQLException {
+        blackhole.consume(run(fullTextPage, tsQuery, 2));
+        blackhole.consume(run(fullTextCount, tsQuery, 1));
+    }
+
+    private static long run(PreparedStatement statement, String parameter, int parameters) throws SQLException {
+        for (int i = 1; i <= parameters; i++) {
+            statement.setString(i, parameter);
+        }
+        long checksum = 0;
+        try (ResultSet resultSet = statement.executeQuery()) {
+            while (resultSet.next()) {
+                checksum += resultSet.getLong(1);
+            }
+        }
+        return checksum;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(CourseSearchBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
@@ -0,0 +1,114 @@
+package com.lms.lms_backend.benchmark;
+
+import com.lms.lms_backend.enums.UserRole;
+import com.lms.lms_backend.model.User;
+import com.lms.lms_backend.security.CustomUserDetails;
+import com.lms.lms_backend.security.JwtService;
+import com.lms.lms_backend.security.VerifiedToken;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.io.Decoders;
+import io.jsonwebtoken.security.Keys;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.security.Key;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * Compares the per-request token verification done by {@code JwtAuthenticationFilter}
+ * before and after {@link JwtService#verify(String)} was introduced.
+ *
+ * <p>Run with:
+ * <pre>
+ * mvn test-compile exec:java -Dexec.classpathScope=test \
+ *     -Dexec.mainClass=com.lms.lms_backend.benchmark.JwtVerifyBenchmark
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtVerifyBenchmark {
+
+    private static final String SECRET = "404E635266556A586E3272357538782F413F4428472B4B6250645367566B5970";
+
+    /**
+     * Number of extra claims in the token: 0 is a bare access token (~180 bytes),
+     * 4 and 16 approximate tokens carrying profile and permission claims (~400 bytes, ~1.2 KB).
+     */
+    @Param({"0", "4", "16"})
+    private int extraClaims;
+
+    private JwtService jwtService;
+    private CustomUserDetails userDetails;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        jwtService = new JwtService();
+        ReflectionTestUtils.setField(jwtService, "secretKey", SECRET);
+        ReflectionTestUtils.setField(jwtService, "jwtExpiration", 86_400_000L);
+        ReflectionTestUtils.setField(jwtService, "refreshExpiration", 604_800_000L);
+        ReflectionTestUtils.invokeMethod(jwtService, "init");
+
+        User user = User.builder()
+                .email("jane.student@lms.com")
+                .password("unused")
+                .firstName("Jane")
+                .lastName("Student")
+                .role(UserRole.STUDENT)
+                .active(true)
+                .build();
+        userDetails = new CustomUserDetails(user);
+
+        Map<String, Object> claims = new HashMap<>();
+        for (int i = 0; i < extraClaims; i++) {
+            claims.put("claim" + i, "value-" + i + "-" + "x".repeat(40));
+        }
+        token = jwtService.generateToken(claims, userDetails);
+    }
+
+    /** The old filter path: three full parses, each decoding the key and building a new parser. */
+    @Benchmark
+    public boolean legacyVerify() {
+        String username = legacyExtractClaim(token, Claims::getSubject);
+        if (username == null) {
+            return false;
+        }
+        String subject = legacyExtractClaim(token, Claims::getSubject);
+        Date expiration = legacyExtractClaim(token, Claims::getExpiration);
+        return subject.equals(userDetails.getUsername()) && !expiration.before(new Date());
+    }
+
+    @Benchmark
+    public boolean singleParseVerify() {
+        VerifiedToken verified = jwtService.verify(token);
+        return verified.getSubject() != null && jwtService.isTokenValid(verified, userDetails);
+    }
+
+    private static <T> T legacyExtractClaim(String token, Function<Claims, T> resolver) {
+        Key key = Keys.hmacShaKeyFor(Decoders.BASE64.decode(SECRET));
+        Claims claims = Jwts.parserBuilder()
+                .setSigningKey(key)
+                .build()
+                .parseClaimsJws(token)
+                .getBody();
+        return resolver.apply(claims);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(JwtVerifyBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
@@ -0,0 +1,214 @@
+package com.lms.lms_backend.benchmark;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.lms.lms_backend.dto.CourseCreateRequest;
+import com.lms.lms_backend.dto.CourseResponse;
+import com.lms.lms_backend.dto.UserResponse;
+import com.lms.lms_backend.enums.CourseStatus;
+import com.lms.lms_backend.enums.UserRole;
+import com.lms.lms_backend.exception.GlobalExceptionHandler;
+import com.lms.lms_backend.exception.ResourceNotFoundException;
+import com.lms.lms_backend.model.Course;
+import com.lms.lms_backend.model.User;
+import com.lms.lms_backend.security.CustomUserDetails;
+import com.lms.lms_backend.security.JwtService;
+import com.lms.lms_backend.security.TokenUserPrincipal;
+import com.lms.lms_backend.security.VerifiedToken;
+import com.lms.lms_backend.service.CourseService;
+import com.lms.lms_backend.service.impl.UserServiceImpl;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.core.MethodParameter;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.validation.BeanPropertyBindingResult;
+import org.springframework.validation.FieldError;
+import org.springframework.web.bind.MethodArgumentNotValidException;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-request CPU work outside the database: issuing and parsing tokens, mapping entities to
+ * responses, the principal's authorities, serializing a page of courses and building error
+ * responses. Run it with the GC profiler, as {@link #main} does, so each result comes with
+ * {@code gc.alloc.rate.norm}, the bytes allocated per operation; a change to one of these
+ * paths should not raise it.
+ *
+ * <p>Run with:
+ * <pre>
+ * mvn -Pbenchmark test-compile exec:exec -Dbenchmark=RequestHotPathBenchmark
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RequestHotPathBenchmark {
+
+    private static final String SECRET = "404E635266556A586E3272357538782F413F4428472B4B6250645367566B5970";
+
+    // Both mappers are private to their services; constant handles cost nothing once inlined
+    private static final MethodHandle MAP_COURSE = mapper(CourseService.class, "mapToResponse",
+            MethodType.methodType(CourseResponse.class, Course.class), true);
+    private static final MethodHandle MAP_USER = mapper(UserServiceImpl.class, "mapToResponse",
+            MethodType.methodType(UserResponse.class, User.class), false);
+
+    private JwtService jwtService;
+    private CustomUserDetails userDetails;
+    private TokenUserPrincipal tokenPrincipal;
+    private String token;
+    private User user;
+    private Course course;
+    private UserServiceImpl userService;
+    private ObjectMapper objectMapper;
+    private PageImpl<CourseResponse> coursePage;
+    private GlobalExceptionHandler exceptionHandler;
+    private MethodArgumentNotValidException validationException;
+
+    @Setup
+    public void setUp() throws Throwable {
+        jwtService = new JwtService();
+        ReflectionTestUtils.setField(jwtService, "secretKey", SECRET);
+        ReflectionTestUtils.setField(jwtService, "jwtExpiration", 86_400_000L);
+        ReflectionTestUtils.setField(jwtService, "refreshExpiration", 604_800_000L);
+        ReflectionTestUtils.invokeMethod(jwtService, "init");
+
+        LocalDateTime now = LocalDateTime.now();
+        user = User.builder()
+                .email("jane.instructor@lms.com")
+                .password("unused")
+                .firstName("Jane")
+                .lastName("Instructor")
+                .role(UserRole.INSTRUCTOR)
+                .active(true)
+                .build();
+        user.setId(42L);
+        user.setCreatedAt(now);
+        user.setUpdatedAt(now);
+        userDetails = new CustomUserDetails(user);
+        tokenPrincipal = new TokenUserPrincipal(user.getId(), user.getEmail(), user.getRole());
+        token = jwtService.generateToken(userDetails);
+        userService = new UserServiceImpl(null, null, null, null);
+
+        course = course(1L, now);
+        List<CourseResponse> content = new ArrayList<>();
+        for (long id = 1; id <= 20; id++) {
+            content.add((CourseResponse) MAP_COURSE.invokeExact(course(id, now)));
+        }
+        coursePage = new PageImpl<>(content, PageRequest.of(0, 20, Sort.by("id")), 1_000);
+        // As Spring Boot configures the application's mapper
+        objectMapper = Jackson2ObjectMapperBuilder.json()
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build();
+
+        exceptionHandler = new GlobalExceptionHandler();
+        BeanPropertyBindingResult bindingResult = new BeanPropertyBindingResult(new CourseCreateRequest(), "request");
+        bindingResult.addError(new FieldError("request", "title", "Title is required"));
+        bindingResult.addError(new FieldError("request", "capacity", "Capacity must be at least 1"));
+        validationException = new MethodArgumentNotValidException(new MethodParameter(
+                RequestHotPathBenchmark.class.getDeclaredMethod("validationTarget", CourseCreateRequest.class), 0),
+                bindingResult);
+    }
+
+    @Benchmark
+    public String buildToken() {
+        return jwtService.generateToken(userDetails);
+    }
+
+    /** One signature check and claims parse, as {@code JwtAuthenticationFilter} does per request. */
+    @Benchmark
+    public VerifiedToken extractAllClaims() {
+        return jwtService.verify(token);
+    }
+
+    @Benchmark
+    public CourseResponse mapCourse() throws Throwable {
+        return (CourseResponse) MAP_COURSE.invokeExact(course);
+    }
+
+    @Benchmark
+    public UserResponse mapUser() throws Throwable {
+        return (UserResponse) MAP_USER.invokeExact(userService, user);
+    }
+
+    @Benchmark
+    public Collection<?> loadedUserAuthorities() {
+        return userDetails.getAuthorities();
+    }
+
+    @Benchmark
+    public Collection<?> tokenPrincipalAuthorities() {
+        return tokenPrincipal.getAuthorities();
+    }
+
+    @Benchmark
+    public byte[] serializeCoursePage() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(coursePage);
+    }
+
+    @Benchmark
+    public ResponseEntity<?> notFoundResponse() {
+        return exceptionHandler.handleResourceNotFoundException(
+                new ResourceNotFoundException("Course not found with id: 42"));
+    }
+
+    @Benchmark
+    public ResponseEntity<?> validationErrorResponse() {
+        return exceptionHandler.handleValidationExceptions(validationException);
+    }
+
+    private Course course(long id, LocalDateTime now) {
+        Course course = Course.builder()
+                .title("Introduction to Distributed Systems " + id)
+                .description("Consensus, replication and failure handling, with weekly labs.")
+                .instructor(user)
+                .status(CourseStatus.PUBLISHED)
+                .capacity(120)
+                .enrolledCount(87)
+                .startDate(now.plusDays(30))
+                .endDate(now.plusDays(120))
+                .build();
+        course.setId(id);
+        course.setCreatedAt(now);
+        course.setUpdatedAt(now);
+        return course;
+    }
+
+    @SuppressWarnings("unused")
+    private void validationTarget(CourseCreateRequest request) {
+    }
+
+    private static MethodHandle mapper(Class<?> owner, String name, MethodType type, boolean isStatic) {
+        try {
+            MethodHandles.Lookup lookup = MethodHandles.privateLookupIn(owner, MethodHandles.lookup());
+            return isStatic ? lookup.findStatic(owner, name, type) : lookup.findVirtual(owner, name, type);
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(RequestHotPathBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build()).run();
+    }
+}
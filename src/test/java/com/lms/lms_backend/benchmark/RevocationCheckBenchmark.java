@@ -0,0 +1,53 @@
+package com.lms.lms_backend.benchmark;
+
+import com.lms.lms_backend.security.BloomFilter;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of the revocation check on the request hot path: a Bloom filter lookup for a
+ * token id that was never revoked, with hundreds of thousands of revoked ids loaded.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RevocationCheckBenchmark {
+
+    @Param({"100000", "500000"})
+    private int revokedTokens;
+
+    private BloomFilter filter;
+    private String[] liveJtis;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        filter = new BloomFilter(revokedTokens, 0.001);
+        for (int i = 0; i < revokedTokens; i++) {
+            filter.put(UUID.randomUUID().toString());
+        }
+        liveJtis = new String[1024];
+        for (int i = 0; i < liveJtis.length; i++) {
+            liveJtis[i] = UUID.randomUUID().toString();
+        }
+    }
+
+    @Benchmark
+    public boolean mightContainLiveToken() {
+        return filter.mightContain(liveJtis[next++ & (liveJtis.length - 1)]);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(RevocationCheckBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
@@ -0,0 +1,147 @@
+package com.lms.lms_backend.cache;
+
+import com.lms.lms_backend.dto.CourseUpdateRequest;
+import com.lms.lms_backend.enums.CourseStatus;
+import com.lms.lms_backend.event.CourseChangedEvent;
+import com.lms.lms_backend.enums.UserRole;
+import com.lms.lms_backend.http.ResourceVersion;
+import com.lms.lms_backend.model.Course;
+import com.lms.lms_backend.model.User;
+import com.lms.lms_backend.repository.CourseRepository;
+import com.lms.lms_backend.repository.UserRepository;
+import com.lms.lms_backend.service.CourseService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static com.lms.lms_backend.support.TestFixtures.as;
+import static com.lms.lms_backend.support.TestFixtures.marker;
+import static com.lms.lms_backend.support.TestFixtures.user;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * The catalog version follows the database, not the events of one instance: deletions,
+ * instructor changes, enrollments and changes committed with an older stamp all move it once
+ * re-read, and a change made here other than an enrollment moves it at once.
+ */
+@SpringBootTest
+class CatalogVersionTest {
+
+    @Autowired
+    private CatalogVersion catalogVersion;
+
+    @Autowired
+    private CourseService courseService;
+
+    @Autowired
+    private CourseRepository courseRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private User instructor;
+    private Course course;
+
+    @BeforeEach
+    void seed() {
+        String marker = marker("cv");
+        instructor = userRepository.save(user(marker, UserRole.INSTRUCTOR));
+        course = courseRepository.save(Course.builder()
+                .title("Versioned " + marker)
+                .description("Seeded course for the catalog version")
+                .instructor(instructor)
+                .status(CourseStatus.PUBLISHED)
+                .capacity(30)
+                .enrolledCount(0)
+                .startDate(LocalDateTime.now().plusDays(30))
+                .endDate(LocalDateTime.now().plusDays(120))
+                .build());
+        catalogVersion.reload();
+    }
+
+    @AfterEach
+    void cleanUp() {
+        courseRepository.deleteAllByIdInBatch(List.of(course.getId()));
+        userRepository.deleteById(instructor.getId());
+    }
+
+    @Test
+    void sameDataGivesTheSameVersion() {
+        ResourceVersion before = catalogVersion.current();
+
+        catalogVersion.reload();
+
+        assertThat(catalogVersion.current()).isEqualTo(before);
+    }
+
+    @Test
+    void deletionElsewhereMovesTheVersion() {
+        ResourceVersion before = catalogVersion.current();
+
+        jdbcTemplate.update("DELETE FROM courses WHERE id = ?", course.getId());
+        catalogVersion.reload();
+
+        ResourceVersion after = catalogVersion.current();
+        assertThat(after.etag()).isNotEqualTo(before.etag());
+        assertThat(after.lastModified()).isAfter(before.lastModified());
+    }
+
+    @Test
+    void instructorChangeElsewhereMovesTheVersion() {
+        ResourceVersion before = catalogVersion.current();
+
+        jdbcTemplate.update("UPDATE users SET first_name = 'Renamed', updated_at = LOCALTIMESTAMP WHERE id = ?",
+                instructor.getId());
+        catalogVersion.reload();
+
+        assertThat(catalogVersion.current().etag()).isNotEqualTo(before.etag());
+    }
+
+    @Test
+    void changeCommittedWithAnOlderStampMovesTheVersion() {
+        ResourceVersion before = catalogVersion.current();
+
+        jdbcTemplate.update("UPDATE courses SET title = title || ' (late)', updated_at = updated_at - INTERVAL '1 hour' " +
+                "WHERE id = ?", course.getId());
+        catalogVersion.reload();
+
+        assertThat(catalogVersion.current().etag()).isNotEqualTo(before.etag());
+    }
+
+    @Test
+    void enrollmentWaitsForTheReload() {
+        ResourceVersion before = catalogVersion.current();
+
+        jdbcTemplate.update("UPDATE courses SET enrolled_count = 1, updated_at = LOCALTIMESTAMP WHERE id = ?",
+                course.getId());
+        catalogVersion.onCourseChanged(CourseChangedEvent.enrollmentChanged(course.getId(), LocalDateTime.now()));
+        assertThat(catalogVersion.current()).isEqualTo(before);
+
+        catalogVersion.reload();
+
+        assertThat(catalogVersion.current().etag()).isNotEqualTo(before.etag());
+    }
+
+    @Test
+    void changeMadeHereMovesTheVersionAtOnce() {
+        ResourceVersion before = catalogVersion.current();
+
+        as(instructor, () -> courseService.updateCourse(course.getId(), CourseUpdateRequest.builder()
+                .title(course.getTitle() + " (edited)")
+                .description(course.getDescription())
+                .build()));
+
+        ResourceVersion after = catalogVersion.current();
+        assertThat(after.etag()).isNotEqualTo(before.etag());
+        assertThat(after.lastModified()).isAfter(before.lastModified());
+    }
+}
@@ -0,0 +1,82 @@
+package com.lms.lms_backend.cache;
+
+import com.lms.lms_backend.dto.UserUpdateRequest;
+import com.lms.lms_backend.enums.CourseStatus;
+import com.lms.lms_backend.enums.UserRole;
+import com.lms.lms_backend.model.Course;
+import com.lms.lms_backend.model.User;
+import com.lms.lms_backend.repository.CourseRepository;
+import com.lms.lms_backend.repository.UserRepository;
+import com.lms.lms_backend.service.CourseService;
+import com.lms.lms_backend.service.UserService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static com.lms.lms_backend.support.TestFixtures.marker;
+import static com.lms.lms_backend.support.TestFixtures.user;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * A cached course detail follows its instructor: renaming the instructor drops the cached
+ * copy, so the body served under the course's new validators carries the new name.
+ */
+@SpringBootTest
+class CourseDetailCacheTest {
+
+    @Autowired
+    private CourseService courseService;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private CourseRepository courseRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private User instructor;
+    private Course course;
+
+    @BeforeEach
+    void seed() {
+        String marker = marker("cd");
+        instructor = userRepository.save(user(marker, UserRole.INSTRUCTOR));
+        course = courseRepository.save(Course.builder()
+                .title("Cached " + marker)
+                .description("Seeded course for the detail cache")
+                .instructor(instructor)
+                .status(CourseStatus.PUBLISHED)
+                .capacity(30)
+                .enrolledCount(0)
+                .startDate(LocalDateTime.now().plusDays(30))
+                .endDate(LocalDateTime.now().plusDays(120))
+                .build());
+    }
+
+    @AfterEach
+    void cleanUp() {
+        courseRepository.deleteAllByIdInBatch(List.of(course.getId()));
+        userRepository.deleteById(instructor.getId());
+    }
+
+    @Test
+    void instructorChangeDropsTheCachedCourse() {
+        assertThat(courseService.getCourseById(course.getId()).getInstructor().getName())
+                .doesNotContain("Renamed");
+
+        userService.updateUser(instructor.getId(), UserUpdateRequest.builder()
+                .firstName("Renamed")
+                .lastName(instructor.getLastName())
+                .build());
+
+        assertThat(courseService.getCourseById(course.getId()).getInstructor().getName())
+                .contains("Renamed");
+    }
+}
@@ -0,0 +1,95 @@
+package com.lms.lms_backend.cache;
+
+import com.lms.lms_backend.dto.CourseResponse;
+import com.lms.lms_backend.enums.CourseStatus;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class UpcomingCourseCalendarTest {
+
+    private final LocalDateTime now = LocalDateTime.now();
+
+    @Test
+    void ordersByStartDateThenIdAndPagesFromTheCursor() {
+        UpcomingCourseCalendar calendar = new UpcomingCourseCalendar();
+        calendar.load(List.of(
+                course(3L, now.plusDays(2)),
+                course(1L, now.plusDays(1)),
+                course(4L, now.plusDays(1)),
+                course(2L, now.plusDays(3))));
+
+        UpcomingCourseCalendar.Window first = calendar.upcoming(now, 0, 2);
+        assertEquals(List.of(1L, 4L), ids(first));
+        assertTrue(first.hasNext());
+        assertEquals(4, first.total());
+
+        UpcomingCourseCalendar.Window second = calendar.upcomingAfter(now, now.plusDays(1), 4L, 2);
+        assertEquals(List.of(3L, 2L), ids(second));
+        assertFalse(second.hasNext());
+    }
+
+    @Test
+    void coursesLeaveOnceTheyStart() {
+        UpcomingCourseCalendar calendar = new UpcomingCourseCalendar();
+        calendar.load(List.of(course(1L, now.plusHours(1)), course(2L, now.plusDays(1))));
+
+        assertEquals(List.of(2L), ids(calendar.upcoming(now.plusHours(2), 0, 10)));
+        assertEquals(1, calendar.upcoming(now.plusHours(2), 0, 10).total());
+    }
+
+    @Test
+    void appliesSavesAndIgnoresOlderVersions() {
+        UpcomingCourseCalendar calendar = new UpcomingCourseCalendar();
+        CourseResponse published = course(1L, now.plusDays(1));
+        calendar.put(published);
+
+        CourseResponse unpublished = course(1L, now.plusDays(1));
+        unpublished.setStatus(CourseStatus.DRAFT);
+        unpublished.setUpdatedAt(now.plusSeconds(1));
+        calendar.put(unpublished);
+        assertFalse(calendar.contains(1L));
+
+        // A load that read the course before it was unpublished must not bring it back
+        calendar.load(List.of(published));
+        assertFalse(calendar.contains(1L));
+
+        calendar.put(course(2L, now.plusDays(1)));
+        calendar.remove(2L, LocalDateTime.MAX);
+        calendar.put(course(2L, now.plusDays(1)));
+        assertFalse(calendar.contains(2L));
+    }
+
+    @Test
+    void findsTheCoursesOfAnInstructor() {
+        UpcomingCourseCalendar calendar = new UpcomingCourseCalendar();
+        CourseResponse taught = course(1L, now.plusDays(1));
+        taught.setInstructor(CourseResponse.InstructorInfo.builder().id(7L).build());
+        CourseResponse other = course(2L, now.plusDays(2));
+        other.setInstructor(CourseResponse.InstructorInfo.builder().id(8L).build());
+        calendar.load(List.of(taught, other, course(3L, now.plusDays(3))));
+
+        assertEquals(List.of(1L), calendar.coursesOf(7L));
+        assertEquals(List.of(), calendar.coursesOf(9L));
+    }
+
+    private CourseResponse course(Long id, LocalDateTime startDate) {
+        return CourseResponse.builder()
+                .id(id)
+                .title("Course " + id)
+                .status(CourseStatus.PUBLISHED)
+                .startDate(startDate)
+                .endDate(startDate.plusDays(30))
+                .updatedAt(now)
+                .build();
+    }
+
+    private static List<Long> ids(UpcomingCourseCalendar.Window window) {
+        return window.content().stream().map(CourseResponse::getId).toList();
+    }
+}
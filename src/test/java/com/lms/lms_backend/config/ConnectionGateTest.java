@@ -0,0 +1,52 @@
+package com.lms.lms_backend.config;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLTransientConnectionException;
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * The gate admits as many connections as it has permits, refuses the next one after its
+ * timeout as the pool would, and takes each permit back once, however often a connection is
+ * closed.
+ */
+@SpringBootTest
+class ConnectionGateTest {
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Test
+    void connectionBeyondThePermitsIsRefusedAfterTheTimeout() throws Exception {
+        ConnectionGate gate = new ConnectionGate(dataSource, 1, Duration.ofMillis(50));
+
+        try (Connection held = gate.getConnection()) {
+            assertThat(held.isValid(1)).isTrue();
+            assertThatThrownBy(gate::getConnection).isInstanceOf(SQLTransientConnectionException.class);
+        }
+
+        try (Connection next = gate.getConnection()) {
+            assertThat(next.isValid(1)).isTrue();
+        }
+    }
+
+    @Test
+    void closingTwiceReturnsOnePermit() throws Exception {
+        ConnectionGate gate = new ConnectionGate(dataSource, 1, Duration.ofMillis(50));
+        Connection connection = gate.getConnection();
+        connection.close();
+        connection.close();
+
+        try (Connection first = gate.getConnection()) {
+            assertThat(first.isValid(1)).isTrue();
+            assertThatThrownBy(gate::getConnection).isInstanceOf(SQLTransientConnectionException.class);
+        }
+    }
+}
@@ -0,0 +1,121 @@
+package com.lms.lms_backend.export;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.lms.lms_backend.enums.CourseStatus;
+import com.lms.lms_backend.enums.UserRole;
+import com.lms.lms_backend.model.Course;
+import com.lms.lms_backend.model.User;
+import com.lms.lms_backend.repository.CourseRepository;
+import com.lms.lms_backend.repository.UserRepository;
+import jakarta.persistence.EntityManager;
+import org.hibernate.Session;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.lms.lms_backend.support.TestFixtures.marker;
+import static com.lms.lms_backend.support.TestFixtures.user;
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+class ExportServiceTest {
+
+    private static final String TRICKY_DESCRIPTION = "Commas, \"quotes\"\nand line breaks";
+
+    @Autowired
+    private ExportService exportService;
+
+    @Autowired
+    private CourseRepository courseRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private final List<Course> courses = new ArrayList<>();
+    private User instructor;
+
+    @BeforeEach
+    void seed() {
+        String marker = marker("ex");
+        instructor = userRepository.save(user(marker, UserRole.INSTRUCTOR));
+        for (int i = 0; i < 25; i++) {
+            courses.add(courseRepository.save(Course.builder()
+                    .title("Course " + marker + " " + i)
+                    .description(TRICKY_DESCRIPTION)
+                    .instructor(instructor)
+                    .status(CourseStatus.PUBLISHED)
+                    .capacity(30)
+                    .enrolledCount(0)
+                    .startDate(LocalDateTime.now().plusDays(30).withNano(0).withSecond(0))
+                    .endDate(LocalDateTime.now().plusDays(120))
+                    .build()));
+        }
+    }
+
+    @AfterEach
+    void cleanUp() {
+        courseRepository.deleteAllInBatch(courses);
+        userRepository.deleteAllInBatch(List.of(instructor));
+    }
+
+    @Test
+    void ndjsonHasOneObjectPerCourseAndLeavesNothingManaged() throws IOException {
+        String ndjson = transactionTemplate.execute(status -> {
+            String output = export(ExportFormat.NDJSON);
+            assertThat(entityManager.unwrap(Session.class).getStatistics().getEntityCount()).isZero();
+            return output;
+        });
+
+        List<String> lines = ndjson.lines().toList();
+        assertThat(lines).hasSize((int) courseRepository.count());
+        JsonNode first = objectMapper.readTree(lines.stream()
+                .filter(line -> line.contains("\"id\":" + courses.get(0).getId() + ","))
+                .findFirst()
+                .orElseThrow());
+        assertThat(first.get("description").asText()).isEqualTo(TRICKY_DESCRIPTION);
+        assertThat(first.get("instructorEmail").asText()).isEqualTo(instructor.getEmail());
+    }
+
+    @Test
+    void csvQuotesFieldsThatNeedIt() {
+        String csv = transactionTemplate.execute(status -> export(ExportFormat.CSV));
+
+        assertThat(csv).startsWith("id,title,description,status,");
+        Course course = courses.get(0);
+        assertThat(csv).contains("\r\n" + course.getId() + "," + course.getTitle()
+                + ",\"Commas, \"\"quotes\"\"\nand line breaks\",PUBLISHED,30,0,"
+                + course.getStartDate().format(DateTimeFormatter.ISO_LOCAL_DATE_TIME) + ",");
+    }
+
+    private String export(ExportFormat format) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try {
+            exportService.exportCourses(format, out);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return out.toString(StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,74 @@
+package com.lms.lms_backend.http;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class ConditionalResponsesTest {
+
+    private static final LocalDateTime UPDATED_AT = LocalDateTime.of(2030, 1, 1, 12, 0, 0, 123_456_789);
+
+    private final ResourceVersion version = ResourceVersion.of("course-1", UPDATED_AT);
+    private final AtomicInteger built = new AtomicInteger();
+
+    @Test
+    void matchingEtagIsNotModifiedWithoutBuildingTheBody() {
+        MockHttpServletRequest request = get();
+        request.addHeader("If-None-Match", version.etag());
+
+        ResponseEntity<String> response = respond(request);
+
+        assertEquals(HttpStatus.NOT_MODIFIED, response.getStatusCode());
+        assertNull(response.getBody());
+        assertEquals(0, built.get());
+    }
+
+    @Test
+    void staleEtagGetsTheBodyAndValidators() {
+        MockHttpServletRequest request = get();
+        request.addHeader("If-None-Match", ResourceVersion.of("course-1", UPDATED_AT.minusSeconds(1)).etag());
+
+        ResponseEntity<String> response = respond(request);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(version.etag(), response.getHeaders().getETag());
+        assertEquals(version.lastModified().toEpochMilli() / 1000 * 1000, response.getHeaders().getLastModified());
+        assertEquals(1, built.get());
+    }
+
+    @Test
+    void unchangedSinceIsNotModified() {
+        MockHttpServletRequest request = get();
+        request.addHeader("If-Modified-Since", version.lastModified().plusSeconds(1).toEpochMilli());
+
+        assertEquals(HttpStatus.NOT_MODIFIED, respond(request).getStatusCode());
+        assertEquals(0, built.get());
+    }
+
+    @Test
+    void versionsDifferBelowOneMillisecondButNotBelowOneMicrosecond() {
+        assertNotEquals(version.etag(), ResourceVersion.of("course-1", UPDATED_AT.plusNanos(1_000)).etag());
+        assertEquals(version.etag(), ResourceVersion.of("course-1", UPDATED_AT.plusNanos(1)).etag());
+        assertNotEquals(version.etag(), ResourceVersion.of("course-2", UPDATED_AT).etag());
+    }
+
+    private ResponseEntity<String> respond(MockHttpServletRequest request) {
+        return ConditionalResponses.respond(new ServletWebRequest(request, new MockHttpServletResponse()), version,
+                CacheControl.noCache(), () -> "body " + built.incrementAndGet());
+    }
+
+    private static MockHttpServletRequest get() {
+        return new MockHttpServletRequest("GET", "/api/courses/1");
+    }
+}
@@ -0,0 +1,201 @@
+package com.lms.lms_backend.http;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.lms.lms_backend.cache.CacheRegistry;
+import com.lms.lms_backend.enums.UserRole;
+import com.lms.lms_backend.exception.BusinessException;
+import com.lms.lms_backend.exception.ServiceOverloadedException;
+import com.lms.lms_backend.security.TokenUserPrincipal;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class IdempotentRequestsTest {
+
+    private final IdempotentRequests idempotentRequests =
+            new IdempotentRequests(new CacheRegistry(), 100, Duration.ofMinutes(1), Duration.ofSeconds(5));
+    private final AtomicInteger runs = new AtomicInteger();
+
+    @BeforeEach
+    void signIn() {
+        signInAs(1L);
+    }
+
+    @AfterEach
+    void signOut() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void retryReplaysTheFirstResponseWithoutRunningAgain() {
+        ResponseEntity<String> first = create("key-1", "course");
+        ResponseEntity<String> retry = create("key-1", "course");
+
+        assertEquals(1, runs.get());
+        assertEquals(HttpStatus.CREATED, retry.getStatusCode());
+        assertSame(first.getBody(), retry.getBody());
+        assertNull(first.getHeaders().getFirst("Idempotent-Replayed"));
+        assertEquals("true", retry.getHeaders().getFirst("Idempotent-Replayed"));
+    }
+
+    @Test
+    void requestsWithoutKeyAlwaysRun() {
+        create(null, "course");
+        create(null, "course");
+
+        assertEquals(2, runs.get());
+    }
+
+    @Test
+    void keysAreScopedToTheUserAndOperation() {
+        create("key-1", "course");
+        idempotentRequests.execute("key-1", "enroll", "course", this::run);
+        signInAs(2L);
+        create("key-1", "course");
+
+        assertEquals(3, runs.get());
+    }
+
+    @Test
+    void reusingAKeyForAnotherRequestIsRejected() {
+        create("key-1", "course");
+
+        assertThrows(BusinessException.class, () -> create("key-1", "another course"));
+        assertEquals(1, runs.get());
+    }
+
+    @Test
+    void failuresAreNotKeptSoTheNextRetryRuns() {
+        assertThrows(IllegalStateException.class, () -> idempotentRequests.execute("key-1", "create", "course",
+                () -> {
+                    throw new IllegalStateException("database unavailable");
+                }));
+
+        create("key-1", "course");
+
+        assertEquals(1, runs.get());
+    }
+
+    @Test
+    void retryWhileTheFirstIsRunningWaitsForItsResponse() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<ResponseEntity<String>> first = CompletableFuture.supplyAsync(() -> {
+            signInAs(1L);
+            return idempotentRequests.execute("key-1", "create", "course", () -> {
+                started.countDown();
+                await(release);
+                return run();
+            });
+        });
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        CompletableFuture<ResponseEntity<String>> retry = CompletableFuture.supplyAsync(() -> {
+            signInAs(1L);
+            return create("key-1", "course");
+        });
+
+        release.countDown();
+
+        assertSame(first.get(5, TimeUnit.SECONDS).getBody(), retry.get(5, TimeUnit.SECONDS).getBody());
+        assertEquals(1, runs.get());
+    }
+
+    @Test
+    void retryGivesUpWaitingAfterTheTimeout() throws Exception {
+        IdempotentRequests impatient =
+                new IdempotentRequests(new CacheRegistry(), 100, Duration.ofMinutes(1), Duration.ofMillis(50));
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<ResponseEntity<String>> first = startBlocked(impatient, started, release);
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+
+        ServiceOverloadedException ex = assertThrows(ServiceOverloadedException.class,
+                () -> impatient.execute("key-1", "create", "course", this::run));
+        assertEquals(1, ex.getRetryAfterSeconds());
+
+        release.countDown();
+        assertEquals("created-1", first.get(5, TimeUnit.SECONDS).getBody());
+        assertEquals(1, runs.get());
+    }
+
+    @Test
+    void runningRequestsAreNeverEvicted() throws Exception {
+        List<Cache<?, ?>> registered = new ArrayList<>();
+        IdempotentRequests single = new IdempotentRequests(new CacheRegistry() {
+            @Override
+            public void register(String name, Cache<?, ?> cache) {
+                registered.add(cache);
+            }
+        }, 1, Duration.ofMinutes(1), Duration.ofSeconds(5));
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<ResponseEntity<String>> first = startBlocked(single, started, release);
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+
+        // Fill the cache past its bound while the first request is still running
+        single.execute("key-2", "create", "course", this::run);
+        single.execute("key-3", "create", "course", this::run);
+        registered.get(0).cleanUp();
+        CompletableFuture<ResponseEntity<String>> retry = CompletableFuture.supplyAsync(() -> {
+            signInAs(1L);
+            return single.execute("key-1", "create", "course", this::run);
+        });
+        release.countDown();
+
+        assertSame(first.get(5, TimeUnit.SECONDS).getBody(), retry.get(5, TimeUnit.SECONDS).getBody());
+        assertEquals(3, runs.get());
+    }
+
+    /** Starts a request with key {@code key-1} that runs until {@code release}. */
+    private CompletableFuture<ResponseEntity<String>> startBlocked(IdempotentRequests requests,
+                                                                   CountDownLatch started, CountDownLatch release) {
+        return CompletableFuture.supplyAsync(() -> {
+            signInAs(1L);
+            return requests.execute("key-1", "create", "course", () -> {
+                started.countDown();
+                await(release);
+                return run();
+            });
+        });
+    }
+
+    private ResponseEntity<String> create(String key, String body) {
+        return idempotentRequests.execute(key, "create", body, this::run);
+    }
+
+    private ResponseEntity<String> run() {
+        return new ResponseEntity<>("created-" + runs.incrementAndGet(), HttpStatus.CREATED);
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void signInAs(Long userId) {
+        TokenUserPrincipal principal = new TokenUserPrincipal(userId, "user" + userId + "@lms.test", UserRole.STUDENT);
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities()));
+    }
+}
@@ -0,0 +1,84 @@
+package com.lms.lms_backend.loadtest;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Outcomes of one endpoint during the measured part of a run: every latency, counts by HTTP
+ * status, failures that never got a response, and requests not sent because too many were
+ * already outstanding.
+ */
+final class EndpointStats {
+
+    private long[] latencies = new long[1024];
+    private int completed;
+    private final Map<Integer, Integer> statusCounts = new TreeMap<>();
+    private int transportErrors;
+    private int dropped;
+
+    synchronized void record(int status, long latencyNanos) {
+        if (completed == latencies.length) {
+            latencies = Arrays.copyOf(latencies, completed * 2);
+        }
+        latencies[completed++] = latencyNanos;
+        statusCounts.merge(status, 1, Integer::sum);
+    }
+
+    synchronized void recordTransportError() {
+        transportErrors++;
+    }
+
+    synchronized void recordDropped() {
+        dropped++;
+    }
+
+    /** Failed requests: server errors, transport failures and drops, over all that were due. */
+    synchronized double errorRate() {
+        int serverErrors = statusCounts.entrySet().stream()
+                .filter(entry -> entry.getKey() >= 500)
+                .mapToInt(Map.Entry::getValue)
+                .sum();
+        int due = completed + transportErrors + dropped;
+        return due == 0 ? 0 : (double) (serverErrors + transportErrors + dropped) / due;
+    }
+
+    /** Report entry; latencies in milliseconds, percentiles by nearest rank. */
+    synchronized Map<String, Object> summary(double measuredSeconds) {
+        long[] sorted = Arrays.copyOf(latencies, completed);
+        Arrays.sort(sorted);
+        Map<String, Object> summary = new LinkedHashMap<>();
+        summary.put("requests", completed + transportErrors + dropped);
+        summary.put("completed", completed);
+        summary.put("throughputPerSecond", round(completed / measuredSeconds));
+        summary.put("errorRate", round(errorRate()));
+        summary.put("statusCounts", new TreeMap<>(statusCounts));
+        summary.put("transportErrors", transportErrors);
+        summary.put("dropped", dropped);
+        Map<String, Object> latency = new LinkedHashMap<>();
+        latency.put("p50", percentile(sorted, 50));
+        latency.put("p95", percentile(sorted, 95));
+        latency.put("p99", percentile(sorted, 99));
+        latency.put("max", sorted.length == 0 ? 0 : millis(sorted[sorted.length - 1]));
+        latency.put("mean", sorted.length == 0 ? 0 : millis((long) Arrays.stream(sorted).average().orElse(0)));
+        summary.put("latencyMillis", latency);
+        return summary;
+    }
+
+    private static double percentile(long[] sorted, int percentile) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int rank = (int) Math.ceil(percentile / 100.0 * sorted.length);
+        return millis(sorted[Math.max(rank, 1) - 1]);
+    }
+
+    private static double millis(long nanos) {
+        return round(nanos / 1_000_000.0);
+    }
+
+    private static double round(double value) {
+        return Math.round(value * 100) / 100.0;
+    }
+}
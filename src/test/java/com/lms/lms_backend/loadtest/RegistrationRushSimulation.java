@@ -0,0 +1,390 @@
+package com.lms.lms_backend.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.lms.lms_backend.enums.CourseStatus;
+import com.lms.lms_backend.enums.UserRole;
+import com.lms.lms_backend.model.Course;
+import com.lms.lms_backend.model.User;
+import com.lms.lms_backend.repository.CourseRepository;
+import com.lms.lms_backend.repository.UserRepository;
+import com.lms.lms_backend.security.CustomUserDetails;
+import com.lms.lms_backend.security.JwtService;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Random;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.IntFunction;
+
+import static com.lms.lms_backend.support.TestFixtures.marker;
+import static com.lms.lms_backend.support.TestFixtures.user;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Registration-rush load test: boots the application on a random port against the local
+ * database, seeds students and published courses, and drives login, catalog browsing, course
+ * detail and enrollment traffic at fixed arrival rates. Writes throughput and p50/p95/p99
+ * latency per endpoint as JSON, by default to {@code target/load-test/registration-rush.json},
+ * so runs of two releases can be diffed.
+ *
+ * <p>Not part of {@code mvn test}; run it with
+ * {@code mvn -Pload-test test -Dtest=RegistrationRushSimulation}. Every setting is
+ * a system property, e.g. {@code -Dload.rate.enroll=20 -Dload.duration=5m}:
+ * <ul>
+ *   <li>{@code load.rate.login}, {@code load.rate.browse}, {@code load.rate.detail},
+ *       {@code load.rate.enroll}: mean arrivals per second of each endpoint;</li>
+ *   <li>{@code load.duration} and {@code load.warmup}: measured time, and time before it whose
+ *       requests are sent but not reported;</li>
+ *   <li>{@code load.students}, {@code load.courses}, {@code load.course-capacity}: seed data;</li>
+ *   <li>{@code load.enroll.async}: enroll through the admission queue with
+ *       {@code Prefer: respond-async};</li>
+ *   <li>{@code load.seed}, {@code load.max-in-flight}, {@code load.max-error-rate},
+ *       {@code load.report}.</li>
+ * </ul>
+ *
+ * <p>Arrivals are an open model: requests go out on a seeded Poisson schedule whether or not
+ * earlier ones have returned, and latency is measured from when a request was due rather than
+ * when it was sent, so a stalled server shows up in the percentiles instead of slowing the
+ * load down. The run fails if any endpoint's share of 5xx responses, transport errors and
+ * requests dropped over {@code load.max-in-flight} exceeds {@code load.max-error-rate}.
+ *
+ * <p>With {@code load.enroll.async}, the seeded data is only removed once every ticket the run
+ * was given has left {@code PENDING}, so no admission is still writing to it.
+ */
+@Slf4j
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        // Statement and security debug logging would dominate the measurements
+        "spring.jpa.show-sql=false",
+        "logging.level.com.lms=INFO",
+        "logging.level.org.springframework.security=INFO"
+})
+class RegistrationRushSimulation {
+
+    private static final String PASSWORD = "load-test-password";
+    private static final Duration TICKET_WAIT = Duration.ofSeconds(60);
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private CourseRepository courseRepository;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Autowired
+    private JwtService jwtService;
+
+    @Autowired
+    private NamedParameterJdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private final List<User> users = new ArrayList<>();
+    private final List<User> students = new ArrayList<>();
+    private final List<String> tokens = new ArrayList<>();
+    private final List<Long> courseIds = new ArrayList<>();
+    private final Queue<AcceptedTicket> tickets = new ConcurrentLinkedQueue<>();
+
+    @BeforeEach
+    void seed() {
+        String marker = marker("lt");
+        // One hash for everyone: seeding stays fast and logins still pay the configured cost
+        String hash = passwordEncoder.encode(PASSWORD);
+        User instructor = userRepository.save(user(marker + "-instructor", hash, UserRole.INSTRUCTOR));
+        users.add(instructor);
+        List<User> seeded = new ArrayList<>();
+        for (int i = 0; i < intProperty("load.students", 500); i++) {
+            seeded.add(user(marker + "-" + i, hash, UserRole.STUDENT));
+        }
+        students.addAll(userRepository.saveAll(seeded));
+        users.addAll(students);
+        students.forEach(student -> tokens.add(jwtService.generateToken(new CustomUserDetails(student))));
+
+        List<Course> courses = new ArrayList<>();
+        for (int i = 0; i < intProperty("load.courses", 20); i++) {
+            courses.add(Course.builder()
+                    .title("Load test course " + i + " " + marker)
+                    .description("Seeded for the registration rush load test")
+                    .instructor(instructor)
+                    .status(CourseStatus.PUBLISHED)
+                    .capacity(intProperty("load.course-capacity", 100))
+                    .enrolledCount(0)
+                    .startDate(LocalDateTime.now().plusDays(30))
+                    .endDate(LocalDateTime.now().plusDays(120))
+                    .build());
+        }
+        courseRepository.saveAll(courses).forEach(course -> courseIds.add(course.getId()));
+    }
+
+    @AfterEach
+    void cleanUp() throws Exception {
+        awaitTickets();
+        jdbcTemplate.update("DELETE FROM enrollments WHERE course_id IN (:courseIds)", Map.of("courseIds", courseIds));
+        courseRepository.deleteAllByIdInBatch(courseIds);
+        userRepository.deleteAllInBatch(users);
+    }
+
+    @Test
+    void registrationRush() throws Exception {
+        Random random = new Random(longProperty("load.seed", 42));
+        boolean asyncEnroll = Boolean.getBoolean("load.enroll.async");
+
+        List<Scenario> scenarios = List.of(
+                new Scenario("login", doubleProperty("load.rate.login", 1), i -> post("/api/auth/login", null,
+                        "{\"email\":\"" + students.get(i % students.size()).getEmail()
+                                + "\",\"password\":\"" + PASSWORD + "\"}")),
+                new Scenario("browse", doubleProperty("load.rate.browse", 20), i -> get(
+                        "/api/courses?page=" + (i % 5) + "&size=20", null)),
+                new Scenario("detail", doubleProperty("load.rate.detail", 10), i -> get(
+                        "/api/courses/" + courseIds.get(i % courseIds.size()), tokens.get(i % tokens.size()))),
+                new Scenario("enroll", doubleProperty("load.rate.enroll", 5), i -> {
+                    // Each pass over the students moves them on to the next course, so pairs repeat
+                    // only after every student has tried every course
+                    int student = i % students.size();
+                    int course = (i + i / students.size()) % courseIds.size();
+                    HttpRequest.Builder request = request("/api/enrollments", tokens.get(student))
+                            .header("Content-Type", "application/json")
+                            .POST(HttpRequest.BodyPublishers.ofString(
+                                    "{\"courseId\":" + courseIds.get(course) + "}"));
+                    if (asyncEnroll) {
+                        request.header("Prefer", "respond-async");
+                    }
+                    return request.build();
+                }));
+
+        Duration warmup = durationProperty("load.warmup", Duration.ofSeconds(10));
+        Duration duration = durationProperty("load.duration", Duration.ofSeconds(60));
+        int maxInFlight = intProperty("load.max-in-flight", 1000);
+        HttpClient client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+
+        Instant startedAt = Instant.now();
+        long start = System.nanoTime();
+        long measureFrom = start + warmup.toNanos();
+        long end = measureFrom + duration.toNanos();
+        AtomicInteger inFlight = new AtomicInteger();
+        Map<String, EndpointStats> stats = new LinkedHashMap<>();
+        List<Thread> drivers = new ArrayList<>();
+        for (Scenario scenario : scenarios) {
+            EndpointStats endpointStats = new EndpointStats();
+            stats.put(scenario.name(), endpointStats);
+            long seed = random.nextLong();
+            Thread driver = new Thread(() -> drive(scenario, new Random(seed), client, inFlight, maxInFlight,
+                    endpointStats, tickets, start, measureFrom, end), "load-" + scenario.name());
+            driver.start();
+            drivers.add(driver);
+        }
+        for (Thread driver : drivers) {
+            driver.join();
+        }
+        long drainDeadline = System.nanoTime() + Duration.ofSeconds(35).toNanos();
+        while (inFlight.get() > 0 && System.nanoTime() < drainDeadline) {
+            Thread.sleep(50);
+        }
+
+        Map<String, Object> report = report(startedAt, warmup, duration, scenarios, stats);
+        Path path = Path.of(System.getProperty("load.report", "target/load-test/registration-rush.json"));
+        write(path, report);
+        log.info("Registration rush results, written to {}:\n{}", path,
+                objectMapper.writerWithDefaultPrettyPrinter().writeValueAsString(report.get("endpoints")));
+
+        double maxErrorRate = doubleProperty("load.max-error-rate", 0.01);
+        stats.forEach((name, endpointStats) -> assertThat(endpointStats.errorRate())
+                .as("error rate of %s", name)
+                .isLessThanOrEqualTo(maxErrorRate));
+    }
+
+    /**
+     * Sends {@code scenario}'s requests on a Poisson schedule from {@code start} until {@code end},
+     * adding the ticket of every request accepted for later to {@code tickets}.
+     */
+    private static void drive(Scenario scenario, Random random, HttpClient client, AtomicInteger inFlight,
+                              int maxInFlight, EndpointStats stats, Queue<AcceptedTicket> tickets,
+                              long start, long measureFrom, long end) {
+        if (scenario.ratePerSecond() <= 0) {
+            return;
+        }
+        double meanIntervalNanos = 1_000_000_000 / scenario.ratePerSecond();
+        long due = start;
+        for (int i = 0; ; i++) {
+            due += (long) (-Math.log(1 - random.nextDouble()) * meanIntervalNanos);
+            if (due >= end) {
+                return;
+            }
+            long wait;
+            while ((wait = due - System.nanoTime()) > 0) {
+                LockSupport.parkNanos(wait);
+            }
+            boolean measured = due >= measureFrom;
+            if (inFlight.incrementAndGet() > maxInFlight) {
+                inFlight.decrementAndGet();
+                if (measured) {
+                    stats.recordDropped();
+                }
+                continue;
+            }
+            long sentDue = due;
+            client.sendAsync(scenario.request().apply(i), HttpResponse.BodyHandlers.discarding())
+                    .whenComplete((response, failure) -> {
+                        long latency = System.nanoTime() - sentDue;
+                        inFlight.decrementAndGet();
+                        if (response != null && response.statusCode() == 202) {
+                            response.headers().firstValue("Location").ifPresent(location -> tickets.add(
+                                    new AcceptedTicket(location, response.request().headers()
+                                            .firstValue("Authorization").orElse(null))));
+                        }
+                        if (!measured) {
+                            return;
+                        }
+                        if (failure != null) {
+                            stats.recordTransportError();
+                        } else {
+                            stats.record(response.statusCode(), latency);
+                        }
+                    });
+        }
+    }
+
+    /** Polls every accepted ticket as its holder until none is pending, or fails after {@link #TICKET_WAIT}. */
+    private void awaitTickets() throws IOException, InterruptedException {
+        if (tickets.isEmpty()) {
+            return;
+        }
+        HttpClient client = HttpClient.newHttpClient();
+        long deadline = System.nanoTime() + TICKET_WAIT.toNanos();
+        for (AcceptedTicket ticket : tickets) {
+            HttpRequest poll = HttpRequest.newBuilder(URI.create("http://localhost:" + port + ticket.location()))
+                    .header("Authorization", ticket.authorization())
+                    .GET()
+                    .build();
+            while (true) {
+                HttpResponse<String> response = client.send(poll, HttpResponse.BodyHandlers.ofString());
+                if (response.statusCode() != 200
+                        || !"PENDING".equals(objectMapper.readTree(response.body()).path("status").asText())) {
+                    break;
+                }
+                assertThat(System.nanoTime()).as("tickets still pending after %s", TICKET_WAIT).isLessThan(deadline);
+                Thread.sleep(50);
+            }
+        }
+        log.info("All {} enrollment tickets settled", tickets.size());
+    }
+
+    private Map<String, Object> report(Instant startedAt, Duration warmup, Duration duration,
+                                       List<Scenario> scenarios, Map<String, EndpointStats> stats) {
+        Map<String, Double> rates = new LinkedHashMap<>();
+        scenarios.forEach(scenario -> rates.put(scenario.name(), scenario.ratePerSecond()));
+        Map<String, Object> run = new LinkedHashMap<>();
+        run.put("startedAt", startedAt.toString());
+        run.put("warmupSeconds", warmup.toSeconds());
+        run.put("durationSeconds", duration.toSeconds());
+        run.put("students", students.size());
+        run.put("courses", courseIds.size());
+        run.put("courseCapacity", intProperty("load.course-capacity", 100));
+        run.put("enrollAsync", Boolean.getBoolean("load.enroll.async"));
+        run.put("seed", longProperty("load.seed", 42));
+        run.put("ratesPerSecond", rates);
+        run.put("processors", Runtime.getRuntime().availableProcessors());
+        run.put("javaVersion", System.getProperty("java.version"));
+
+        Map<String, Object> endpoints = new LinkedHashMap<>();
+        double seconds = duration.toNanos() / 1e9;
+        stats.forEach((name, endpointStats) -> endpoints.put(name, endpointStats.summary(seconds)));
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("run", run);
+        report.put("endpoints", endpoints);
+        return report;
+    }
+
+    private void write(Path path, Map<String, Object> report) throws IOException {
+        if (path.getParent() != null) {
+            Files.createDirectories(path.getParent());
+        }
+        objectMapper.copy().enable(SerializationFeature.INDENT_OUTPUT).writeValue(path.toFile(), report);
+    }
+
+    private HttpRequest get(String path, String token) {
+        return request(path, token).GET().build();
+    }
+
+    private HttpRequest post(String path, String token, String json) {
+        return request(path, token)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(json))
+                .build();
+    }
+
+    private HttpRequest.Builder request(String path, String token) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create("http://localhost:" + port + path))
+                .timeout(Duration.ofSeconds(30));
+        if (token != null) {
+            builder.header("Authorization", "Bearer " + token);
+        }
+        return builder;
+    }
+
+    private static int intProperty(String name, int defaultValue) {
+        return Integer.getInteger(name, defaultValue);
+    }
+
+    private static long longProperty(String name, long defaultValue) {
+        return Long.getLong(name, defaultValue);
+    }
+
+    private static double doubleProperty(String name, double defaultValue) {
+        String value = System.getProperty(name);
+        return value == null ? defaultValue : Double.parseDouble(value);
+    }
+
+    /** Accepts {@code 90s}, {@code 5m} or an ISO-8601 duration. */
+    private static Duration durationProperty(String name, Duration defaultValue) {
+        String value = System.getProperty(name);
+        if (value == null) {
+            return defaultValue;
+        }
+        if (value.endsWith("s") || value.endsWith("m")) {
+            long amount = Long.parseLong(value.substring(0, value.length() - 1));
+            return value.endsWith("s") ? Duration.ofSeconds(amount) : Duration.ofMinutes(amount);
+        }
+        return Duration.parse(value);
+    }
+
+    private record Scenario(String name, double ratePerSecond, IntFunction<HttpRequest> request) {
+    }
+
+    /** A {@code 202} answer: the ticket to poll, and the credentials of the student holding it. */
+    private record AcceptedTicket(String location, String authorization) {
+    }
+}
@@ -0,0 +1,273 @@
+package com.lms.lms_backend.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.lms.lms_backend.enums.CourseStatus;
+import com.lms.lms_backend.enums.UserRole;
+import com.lms.lms_backend.model.Course;
+import com.lms.lms_backend.model.User;
+import com.lms.lms_backend.repository.CourseRepository;
+import com.lms.lms_backend.repository.UserRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntFunction;
+
+import static com.lms.lms_backend.support.TestFixtures.marker;
+import static com.lms.lms_backend.support.TestFixtures.user;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * The benchmark of {@code docs/virtual-threads.md}: boots the application on a random port
+ * against the local database, seeds published courses and students, and drives course
+ * browsing, course search and login in turn, each with a fixed number of clients that send
+ * their next request as soon as the previous one returns. Run it once per thread mode:
+ * <pre>
+ * mvn -Pload-test test -Dtest=ThreadModeSimulation
+ * mvn -Pload-test test -Dtest=ThreadModeSimulation -Dspring.profiles.active=virtual-threads
+ * </pre>
+ * Requests per second, p50/p95/p99 latency and status counts of every endpoint and client
+ * count are logged and written as JSON, by default to
+ * {@code target/load-test/thread-mode-<mode>.json}. Settings are system properties:
+ * {@code load.endpoints} and {@code load.clients} (comma-separated, by default all three
+ * endpoints and {@code 50,200,1000}), {@code load.warmup}
+ * and {@code load.duration} per endpoint and client count, {@code load.courses},
+ * {@code load.students} and {@code load.report}.
+ */
+@Slf4j
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        // Statement and security debug logging would dominate the measurements
+        "spring.jpa.show-sql=false",
+        "logging.level.com.lms=INFO",
+        "logging.level.org.springframework.security=INFO"
+})
+class ThreadModeSimulation {
+
+    private static final String PASSWORD = "load-test-password";
+
+    @LocalServerPort
+    private int port;
+
+    @Value("${spring.threads.virtual.enabled:false}")
+    private boolean virtualThreads;
+
+    @Value("${spring.datasource.hikari.maximum-pool-size:10}")
+    private int poolSize;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private CourseRepository courseRepository;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private final List<User> users = new ArrayList<>();
+    private final List<Long> courseIds = new ArrayList<>();
+
+    @BeforeEach
+    void seed() {
+        String marker = marker("tm");
+        // One hash for everyone: seeding stays fast and logins still pay the configured cost
+        String hash = passwordEncoder.encode(PASSWORD);
+        User instructor = userRepository.save(user(marker + "-instructor", hash, UserRole.INSTRUCTOR));
+        users.add(instructor);
+        List<User> students = new ArrayList<>();
+        for (int i = 0; i < intProperty("load.students", 200); i++) {
+            students.add(user(marker + "-" + i, hash, UserRole.STUDENT));
+        }
+        users.addAll(userRepository.saveAll(students));
+
+        String[] topics = {"Java", "Python", "Databases", "Design", "Networks"};
+        List<Course> courses = new ArrayList<>();
+        for (int i = 0; i < intProperty("load.courses", 1000); i++) {
+            courses.add(Course.builder()
+                    .title(topics[i % topics.length] + " course " + i + " " + marker)
+                    .description("Seeded for the thread mode benchmark")
+                    .instructor(instructor)
+                    .status(CourseStatus.PUBLISHED)
+                    .capacity(100)
+                    .enrolledCount(0)
+                    .startDate(LocalDateTime.now().plusDays(30 + i % 300))
+                    .endDate(LocalDateTime.now().plusDays(400))
+                    .build());
+        }
+        courseRepository.saveAll(courses).forEach(course -> courseIds.add(course.getId()));
+    }
+
+    @AfterEach
+    void cleanUp() {
+        courseRepository.deleteAllByIdInBatch(courseIds);
+        userRepository.deleteAllInBatch(users);
+    }
+
+    @Test
+    void compareEndpointsAcrossClientCounts() throws Exception {
+        List<User> students = users.subList(1, users.size());
+        List<Scenario> scenarios = List.of(
+                // No If-None-Match, so every request reaches the database
+                new Scenario("browse", i -> get("/api/courses?page=" + (i % 5) + "&size=20")),
+                new Scenario("search", i -> get("/api/courses?search=java&size=20")),
+                new Scenario("login", i -> request("/api/auth/login")
+                        .header("Content-Type", "application/json")
+                        .POST(HttpRequest.BodyPublishers.ofString("{\"email\":\""
+                                + students.get(i % students.size()).getEmail()
+                                + "\",\"password\":\"" + PASSWORD + "\"}"))
+                        .build()));
+        List<String> endpoints = Arrays.stream(System.getProperty("load.endpoints", "browse,search,login").split(","))
+                .map(String::trim)
+                .toList();
+        int[] clientCounts = Arrays.stream(System.getProperty("load.clients", "50,200,1000").split(","))
+                .mapToInt(value -> Integer.parseInt(value.trim()))
+                .toArray();
+        Duration warmup = durationProperty("load.warmup", Duration.ofSeconds(10));
+        Duration duration = durationProperty("load.duration", Duration.ofSeconds(30));
+        HttpClient client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+
+        String mode = virtualThreads ? "virtual" : "platform";
+        Instant startedAt = Instant.now();
+        List<Map<String, Object>> results = new ArrayList<>();
+        for (Scenario scenario : scenarios) {
+            if (!endpoints.contains(scenario.name())) {
+                continue;
+            }
+            for (int clients : clientCounts) {
+                EndpointStats stats = drive(scenario, clients, client, warmup, duration);
+                Map<String, Object> summary = stats.summary(duration.toNanos() / 1e9);
+                Map<String, Object> result = new LinkedHashMap<>();
+                result.put("endpoint", scenario.name());
+                result.put("clients", clients);
+                result.putAll(summary);
+                results.add(result);
+                log.info("{} mode, {} with {} clients: {}", mode, scenario.name(), clients, summary);
+                assertThat((int) summary.get("completed")).as("%s with %d clients", scenario.name(), clients)
+                        .isPositive();
+            }
+        }
+
+        Map<String, Object> run = new LinkedHashMap<>();
+        run.put("startedAt", startedAt.toString());
+        run.put("mode", mode);
+        run.put("warmupSeconds", warmup.toSeconds());
+        run.put("durationSeconds", duration.toSeconds());
+        run.put("courses", courseIds.size());
+        run.put("students", students.size());
+        run.put("poolSize", poolSize);
+        run.put("processors", Runtime.getRuntime().availableProcessors());
+        run.put("javaVersion", System.getProperty("java.version"));
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("run", run);
+        report.put("results", results);
+        Path path = Path.of(System.getProperty("load.report", "target/load-test/thread-mode-" + mode + ".json"));
+        write(path, report);
+        log.info("Thread mode results written to {}", path);
+    }
+
+    /**
+     * Keeps {@code clients} requests of {@code scenario} outstanding for {@code warmup} plus
+     * {@code duration}, recording those sent after the warmup.
+     */
+    private static EndpointStats drive(Scenario scenario, int clients, HttpClient client,
+                                       Duration warmup, Duration duration) throws InterruptedException {
+        EndpointStats stats = new EndpointStats();
+        AtomicInteger sequence = new AtomicInteger();
+        long measureFrom = System.nanoTime() + warmup.toNanos();
+        long end = measureFrom + duration.toNanos();
+        CountDownLatch finished = new CountDownLatch(clients);
+        for (int i = 0; i < clients; i++) {
+            sendNext(scenario, client, sequence, stats, measureFrom, end, finished);
+        }
+        assertThat(finished.await(warmup.plus(duration).toSeconds() + 35, TimeUnit.SECONDS)).isTrue();
+        return stats;
+    }
+
+    /** One client's loop: sends a request, records it, and sends the next until {@code end}. */
+    private static void sendNext(Scenario scenario, HttpClient client, AtomicInteger sequence, EndpointStats stats,
+                                 long measureFrom, long end, CountDownLatch finished) {
+        long sent = System.nanoTime();
+        if (sent >= end) {
+            finished.countDown();
+            return;
+        }
+        client.sendAsync(scenario.request().apply(sequence.getAndIncrement()), HttpResponse.BodyHandlers.discarding())
+                .whenComplete((response, failure) -> {
+                    if (sent >= measureFrom) {
+                        if (failure != null) {
+                            log.debug("{} request failed", scenario.name(), failure);
+                            stats.recordTransportError();
+                        } else {
+                            stats.record(response.statusCode(), System.nanoTime() - sent);
+                        }
+                    }
+                    sendNext(scenario, client, sequence, stats, measureFrom, end, finished);
+                });
+    }
+
+    private void write(Path path, Map<String, Object> report) throws IOException {
+        if (path.getParent() != null) {
+            Files.createDirectories(path.getParent());
+        }
+        objectMapper.copy().enable(SerializationFeature.INDENT_OUTPUT).writeValue(path.toFile(), report);
+    }
+
+    private HttpRequest get(String path) {
+        return request(path).GET().build();
+    }
+
+    private HttpRequest.Builder request(String path) {
+        return HttpRequest.newBuilder(URI.create("http://localhost:" + port + path))
+                .timeout(Duration.ofSeconds(30));
+    }
+
+    private static int intProperty(String name, int defaultValue) {
+        return Integer.getInteger(name, defaultValue);
+    }
+
+    /** Accepts {@code 90s}, {@code 5m} or an ISO-8601 duration. */
+    private static Duration durationProperty(String name, Duration defaultValue) {
+        String value = System.getProperty(name);
+        if (value == null) {
+            return defaultValue;
+        }
+        if (value.endsWith("s") || value.endsWith("m")) {
+            long amount = Long.parseLong(value.substring(0, value.length() - 1));
+            return value.endsWith("s") ? Duration.ofSeconds(amount) : Duration.ofMinutes(amount);
+        }
+        return Duration.parse(value);
+    }
+
+    private record Scenario(String name, IntFunction<HttpRequest> request) {
+    }
+}
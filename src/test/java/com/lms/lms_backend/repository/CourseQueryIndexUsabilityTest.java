@@ -0,0 +1,181 @@
+package com.lms.lms_backend.repository;
+
+import com.lms.lms_backend.dto.CourseFilter;
+import com.lms.lms_backend.enums.CourseStatus;
+import com.lms.lms_backend.pagination.CourseSortField;
+import com.lms.lms_backend.pagination.SortField;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Checks that every supported combination of course filters, and every whitelisted sort, has
+ * an index able to answer it. The generated query is captured and explained with sequential
+ * scans disabled: if no index fits, Postgres still has to fall back to a sequential scan, to
+ * reading a whole index and filtering afterwards, or to sorting the matches.
+ *
+ * <p>This shows an index is usable, not that the planner picks it under default settings;
+ * for a filter matching most of the catalog, such as the published status alone, a sequential
+ * scan is the cheaper plan and the one Postgres rightly chooses. The seeded catalog is
+ * analyzed so that, among the indexes that fit, the plan shown is the one Postgres prefers.
+ */
+@SpringBootTest(properties = {
+        "spring.jpa.properties.hibernate.criteria.value_handling_mode=inline",
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+                + "com.lms.lms_backend.repository.CourseQueryIndexUsabilityTest$CapturingInspector"
+})
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class CourseQueryIndexUsabilityTest {
+
+    private static final int CATALOG_SIZE = 20_000;
+
+    private static final LocalDateTime FROM = LocalDateTime.of(2030, 1, 1, 0, 0);
+    private static final LocalDateTime TO = LocalDateTime.of(2030, 6, 1, 0, 0);
+
+    @Autowired
+    private CourseRepository courseRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private long instructorId;
+
+    @BeforeAll
+    void seedCatalog() {
+        instructorId = jdbcTemplate.queryForObject("INSERT INTO users (email, password, first_name, last_name, role) " +
+                "VALUES ('index-usage@lms.test', 'not-a-real-hash', 'Index', 'Usage', 'INSTRUCTOR') RETURNING id", Long.class);
+        // Mostly published, spread over ten years, with catalog-sized 60-word descriptions
+        jdbcTemplate.update("INSERT INTO courses (title, description, instructor_id, status, start_date, end_date) " +
+                "SELECT 'Course ' || g || ' ' || (ARRAY['java','python','machine','learning','design'])[1 + g % 5], " +
+                "       (SELECT string_agg('topic' || ((g * 31 + s * 17) % 5000), ' ') FROM generate_series(1, 60) AS s), ?, " +
+                "       (ARRAY['PUBLISHED','PUBLISHED','PUBLISHED','DRAFT','ARCHIVED'])[1 + g % 5], " +
+                "       timestamp '2025-01-01' + (g % 3650) * interval '1 day', " +
+                "       timestamp '2025-03-01' + (g % 3650) * interval '1 day' " +
+                "FROM generate_series(1, ?) AS g", instructorId, CATALOG_SIZE);
+        jdbcTemplate.execute("ANALYZE courses");
+    }
+
+    @AfterAll
+    void removeCatalog() {
+        jdbcTemplate.update("DELETE FROM courses WHERE instructor_id = ?", instructorId);
+        jdbcTemplate.update("DELETE FROM users WHERE id = ?", instructorId);
+    }
+
+    static Stream<Arguments> filters() {
+        return Stream.of(
+                Arguments.of("status", CourseFilter.builder().status(CourseStatus.PUBLISHED).build()),
+                Arguments.of("instructor", CourseFilter.builder().instructorId(1L).build()),
+                Arguments.of("start window", CourseFilter.builder().startsAfter(FROM).startsBefore(TO).build()),
+                Arguments.of("end window", CourseFilter.builder().endsAfter(FROM).endsBefore(TO).build()),
+                Arguments.of("status + start", CourseFilter.builder()
+                        .status(CourseStatus.PUBLISHED).startsAfter(FROM).build()),
+                Arguments.of("status + end", CourseFilter.builder()
+                        .status(CourseStatus.PUBLISHED).endsBefore(TO).build()),
+                Arguments.of("instructor + status", CourseFilter.builder()
+                        .instructorId(1L).status(CourseStatus.PUBLISHED).build()),
+                Arguments.of("instructor + start", CourseFilter.builder()
+                        .instructorId(1L).startsAfter(FROM).build()),
+                Arguments.of("text", CourseFilter.builder().search("machine learn").build()),
+                Arguments.of("text + status", CourseFilter.builder()
+                        .search("java").status(CourseStatus.PUBLISHED).build()),
+                Arguments.of("text + start", CourseFilter.builder().search("java").startsAfter(FROM).build()),
+                Arguments.of("everything", CourseFilter.builder()
+                        .search("java").status(CourseStatus.PUBLISHED).instructorId(1L)
+                        .startsAfter(FROM).startsBefore(TO).endsAfter(FROM).build()));
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("filters")
+    void filterCanUseAnIndex(String name, CourseFilter filter) {
+        CapturingInspector.STATEMENTS.clear();
+        courseRepository.count(CourseSpecifications.matching(filter));
+        String sql = CapturingInspector.STATEMENTS.stream()
+                .filter(statement -> statement.startsWith("select count"))
+                .findFirst()
+                .orElseThrow();
+
+        String plan = explain(sql);
+
+        assertThat(plan).as(plan).doesNotContain("Seq Scan");
+        // Either the predicate bounds an index scan, or a partial index's own predicate covers it
+        assertThat(plan.contains("Index Cond") || plan.contains("idx_courses_published")).as(plan).isTrue();
+    }
+
+    static Stream<Arguments> sorts() {
+        return Arrays.stream(CourseSortField.values())
+                .flatMap(field -> Stream.of(Sort.Direction.values())
+                        .flatMap(direction -> Stream.of(
+                                Arguments.of(field, direction, null),
+                                Arguments.of(field, direction, CourseStatus.PUBLISHED))));
+    }
+
+    @ParameterizedTest(name = "{0} {1}, status {2}")
+    @MethodSource("sorts")
+    void sortCanBeReadInIndexOrder(CourseSortField field, Sort.Direction direction, CourseStatus status) {
+        Sort sort = SortField.resolve(CourseSortField.class, field.property(), direction.name());
+        CapturingInspector.STATEMENTS.clear();
+        courseRepository.findAll(CourseSpecifications.matching(CourseFilter.builder().status(status).build()),
+                PageRequest.of(0, 20, sort));
+        String sql = CapturingInspector.STATEMENTS.stream()
+                .filter(statement -> !statement.startsWith("select count"))
+                .findFirst()
+                .orElseThrow()
+                // A generic plan cannot see the page bounds; bind the ones of a first page
+                .replace("offset ? rows", "offset 0 rows")
+                .replace("fetch first ? rows only", "fetch first 20 rows only");
+
+        String plan = explain(sql);
+
+        assertThat(plan).as(plan).doesNotContain("Seq Scan");
+        assertThat(plan).as(plan).doesNotContainPattern("Sort\\s+\\(");
+    }
+
+    private String explain(String sql) {
+        StringBuilder numbered = new StringBuilder();
+        int parameter = 0;
+        for (char c : sql.toCharArray()) {
+            if (c == '?') {
+                numbered.append('$').append(++parameter);
+            } else {
+                numbered.append(c);
+            }
+        }
+        return transactionTemplate.execute(status -> {
+            jdbcTemplate.execute("SET LOCAL enable_seqscan = off");
+            List<String> lines = jdbcTemplate.queryForList("EXPLAIN (GENERIC_PLAN) " + numbered, String.class);
+            return String.join("\n", lines);
+        });
+    }
+
+    public static class CapturingInspector implements StatementInspector {
+
+        static final List<String> STATEMENTS = new CopyOnWriteArrayList<>();
+
+        @Override
+        public String inspect(String sql) {
+            STATEMENTS.add(sql);
+            return sql;
+        }
+    }
+}
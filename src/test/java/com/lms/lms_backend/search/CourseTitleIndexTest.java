@@ -0,0 +1,96 @@
+package com.lms.lms_backend.search;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CourseTitleIndexTest {
+
+    @Test
+    void matchesWordPrefixesAnywhereInTheTitle() {
+        CourseTitleIndex index = new CourseTitleIndex();
+        index.put(1L, "Introduction to Machine Learning");
+        index.put(2L, "Learning Spring Boot");
+        index.put(3L, "Databases");
+
+        assertEquals(List.of(2L, 1L), ids(index.suggest("lear", 10)));
+        assertEquals(List.of(1L), ids(index.suggest("machine lea", 10)));
+    }
+
+    @Test
+    void toleratesTyposInLongerWords() {
+        CourseTitleIndex index = new CourseTitleIndex();
+        index.put(1L, "Introduction to Machine Learning");
+        index.put(2L, "Algorithms and Data Structures");
+
+        assertEquals(List.of(1L), ids(index.suggest("machnie", 10)));
+        assertEquals(List.of(2L), ids(index.suggest("algoritms", 10)));
+        assertEquals(List.of(2L), ids(index.suggest("Álgorithms", 10)));
+        assertEquals(List.of(2L), ids(index.suggest("dsta", 10)));
+        // words shorter than four characters must match exactly
+        assertEquals(List.of(2L), ids(index.suggest("dat", 10)));
+        assertTrue(index.suggest("dax", 10).isEmpty());
+    }
+
+    @Test
+    void ranksExactMatchesBeforeTypos() {
+        CourseTitleIndex index = new CourseTitleIndex();
+        index.put(1L, "Pythin Oddities");
+        index.put(2L, "Python Basics");
+
+        assertEquals(List.of(2L, 1L), ids(index.suggest("python", 10)));
+        assertEquals(List.of(2L), ids(index.suggest("python", 1)));
+    }
+
+    @Test
+    void forgetsReplacedAndRemovedTitles() {
+        CourseTitleIndex index = new CourseTitleIndex();
+        index.put(1L, "Cloud Computing");
+        index.put(1L, "Distributed Systems");
+        index.put(2L, "Cloud Security");
+        index.remove(2L);
+
+        assertTrue(index.suggest("cloud", 10).isEmpty());
+        assertEquals(List.of(1L), ids(index.suggest("distrib", 10)));
+        assertEquals(1, index.size());
+    }
+
+    @Test
+    void findsTheWholeQueryAmongThousandsMatchingOneWord() {
+        CourseTitleIndex index = new CourseTitleIndex();
+        // Thousands of distinct words starting "intro", none of them in a course about Java
+        for (int n = 0; n < 3000; n++) {
+            String suffix = "" + (char) ('a' + n / 676) + (char) ('a' + n / 26 % 26) + (char) ('a' + n % 26);
+            index.put((long) n, "Introx" + suffix + " Workshop");
+        }
+        index.put(99_999L, "Introduction to Java");
+
+        assertEquals(List.of(99_999L), ids(index.suggest("intro java", 5)));
+        assertEquals(List.of(99_999L), ids(index.suggest("introduction java", 5)));
+        assertEquals(5, index.suggest("intro", 5).size());
+    }
+
+    @Test
+    void removalsLeaveNoEmptyNodes() {
+        CourseTitleIndex index = new CourseTitleIndex();
+        index.put(1L, "Compilers");
+        int nodes = index.nodeCount();
+        index.put(2L, "Compiler Construction");
+        index.put(3L, "Computing Ethics Ethics");
+
+        index.remove(2L);
+        index.remove(3L);
+
+        assertEquals(nodes, index.nodeCount());
+        assertEquals(List.of(1L), ids(index.suggest("compil", 10)));
+        index.remove(1L);
+        assertEquals(0, index.nodeCount());
+    }
+
+    private static List<Long> ids(List<CourseTitleIndex.Suggestion> suggestions) {
+        return suggestions.stream().map(CourseTitleIndex.Suggestion::courseId).toList();
+    }
+}
@@ -0,0 +1,146 @@
+package com.lms.lms_backend.security;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class AdaptiveConcurrencyLimitTest {
+
+    private static final long FAST = 10_000_000;
+
+    @Test
+    void refusesRequestsBeyondTheLimitWithoutWaiting() {
+        AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(3, 1, 10, 2.0);
+
+        assertTrue(limit.tryAcquire());
+        assertTrue(limit.tryAcquire());
+        assertTrue(limit.tryAcquire());
+        assertFalse(limit.tryAcquire());
+
+        limit.release(FAST, false);
+        assertTrue(limit.tryAcquire());
+    }
+
+    @Test
+    void shareAdmitsOnlyPartOfTheLimit() {
+        AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(10, 1, 10, 2.0);
+
+        for (int i = 0; i < 5; i++) {
+            assertTrue(limit.tryAcquire(0.5));
+        }
+        assertFalse(limit.tryAcquire(0.5));
+        assertTrue(limit.tryAcquire());
+    }
+
+    @Test
+    void growsWhileBusyAndLatencyHolds() {
+        AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(10, 1, 100, 2.0);
+
+        for (int i = 0; i < 50; i++) {
+            fillAndRelease(limit, FAST);
+        }
+
+        assertTrue(limit.getLimit() > 20, "limit " + limit.getLimit());
+    }
+
+    @Test
+    void doesNotGrowWhileMostlyIdle() {
+        AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(10, 1, 100, 2.0);
+
+        for (int i = 0; i < 50; i++) {
+            limit.tryAcquire();
+            limit.release(FAST, false);
+        }
+
+        assertEquals(10, limit.getLimit());
+    }
+
+    @Test
+    void shrinksWhenLatencyRisesPastTheTolerance() {
+        AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(50, 2, 100, 2.0);
+        for (int i = 0; i < 5; i++) {
+            fillAndRelease(limit, FAST);
+        }
+        int healthy = limit.getLimit();
+
+        for (int i = 0; i < 5; i++) {
+            fillAndRelease(limit, FAST * 20);
+        }
+
+        assertTrue(limit.getLimit() < healthy / 2, healthy + " -> " + limit.getLimit());
+    }
+
+    @Test
+    void occasionalSlowRequestsAtLowLoadLeaveTheLimitAlone() {
+        AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(20, 2, 100, 2.0);
+
+        // One request at a time; every tenth is a slow search or import
+        for (int i = 0; i < 200; i++) {
+            assertTrue(limit.tryAcquire());
+            limit.release(i % 10 == 9 ? 15_000_000 : 300_000, false);
+        }
+
+        assertEquals(20, limit.getLimit());
+        for (int i = 0; i < 5; i++) {
+            assertTrue(limit.tryAcquire());
+        }
+    }
+
+    @Test
+    void mixedLatencyUnderLoadDoesNotShrinkTheLimit() {
+        AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(20, 2, 100, 2.0);
+
+        // A steady mix of fast and slow requests is not queueing, however much they differ
+        for (int round = 0; round < 50; round++) {
+            int taken = 0;
+            while (limit.tryAcquire()) {
+                taken++;
+            }
+            for (int i = 0; i < taken; i++) {
+                limit.release(i % 10 == 9 ? 15_000_000 : 300_000, false);
+            }
+        }
+
+        assertTrue(limit.getLimit() >= 20, "limit " + limit.getLimit());
+    }
+
+    @Test
+    void overloadBacksOffDownToTheMinimum() {
+        AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(20, 4, 100, 2.0);
+
+        limit.tryAcquire();
+        limit.release(FAST, true);
+        assertEquals(18, limit.getLimit());
+
+        for (int i = 0; i < 100; i++) {
+            limit.tryAcquire();
+            limit.release(FAST, true);
+        }
+        assertEquals(4, limit.getLimit());
+    }
+
+    @Test
+    void isSaturatedNearTheLimit() {
+        AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(10, 1, 10, 2.0);
+        for (int i = 0; i < 8; i++) {
+            limit.tryAcquire();
+        }
+        assertFalse(limit.isSaturated());
+
+        limit.tryAcquire();
+        assertTrue(limit.isSaturated());
+    }
+
+    /** Takes every free slot, then completes them all with the given latency. */
+    private static void fillAndRelease(AdaptiveConcurrencyLimit limit, long latencyNanos) {
+        int taken = 0;
+        while (limit.tryAcquire()) {
+            taken++;
+        }
+        for (int i = 0; i < taken; i++) {
+            limit.release(latencyNanos, false);
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package com.lms.lms_backend.security;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class BloomFilterTest {
+
+    @Test
+    void neverReportsAnAddedValueAsMissing() {
+        BloomFilter filter = new BloomFilter(10_000, 0.001);
+        List<String> added = new ArrayList<>();
+        for (int i = 0; i < 10_000; i++) {
+            String jti = UUID.randomUUID().toString();
+            filter.put(jti);
+            added.add(jti);
+        }
+
+        for (String jti : added) {
+            assertTrue(filter.mightContain(jti));
+        }
+    }
+
+    @Test
+    void keepsFalsePositivesNearTheConfiguredRate() {
+        BloomFilter filter = new BloomFilter(100_000, 0.001);
+        for (int i = 0; i < 100_000; i++) {
+            filter.put(UUID.randomUUID().toString());
+        }
+
+        int falsePositives = 0;
+        int probes = 200_000;
+        for (int i = 0; i < probes; i++) {
+            if (filter.mightContain(UUID.randomUUID().toString())) {
+                falsePositives++;
+            }
+        }
+
+        // 0.1% target; allow generous slack for randomness
+        assertTrue(falsePositives < probes * 0.003, "false positives: " + falsePositives);
+    }
+}
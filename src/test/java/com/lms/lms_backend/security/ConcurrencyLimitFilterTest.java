@@ -0,0 +1,154 @@
+package com.lms.lms_backend.security;
+
+import com.lms.lms_backend.exception.ServiceOverloadedException;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.transaction.CannotCreateTransactionException;
+import org.springframework.web.servlet.HandlerExceptionResolver;
+import org.springframework.web.servlet.ModelAndView;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ConcurrencyLimitFilterTest {
+
+    private final List<Exception> resolved = new ArrayList<>();
+    private final HandlerExceptionResolver resolver = (request, response, handler, ex) -> {
+        resolved.add(ex);
+        response.setStatus(HttpServletResponse.SC_SERVICE_UNAVAILABLE);
+        return new ModelAndView();
+    };
+    // Four slots per budget, browsing held to half of them while writes are saturated
+    private final ConcurrencyLimitFilter filter =
+            new ConcurrencyLimitFilter(resolver, true, 1, 2.0, 0.5, 4, 4, 4, 4, 4, 4);
+
+    private final CountDownLatch release = new CountDownLatch(1);
+    private final List<CompletableFuture<Integer>> held = new ArrayList<>();
+
+    @Test
+    void requestsOverTheirBudgetAreShedAsOverloaded() throws Exception {
+        hold("POST", "/api/auth/login", 4);
+
+        assertEquals(503, send("POST", "/api/auth/login"));
+        assertTrue(resolved.get(0) instanceof ServiceOverloadedException);
+        // Other budgets are unaffected
+        assertEquals(200, send("POST", "/api/enrollments"));
+        assertEquals(200, send("GET", "/api/courses"));
+        finish();
+    }
+
+    @Test
+    void browsingGivesWayWhileWritesAreSaturated() throws Exception {
+        hold("POST", "/api/enrollments", 4);
+        hold("GET", "/api/courses", 2);
+
+        assertEquals(503, send("GET", "/api/courses/42"));
+        finish();
+
+        assertEquals(200, send("GET", "/api/courses/42"));
+    }
+
+    @Test
+    void unlimitedRequestsAlwaysPass() throws Exception {
+        hold("POST", "/api/enrollments", 4);
+
+        assertEquals(200, send("GET", "/api/enrollments/tickets/abc"));
+        assertEquals(200, send("GET", "/api/admin/export/courses"));
+        finish();
+    }
+
+    @Test
+    void bulkImportsAreNotLimited() throws Exception {
+        hold("POST", "/api/enrollments", 4);
+
+        assertEquals(200, send("POST", "/api/courses/import"));
+        assertEquals(200, send("POST", "/api/users/import"));
+        finish();
+    }
+
+    @Test
+    void onlyOverloadFailuresShrinkTheLimit() {
+        int before = filterLimit("POST", "/api/enrollments");
+
+        assertThrows(IllegalStateException.class, () -> send("POST", "/api/enrollments", (request, response) -> {
+            throw new IllegalStateException("bug");
+        }));
+        assertEquals(before, filterLimit("POST", "/api/enrollments"));
+
+        assertThrows(IllegalStateException.class, () -> send("POST", "/api/enrollments", (request, response) -> {
+            throw new CannotCreateTransactionException("pool exhausted");
+        }));
+        assertTrue(filterLimit("POST", "/api/enrollments") < before);
+    }
+
+    /** How many requests of a kind are admitted at once; the test budgets never grow past four. */
+    private int filterLimit(String method, String path) {
+        CountDownLatch done = new CountDownLatch(1);
+        List<CompletableFuture<Integer>> admitted = new ArrayList<>();
+        while (true) {
+            CompletableFuture<Void> started = new CompletableFuture<>();
+            CompletableFuture<Integer> probe = CompletableFuture.supplyAsync(() -> send(method, path, (request, response) -> {
+                started.complete(null);
+                await(done);
+            }));
+            CompletableFuture.anyOf(started, probe).join();
+            if (!started.isDone()) {
+                break;
+            }
+            admitted.add(probe);
+        }
+        done.countDown();
+        admitted.forEach(CompletableFuture::join);
+        return admitted.size();
+    }
+
+    /** Starts {@code count} requests that stay in flight until {@link #finish}. */
+    private void hold(String method, String path, int count) throws InterruptedException {
+        CountDownLatch started = new CountDownLatch(count);
+        for (int i = 0; i < count; i++) {
+            held.add(CompletableFuture.supplyAsync(() -> send(method, path, (request, response) -> {
+                started.countDown();
+                await(release);
+            })));
+        }
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+    }
+
+    private void finish() {
+        release.countDown();
+        held.forEach(request -> assertEquals(200, request.join()));
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private int send(String method, String path) {
+        return send(method, path, (request, response) -> {
+        });
+    }
+
+    private int send(String method, String path, FilterChain chain) {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        try {
+            filter.doFilter(new MockHttpServletRequest(method, path), response, chain);
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+        return response.getStatus();
+    }
+}
@@ -0,0 +1,154 @@
+package com.lms.lms_backend.security;
+
+import com.lms.lms_backend.enums.UserRole;
+import com.lms.lms_backend.model.User;
+import com.lms.lms_backend.repository.UserRepository;
+import com.lms.lms_backend.service.UserService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+import static com.lms.lms_backend.support.TestFixtures.marker;
+import static com.lms.lms_backend.support.TestFixtures.user;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Stateless authentication: a current token is accepted from its claims alone, and a token
+ * issued before a deactivation is refused, whether the change was made here or on another
+ * instance. With stateless authentication off, the user is loaded by the token's id. Refresh
+ * tokens never authenticate a request.
+ */
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@ActiveProfiles("no-scheduling")
+class JwtAuthenticationFilterTest {
+
+    @Autowired
+    private JwtAuthenticationFilter jwtAuthenticationFilter;
+
+    @Autowired
+    private JwtService jwtService;
+
+    @Autowired
+    private SecurityVersionRegistry securityVersionRegistry;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private User user;
+    private String token;
+
+    @BeforeEach
+    void seed() {
+        user = userRepository.save(user(marker("jf"), UserRole.STUDENT));
+        token = jwtService.generateToken(new CustomUserDetails(user));
+    }
+
+    @AfterEach
+    void cleanUp() {
+        SecurityContextHolder.clearContext();
+        userRepository.deleteById(user.getId());
+    }
+
+    @Test
+    void currentTokenAuthenticatesWithoutQueryingUsers() throws Exception {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        Authentication authentication = authenticate(token);
+
+        assertThat(authentication).isNotNull();
+        assertThat(authentication.getPrincipal()).isInstanceOfSatisfying(TokenUserPrincipal.class, principal -> {
+            assertThat(principal.getId()).isEqualTo(user.getId());
+            assertThat(principal.getRole()).isEqualTo(UserRole.STUDENT);
+        });
+        assertThat(statistics.getPrepareStatementCount()).isZero();
+    }
+
+    @Test
+    void tokenIssuedBeforeDeactivationIsRejected() throws Exception {
+        userService.deactivateUser(user.getId());
+
+        assertThat(authenticate(token)).isNull();
+    }
+
+    @Test
+    void deactivationOnAnotherInstanceIsPickedUpByTheReload() throws Exception {
+        // As another instance would commit it: no event reaches this one
+        jdbcTemplate.update("UPDATE users SET active = false, security_version = security_version + 1 WHERE id = ?",
+                user.getId());
+        assertThat(authenticate(token)).isNotNull();
+
+        securityVersionRegistry.reload();
+
+        assertThat(authenticate(token)).isNull();
+    }
+
+    @Test
+    void withStatelessAuthOffTheUserIsLoadedByTheTokensId() throws Exception {
+        ReflectionTestUtils.setField(jwtAuthenticationFilter, "statelessAuth", false);
+        try {
+            Authentication authentication = authenticate(token);
+
+            assertThat(authentication).isNotNull();
+            assertThat(authentication.getPrincipal()).isInstanceOfSatisfying(CustomUserDetails.class,
+                    details -> assertThat(details.getId()).isEqualTo(user.getId()));
+        } finally {
+            ReflectionTestUtils.setField(jwtAuthenticationFilter, "statelessAuth", true);
+        }
+    }
+
+    @Test
+    void refreshTokenIsNotAcceptedAsCredentials() throws Exception {
+        String refreshToken = jwtService.generateRefreshToken(new CustomUserDetails(user));
+
+        assertThat(authenticate(refreshToken)).isNull();
+    }
+
+    @Test
+    void emailOnlyTokenOfADeactivatedUserIsRejected() throws Exception {
+        String emailOnly = jwtService.generateToken(org.springframework.security.core.userdetails.User
+                .withUsername(user.getEmail())
+                .password(user.getPassword())
+                .roles(UserRole.STUDENT.name())
+                .build());
+        assertThat(authenticate(emailOnly)).isNotNull();
+
+        userService.deactivateUser(user.getId());
+
+        assertThat(authenticate(emailOnly)).isNull();
+    }
+
+    /** Runs the filter on a request bearing {@code bearer}; the authentication it established, if any. */
+    private Authentication authenticate(String bearer) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/enrollments/tickets/any");
+        request.addHeader("Authorization", "Bearer " + bearer);
+        AtomicReference<Authentication> authenticated = new AtomicReference<>();
+        jwtAuthenticationFilter.doFilter(request, new MockHttpServletResponse(),
+                (req, res) -> authenticated.set(SecurityContextHolder.getContext().getAuthentication()));
+        SecurityContextHolder.clearContext();
+        return authenticated.get();
+    }
+}
@@ -0,0 +1,164 @@
+package com.lms.lms_backend.security;
+
+import com.lms.lms_backend.exception.GlobalExceptionHandler;
+import com.lms.lms_backend.exception.ServiceOverloadedException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PooledPasswordEncoderTest {
+
+    // The lowest cost BCrypt accepts, so hashing in tests is quick
+    private static final int STRENGTH = 4;
+
+    private final PooledPasswordEncoder encoder = new PooledPasswordEncoder(STRENGTH, 1, 1, Duration.ofSeconds(5));
+    private final CountDownLatch release = new CountDownLatch(1);
+
+    @AfterEach
+    void shutdown() {
+        release.countDown();
+        encoder.shutdown();
+    }
+
+    @Test
+    void calibrationStaysWithinTheSupportedCosts() {
+        assertEquals(10, PooledPasswordEncoder.calibrateStrength(Duration.ofNanos(1)));
+        assertEquals(16, PooledPasswordEncoder.calibrateStrength(Duration.ofHours(1)));
+    }
+
+    @Test
+    void onlyHashesOfALowerCostNeedUpgrading() {
+        PooledPasswordEncoder stronger = new PooledPasswordEncoder(STRENGTH + 1, 1, 1, Duration.ofSeconds(5));
+        try {
+            assertTrue(stronger.upgradeEncoding(encoder.encode("secret123")));
+            assertTrue(stronger.upgradeEncoding("$2y$04$abcdefghijklmnopqrstuu"));
+            assertFalse(stronger.upgradeEncoding(stronger.encode("secret123")));
+            assertFalse(stronger.upgradeEncoding("$2a$12$abcdefghijklmnopqrstuu"));
+            assertFalse(stronger.upgradeEncoding("not-a-bcrypt-hash"));
+            assertFalse(stronger.upgradeEncoding(null));
+        } finally {
+            stronger.shutdown();
+        }
+    }
+
+    @Test
+    void loginRehashesAPasswordStoredAtALowerCost() {
+        UserDetails stored = User.withUsername("student@lms.test")
+                .password(new BCryptPasswordEncoder(STRENGTH).encode("secret123"))
+                .roles("STUDENT")
+                .build();
+        AtomicReference<String> rehashed = new AtomicReference<>();
+        PooledPasswordEncoder stronger = new PooledPasswordEncoder(STRENGTH + 1, 1, 1, Duration.ofSeconds(5));
+        try {
+            DaoAuthenticationProvider provider = new DaoAuthenticationProvider(username -> stored);
+            provider.setPasswordEncoder(stronger);
+            provider.setUserDetailsPasswordService((user, newPassword) -> {
+                rehashed.set(newPassword);
+                return User.withUserDetails(user).password(newPassword).build();
+            });
+
+            provider.authenticate(new UsernamePasswordAuthenticationToken("student@lms.test", "secret123"));
+
+            assertTrue(rehashed.get().startsWith("$2a$05$"));
+            assertTrue(stronger.matches("secret123", rehashed.get()));
+        } finally {
+            stronger.shutdown();
+        }
+    }
+
+    @Test
+    void loginKeepsAPasswordStoredAtAHigherCost() {
+        UserDetails stored = User.withUsername("student@lms.test")
+                .password(new BCryptPasswordEncoder(STRENGTH + 1).encode("secret123"))
+                .roles("STUDENT")
+                .build();
+        AtomicReference<String> rehashed = new AtomicReference<>();
+        DaoAuthenticationProvider provider = new DaoAuthenticationProvider(username -> stored);
+        provider.setPasswordEncoder(encoder);
+        provider.setUserDetailsPasswordService((user, newPassword) -> {
+            rehashed.set(newPassword);
+            return user;
+        });
+
+        provider.authenticate(new UsernamePasswordAuthenticationToken("student@lms.test", "secret123"));
+
+        assertNull(rehashed.get());
+    }
+
+    @Test
+    void fullQueueIsRefusedAsServiceUnavailable() {
+        occupyWorkerAndQueue();
+
+        ServiceOverloadedException ex = assertThrows(ServiceOverloadedException.class,
+                () -> encoder.matches("secret123", "$2a$04$abcdefghijklmnopqrstuu"));
+
+        ResponseEntity<?> response = new GlobalExceptionHandler().handleServiceOverloadedException(ex);
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE, response.getStatusCode());
+        assertEquals("1", response.getHeaders().getFirst(HttpHeaders.RETRY_AFTER));
+    }
+
+    @Test
+    void slowHashIsAbandonedAsServiceUnavailable() {
+        PooledPasswordEncoder impatient = new PooledPasswordEncoder(STRENGTH, 1, 1, Duration.ofMillis(50));
+        try {
+            workers(impatient).execute(this::awaitRelease);
+
+            assertThrows(ServiceOverloadedException.class, () -> impatient.encode("secret123"));
+        } finally {
+            release.countDown();
+            impatient.shutdown();
+        }
+    }
+
+    @Test
+    void batchHashesOnTheCallerWhenTheQueueIsFull() {
+        occupyWorkerAndQueue();
+
+        List<String> hashes = encoder.encodeAll(List.of("first-password", "second-password", "third-password"));
+
+        assertEquals(3, hashes.size());
+        BCryptPasswordEncoder check = new BCryptPasswordEncoder();
+        assertTrue(check.matches("first-password", hashes.get(0)));
+        assertTrue(check.matches("second-password", hashes.get(1)));
+        assertTrue(check.matches("third-password", hashes.get(2)));
+    }
+
+    /** Parks the single worker and fills the one-slot queue until the test ends. */
+    private void occupyWorkerAndQueue() {
+        ExecutorService workers = workers(encoder);
+        workers.execute(this::awaitRelease);
+        workers.execute(this::awaitRelease);
+    }
+
+    private void awaitRelease() {
+        try {
+            release.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static ExecutorService workers(PooledPasswordEncoder encoder) {
+        return (ExecutorService) ReflectionTestUtils.getField(encoder, "executor");
+    }
+}
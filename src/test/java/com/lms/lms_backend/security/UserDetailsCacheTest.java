@@ -0,0 +1,100 @@
+package com.lms.lms_backend.security;
+
+import com.lms.lms_backend.dto.UserUpdateRequest;
+import com.lms.lms_backend.enums.UserRole;
+import com.lms.lms_backend.model.User;
+import com.lms.lms_backend.repository.UserRepository;
+import com.lms.lms_backend.service.UserService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import static com.lms.lms_backend.support.TestFixtures.marker;
+import static com.lms.lms_backend.support.TestFixtures.user;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * User details are served from the by-email and by-id caches until a change to the user
+ * commits, and not a moment before.
+ */
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@ActiveProfiles("no-scheduling")
+class UserDetailsCacheTest {
+
+    @Autowired
+    private CustomUserDetailsService userDetailsService;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private User user;
+
+    @BeforeEach
+    void seed() {
+        user = userRepository.save(user(marker("uc"), UserRole.STUDENT));
+    }
+
+    @AfterEach
+    void cleanUp() {
+        userRepository.deleteById(user.getId());
+    }
+
+    @Test
+    void repeatedLoadsAreServedFromTheCaches() {
+        userDetailsService.loadUserByUsername(user.getEmail());
+        userDetailsService.loadUserById(user.getId());
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        userDetailsService.loadUserByUsername(user.getEmail());
+        userDetailsService.loadUserById(user.getId());
+
+        assertThat(statistics.getPrepareStatementCount()).isZero();
+    }
+
+    @Test
+    void updateEvictsBothCachesOnCommit() {
+        loadIntoBothCaches();
+
+        transactionTemplate.executeWithoutResult(status -> {
+            userService.updateUser(user.getId(), new UserUpdateRequest("Renamed", user.getLastName()));
+            // Not yet committed, so other requests must still see the old details
+            assertThat(userDetailsService.loadUserByUsername(user.getEmail()).getFirstName()).isEqualTo("Test");
+            assertThat(userDetailsService.loadUserById(user.getId()).getFirstName()).isEqualTo("Test");
+        });
+
+        assertThat(userDetailsService.loadUserByUsername(user.getEmail()).getFirstName()).isEqualTo("Renamed");
+        assertThat(userDetailsService.loadUserById(user.getId()).getFirstName()).isEqualTo("Renamed");
+    }
+
+    @Test
+    void deactivationEvictsBothCachesOnCommit() {
+        loadIntoBothCaches();
+
+        userService.deactivateUser(user.getId());
+
+        assertThat(userDetailsService.loadUserByUsername(user.getEmail()).isEnabled()).isFalse();
+        assertThat(userDetailsService.loadUserById(user.getId()).isEnabled()).isFalse();
+    }
+
+    private void loadIntoBothCaches() {
+        assertThat(userDetailsService.loadUserByUsername(user.getEmail()).isEnabled()).isTrue();
+        assertThat(userDetailsService.loadUserById(user.getId()).isEnabled()).isTrue();
+    }
+}
@@ -0,0 +1,125 @@
+package com.lms.lms_backend.service;
+
+import com.lms.lms_backend.cache.UpcomingCourseCalendar;
+import com.lms.lms_backend.dto.CourseCreateRequest;
+import com.lms.lms_backend.dto.CourseImportResponse;
+import com.lms.lms_backend.dto.ImportRowError;
+import com.lms.lms_backend.enums.CourseStatus;
+import com.lms.lms_backend.enums.UserRole;
+import com.lms.lms_backend.model.User;
+import com.lms.lms_backend.repository.CourseRepository;
+import com.lms.lms_backend.repository.UserRepository;
+import com.lms.lms_backend.support.TestFixtures;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.io.StringReader;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+import static com.lms.lms_backend.support.TestFixtures.marker;
+import static com.lms.lms_backend.support.TestFixtures.user;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Bulk import reports rejected rows by position and still imports every valid row, in chunks
+ * smaller than the upload so more than one transaction is involved.
+ */
+@SpringBootTest(properties = "app.courses.import.chunk-size=2")
+class CourseImportServiceTest {
+
+    @Autowired
+    private CourseImportService courseImportService;
+
+    @Autowired
+    private CourseRepository courseRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private UpcomingCourseCalendar upcomingCourseCalendar;
+
+    private User instructor;
+    private final List<Long> courseIds = new ArrayList<>();
+
+    @BeforeEach
+    void signIn() {
+        instructor = userRepository.save(user(marker("import"), UserRole.INSTRUCTOR));
+        TestFixtures.signIn(instructor);
+    }
+
+    @AfterEach
+    void cleanUp() {
+        TestFixtures.signOut();
+        courseIds.forEach(id -> upcomingCourseCalendar.remove(id, LocalDateTime.MAX));
+        courseRepository.deleteAllByIdInBatch(courseIds);
+        userRepository.delete(instructor);
+    }
+
+    @Test
+    void importsValidRowsAndReportsRejectedOnes() {
+        LocalDateTime start = LocalDateTime.now().plusDays(10);
+        List<CourseCreateRequest> rows = new ArrayList<>();
+        rows.add(course("Imported one", start, start.plusDays(30)));
+        rows.add(course("Imported two", start.plusDays(30), start));
+        rows.add(course("Imported three", start, start.plusDays(30)));
+        rows.add(course("No", start, start.plusDays(30)));
+        rows.add(course("Imported four", start, start.plusDays(30)));
+        rows.add(course("Imported five", start, start.plusDays(30)));
+
+        CourseImportResponse response = courseImportService.importCourses(rows);
+        response.getCourseIds().stream().filter(Objects::nonNull).forEach(courseIds::add);
+
+        assertThat(response.getReceived()).isEqualTo(6);
+        assertThat(response.getImported()).isEqualTo(4);
+        assertThat(response.getCourseIds()).hasSize(6);
+        assertThat(response.getCourseIds().get(1)).isNull();
+        assertThat(response.getCourseIds().get(3)).isNull();
+        assertThat(response.getErrors()).extracting(ImportRowError::getRow).containsExactly(2, 4);
+        assertThat(response.getErrors().get(0).getMessages()).containsExactly("Start date must be before end date");
+        assertThat(courseRepository.findAllById(courseIds))
+                .hasSize(4)
+                .allSatisfy(course -> assertThat(course.getInstructor().getId()).isEqualTo(instructor.getId()));
+        assertThat(upcomingCourseCalendar.contains(courseIds.get(0))).isTrue();
+    }
+
+    @Test
+    void importsCsvWithQuotedFields() {
+        String start = LocalDateTime.now().plusDays(10).withNano(0).toString();
+        String end = LocalDateTime.now().plusDays(40).withNano(0).toString();
+        String csv = "title,description,capacity,status,startDate,endDate\r\n"
+                + "\"Data, Science\",\"Covers \"\"real\"\" data sets\",25,PUBLISHED," + start + "," + end + "\r\n"
+                + "Statistics,Introductory statistics,lots,PUBLISHED," + start + "," + end + "\r\n";
+
+        CourseImportResponse response = courseImportService.importCsv(new StringReader(csv));
+        response.getCourseIds().stream().filter(Objects::nonNull).forEach(courseIds::add);
+
+        assertThat(response.getImported()).isEqualTo(1);
+        assertThat(response.getErrors()).singleElement().satisfies(error -> {
+            assertThat(error.getRow()).isEqualTo(2);
+            assertThat(error.getMessages()).containsExactly("Invalid value for 'capacity'");
+        });
+        assertThat(courseRepository.findById(courseIds.get(0))).get().satisfies(course -> {
+            assertThat(course.getTitle()).isEqualTo("Data, Science");
+            assertThat(course.getDescription()).isEqualTo("Covers \"real\" data sets");
+            assertThat(course.getCapacity()).isEqualTo(25);
+        });
+    }
+
+    private static CourseCreateRequest course(String title, LocalDateTime start, LocalDateTime end) {
+        return CourseCreateRequest.builder()
+                .title(title)
+                .description("Imported in bulk for testing")
+                .capacity(20)
+                .status(CourseStatus.PUBLISHED)
+                .startDate(start)
+                .endDate(end)
+                .build();
+    }
+}
@@ -0,0 +1,206 @@
+package com.lms.lms_backend.service;
+
+import com.lms.lms_backend.cache.UpcomingCourseCalendar;
+import com.lms.lms_backend.dto.CourseFilter;
+import com.lms.lms_backend.dto.CourseResponse;
+import com.lms.lms_backend.dto.CursorPageResponse;
+import com.lms.lms_backend.enums.CourseStatus;
+import com.lms.lms_backend.enums.UserRole;
+import com.lms.lms_backend.model.Course;
+import com.lms.lms_backend.model.User;
+import com.lms.lms_backend.repository.CourseRepository;
+import com.lms.lms_backend.repository.UserRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import static com.lms.lms_backend.support.TestFixtures.marker;
+import static com.lms.lms_backend.support.TestFixtures.user;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Guards against N+1 instructor loads: a page of courses with many distinct instructors
+ * must be served by the content query plus at most one count query.
+ */
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@ActiveProfiles("no-scheduling")
+class CourseListingQueryCountTest {
+
+    private static final int INSTRUCTORS = 10;
+    private static final int COURSES_PER_INSTRUCTOR = 3;
+
+    @Autowired
+    private CourseService courseService;
+
+    @Autowired
+    private CourseRepository courseRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private UpcomingCourseCalendar upcomingCourseCalendar;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private final List<User> instructors = new ArrayList<>();
+    private final List<Course> courses = new ArrayList<>();
+    private String marker;
+
+    @BeforeEach
+    void seed() {
+        marker = marker("qc");
+        for (int i = 0; i < INSTRUCTORS; i++) {
+            instructors.add(userRepository.save(user(marker + "-" + i, UserRole.INSTRUCTOR)));
+        }
+        for (User instructor : instructors) {
+            for (int j = 0; j < COURSES_PER_INSTRUCTOR; j++) {
+                courses.add(courseRepository.save(Course.builder()
+                        .title("Course " + marker + " " + j)
+                        .description("Seeded course for query count checks")
+                        .instructor(instructor)
+                        .status(CourseStatus.PUBLISHED)
+                        .capacity(30)
+                        .enrolledCount(0)
+                        .startDate(LocalDateTime.now().plusDays(30 + j))
+                        .endDate(LocalDateTime.now().plusDays(120))
+                        .build()));
+            }
+        }
+    }
+
+    @AfterEach
+    void cleanUp() {
+        // Deleted in bulk without events, so take them out of the upcoming calendar directly
+        courses.forEach(course -> upcomingCourseCalendar.remove(course.getId(), LocalDateTime.MAX));
+        courseRepository.deleteAllInBatch(courses);
+        userRepository.deleteAllInBatch(instructors);
+    }
+
+    @Test
+    void getAllCoursesUsesConstantQueries() {
+        assertConstantQueries(() -> courseService.getAllCourses(PageRequest.of(0, 20, Sort.by("id").descending())));
+    }
+
+    @Test
+    void searchCoursesUsesConstantQueries() {
+        assertConstantQueries(() -> courseService.searchCourses(
+                CourseFilter.builder().search(marker).build(), PageRequest.of(0, 20)));
+    }
+
+    @Test
+    void statusFilterUsesConstantQueries() {
+        assertConstantQueries(() -> courseService.searchCourses(
+                CourseFilter.builder().status(CourseStatus.PUBLISHED).build(), PageRequest.of(0, 20)));
+    }
+
+    @Test
+    void getInstructorCoursesUsesConstantQueries() {
+        assertConstantQueries(() -> courseService.getInstructorCourses(instructors.get(0).getId(), PageRequest.of(0, 20)));
+    }
+
+    @Test
+    void getUpcomingCoursesIsServedFromMemory() {
+        courseService.loadUpcomingCalendar();
+
+        assertConstantQueries(() -> courseService.getUpcomingCourses(PageRequest.of(0, 20, Sort.by("startDate").ascending())), 0);
+    }
+
+    @Test
+    void upcomingCursorPagesFollowStartDateFromMemory() {
+        courseService.loadUpcomingCalendar();
+        List<Long> expected = courses.stream()
+                .sorted(Comparator.comparing(Course::getStartDate).thenComparing(Course::getId))
+                .map(Course::getId)
+                .toList();
+
+        List<Long> visited = scrollAll(cursor -> courseService.getUpcomingCourses(cursor, 4), 0);
+
+        // Other upcoming courses in the database may be interleaved with the seeded ones
+        assertThat(visited).containsSubsequence(expected);
+        assertThat(visited).doesNotHaveDuplicates();
+    }
+
+    @Test
+    void instructorCursorPagesVisitEveryCourseOnceWithoutCounting() {
+        User instructor = instructors.get(0);
+        List<Long> expected = courses.stream()
+                .filter(course -> course.getInstructor().getId().equals(instructor.getId()))
+                .map(Course::getId)
+                .sorted(Comparator.reverseOrder())
+                .toList();
+
+        assertThat(scrollAll(cursor -> courseService.getInstructorCourses(instructor.getId(), cursor, 2)))
+                .isEqualTo(expected);
+    }
+
+    @Test
+    void searchCursorPagesVisitEveryMatchOnceWithoutCounting() {
+        List<Long> ids = scrollAll(cursor -> courseService.searchCourses(
+                CourseFilter.builder().search(marker).build(), Sort.unsorted(), cursor, 7));
+
+        assertThat(ids).hasSize(courses.size()).doesNotHaveDuplicates();
+    }
+
+    @Test
+    void statusCursorPagesFollowTheRequestedSort() {
+        List<Long> ids = scrollAll(cursor -> courseService.searchCourses(
+                CourseFilter.builder().status(CourseStatus.PUBLISHED).build(), Sort.by("startDate").ascending(), cursor, 4));
+
+        assertThat(ids).containsAll(courses.stream().map(Course::getId).toList()).doesNotHaveDuplicates();
+    }
+
+    /** Follows next cursors to the end, checking each page is a single statement. */
+    private List<Long> scrollAll(Function<String, CursorPageResponse<CourseResponse>> listing) {
+        // the relevance search also looks up the rank of the page's last row
+        return scrollAll(listing, 2);
+    }
+
+    private List<Long> scrollAll(Function<String, CursorPageResponse<CourseResponse>> listing, int maxStatements) {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        List<Long> ids = new ArrayList<>();
+        String cursor = "";
+        do {
+            statistics.clear();
+            CursorPageResponse<CourseResponse> page = listing.apply(cursor);
+            assertThat(statistics.getPrepareStatementCount()).isLessThanOrEqualTo(maxStatements);
+            page.getContent().forEach(course -> ids.add(course.getId()));
+            assertThat(page.getContent()).allSatisfy(course -> assertThat(course.getInstructor().getName()).isNotBlank());
+            cursor = page.getNextCursor();
+        } while (cursor != null);
+        return ids;
+    }
+
+    private void assertConstantQueries(Supplier<Page<CourseResponse>> listing) {
+        // content query + optional count query, independent of how many instructors are on the page
+        assertConstantQueries(listing, 2);
+    }
+
+    private void assertConstantQueries(Supplier<Page<CourseResponse>> listing, int maxStatements) {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        Page<CourseResponse> page = listing.get();
+
+        assertThat(page.getContent()).isNotEmpty();
+        assertThat(page.getContent()).allSatisfy(course -> assertThat(course.getInstructor().getName()).isNotBlank());
+        assertThat(statistics.getPrepareStatementCount()).isLessThanOrEqualTo(maxStatements);
+    }
+}
@@ -0,0 +1,155 @@
+package com.lms.lms_backend.service;
+
+import com.lms.lms_backend.dto.EnrollmentTicketResponse;
+import com.lms.lms_backend.enums.AdmissionStatus;
+import com.lms.lms_backend.enums.CourseStatus;
+import com.lms.lms_backend.enums.UserRole;
+import com.lms.lms_backend.exception.BusinessException;
+import com.lms.lms_backend.model.Course;
+import com.lms.lms_backend.model.User;
+import com.lms.lms_backend.repository.CourseRepository;
+import com.lms.lms_backend.repository.EnrollmentRepository;
+import com.lms.lms_backend.repository.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.stream.Collectors;
+
+import static com.lms.lms_backend.support.TestFixtures.as;
+import static com.lms.lms_backend.support.TestFixtures.marker;
+import static com.lms.lms_backend.support.TestFixtures.user;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Queued enrollments are admitted in batches that still fill the course exactly to capacity,
+ * and every ticket ends up enrolled or rejected with the reason a direct enrollment would give.
+ * A student cannot queue a second request for a course while the first is pending.
+ */
+@SpringBootTest(properties = "app.enrollments.admission.batch-size=16")
+class EnrollmentAdmissionQueueTest {
+
+    private static final int STUDENTS = 120;
+    private static final int CAPACITY = 50;
+
+    @Autowired
+    private EnrollmentAdmissionQueue admissionQueue;
+
+    @Autowired
+    private EnrollmentRepository enrollmentRepository;
+
+    @Autowired
+    private CourseRepository courseRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private final List<User> users = new ArrayList<>();
+    private Course course;
+
+    @BeforeEach
+    void seed() {
+        String marker = marker("aq");
+        User instructor = userRepository.save(user(marker + "-instructor", UserRole.INSTRUCTOR));
+        users.add(instructor);
+        List<User> students = new ArrayList<>();
+        for (int i = 0; i < STUDENTS; i++) {
+            students.add(user(marker + "-" + i, UserRole.STUDENT));
+        }
+        users.addAll(userRepository.saveAll(students));
+        course = courseRepository.save(Course.builder()
+                .title("Queued " + marker)
+                .description("Admits enrollments in batches")
+                .instructor(instructor)
+                .status(CourseStatus.PUBLISHED)
+                .capacity(CAPACITY)
+                .enrolledCount(0)
+                .startDate(LocalDateTime.now().plusDays(7))
+                .endDate(LocalDateTime.now().plusDays(60))
+                .build());
+    }
+
+    @AfterEach
+    void cleanUp() {
+        enrollmentRepository.deleteAllInBatch(enrollmentRepository.findByCourseIdAndUserIdIn(
+                course.getId(), users.stream().map(User::getId).toList()));
+        courseRepository.delete(course);
+        userRepository.deleteAllInBatch(users);
+    }
+
+    @Test
+    void admitsQueuedRequestsUpToCapacity() throws InterruptedException {
+        List<User> holders = users.subList(1, users.size());
+        List<EnrollmentTicketResponse> tickets = new ArrayList<>();
+        for (User holder : holders) {
+            EnrollmentTicketResponse ticket = as(holder, () -> admissionQueue.submit(course.getId()));
+            assertThat(ticket.getStatus()).isEqualTo(AdmissionStatus.PENDING);
+            tickets.add(ticket);
+        }
+
+        List<EnrollmentTicketResponse> outcomes = awaitOutcomes(tickets, holders);
+
+        Map<String, Long> byOutcome = outcomes.stream().collect(Collectors.groupingBy(
+                ticket -> ticket.getStatus() == AdmissionStatus.ENROLLED ? "enrolled" : ticket.getMessage(),
+                Collectors.counting()));
+        assertThat(byOutcome)
+                .containsEntry("enrolled", (long) CAPACITY)
+                .containsEntry("Course is full", (long) STUDENTS - CAPACITY);
+        // Arrival order decides who gets a seat
+        assertThat(outcomes.subList(0, CAPACITY))
+                .allSatisfy(ticket -> assertThat(ticket.getEnrollmentId()).isNotNull());
+        assertThat(courseRepository.findById(course.getId()).orElseThrow().getEnrolledCount()).isEqualTo(CAPACITY);
+        assertThat(enrollmentRepository.findAllById(outcomes.stream()
+                .map(EnrollmentTicketResponse::getEnrollmentId).filter(Objects::nonNull).toList()))
+                .hasSize(CAPACITY);
+    }
+
+    @Test
+    void secondRequestIsRefusedOnlyWhileTheFirstIsPending() throws InterruptedException {
+        User student = users.get(1);
+        // Holding the course lock keeps the first request pending
+        EnrollmentTicketResponse first = transactionTemplate.execute(status -> {
+            courseRepository.findForSeatUpdate(course.getId());
+            EnrollmentTicketResponse ticket = as(student, () -> admissionQueue.submit(course.getId()));
+            assertThatThrownBy(() -> as(student, () -> admissionQueue.submit(course.getId())))
+                    .isInstanceOf(BusinessException.class);
+            return ticket;
+        });
+        assertThat(awaitOutcomes(List.of(first), List.of(student)).get(0).getStatus())
+                .isEqualTo(AdmissionStatus.ENROLLED);
+
+        EnrollmentTicketResponse second = as(student, () -> admissionQueue.submit(course.getId()));
+        assertThat(awaitOutcomes(List.of(second), List.of(student)).get(0).getMessage())
+                .isEqualTo("Already enrolled in this course");
+    }
+
+    /** Polls every ticket as its holder until none is pending. */
+    private List<EnrollmentTicketResponse> awaitOutcomes(List<EnrollmentTicketResponse> tickets, List<User> holders)
+            throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 60_000;
+        while (true) {
+            List<EnrollmentTicketResponse> current = new ArrayList<>();
+            for (int i = 0; i < tickets.size(); i++) {
+                String ticketId = tickets.get(i).getTicketId();
+                current.add(as(holders.get(i), () -> admissionQueue.getTicket(ticketId)));
+            }
+            if (current.stream().noneMatch(ticket -> ticket.getStatus() == AdmissionStatus.PENDING)
+                    || System.currentTimeMillis() > deadline) {
+                return current;
+            }
+            Thread.sleep(50);
+        }
+    }
+}
@@ -0,0 +1,189 @@
+package com.lms.lms_backend.service;
+
+import com.lms.lms_backend.dto.CourseUpdateRequest;
+import com.lms.lms_backend.dto.EnrollmentResponse;
+import com.lms.lms_backend.enums.CourseStatus;
+import com.lms.lms_backend.enums.EnrollmentStatus;
+import com.lms.lms_backend.enums.UserRole;
+import com.lms.lms_backend.exception.BusinessException;
+import com.lms.lms_backend.model.Course;
+import com.lms.lms_backend.model.User;
+import com.lms.lms_backend.repository.CourseRepository;
+import com.lms.lms_backend.repository.EnrollmentRepository;
+import com.lms.lms_backend.repository.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.function.IntFunction;
+
+import static com.lms.lms_backend.support.TestFixtures.as;
+import static com.lms.lms_backend.support.TestFixtures.marker;
+import static com.lms.lms_backend.support.TestFixtures.user;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Hundreds of students enrolling in one course at the same moment must fill it exactly to
+ * capacity: no seat sold twice, none lost, and every other request refused as full.
+ */
+@SpringBootTest
+class EnrollmentConcurrencyTest {
+
+    private static final int STUDENTS = 300;
+    private static final int CAPACITY = 50;
+
+    @Autowired
+    private EnrollmentService enrollmentService;
+
+    @Autowired
+    private EnrollmentRepository enrollmentRepository;
+
+    @Autowired
+    private CourseRepository courseRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private CourseService courseService;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private final List<User> users = new ArrayList<>();
+    private final List<Long> enrollmentIds = new CopyOnWriteArrayList<>();
+    private Course course;
+
+    @BeforeEach
+    void seed() {
+        String marker = marker("ec");
+        User instructor = userRepository.save(user(marker + "-instructor", UserRole.INSTRUCTOR));
+        users.add(instructor);
+        List<User> students = new ArrayList<>();
+        for (int i = 0; i < STUDENTS; i++) {
+            students.add(user(marker + "-" + i, UserRole.STUDENT));
+        }
+        users.addAll(userRepository.saveAll(students));
+        course = courseRepository.save(Course.builder()
+                .title("Popular " + marker)
+                .description("Opens for enrollment at once")
+                .instructor(instructor)
+                .status(CourseStatus.PUBLISHED)
+                .capacity(CAPACITY)
+                .enrolledCount(0)
+                .startDate(LocalDateTime.now().plusDays(7))
+                .endDate(LocalDateTime.now().plusDays(60))
+                .build());
+    }
+
+    @AfterEach
+    void cleanUp() {
+        enrollmentRepository.deleteAllByIdInBatch(enrollmentIds);
+        courseRepository.delete(course);
+        userRepository.deleteAllInBatch(users);
+    }
+
+    @Test
+    void neverOversellsUnderContention() throws InterruptedException {
+        List<User> students = users.subList(1, users.size());
+        Map<String, Integer> outcomes = runConcurrently(students.size(), i -> students.get(i));
+
+        assertThat(outcomes).containsEntry("enrolled", CAPACITY).containsEntry("Course is full", STUDENTS - CAPACITY);
+        assertThat(courseRepository.findById(course.getId()).orElseThrow().getEnrolledCount()).isEqualTo(CAPACITY);
+        assertThat(enrollmentRepository.findAllById(enrollmentIds))
+                .hasSize(CAPACITY)
+                .allSatisfy(enrollment -> assertThat(enrollment.getStatus()).isEqualTo(EnrollmentStatus.ACTIVE));
+    }
+
+    @Test
+    void enrollsAStudentOnceWhenRequestsRace() throws InterruptedException {
+        User student = users.get(1);
+        Map<String, Integer> outcomes = runConcurrently(20, i -> student);
+
+        assertThat(outcomes).containsEntry("enrolled", 1).containsEntry("Already enrolled in this course", 19);
+        assertThat(courseRepository.findById(course.getId()).orElseThrow().getEnrolledCount()).isEqualTo(1);
+    }
+
+    @Test
+    void droppingReleasesTheSeatForReenrollment() {
+        User student = users.get(1);
+        EnrollmentResponse first = as(student, () -> enrollmentService.enroll(course.getId()));
+        enrollmentIds.add(first.getId());
+
+        as(student, () -> {
+            enrollmentService.drop(first.getId());
+            return null;
+        });
+        assertThat(courseRepository.findById(course.getId()).orElseThrow().getEnrolledCount()).isZero();
+
+        EnrollmentResponse again = as(student, () -> enrollmentService.enroll(course.getId()));
+        assertThat(again.getId()).isEqualTo(first.getId());
+        assertThat(again.getStatus()).isEqualTo(EnrollmentStatus.ACTIVE);
+        assertThat(courseRepository.findById(course.getId()).orElseThrow().getEnrolledCount()).isEqualTo(1);
+    }
+
+    @Test
+    void capacityCannotDropBelowSeatsTakenAfterTheCourseWasRead() {
+        CourseUpdateRequest shrink = CourseUpdateRequest.builder()
+                .title(course.getTitle())
+                .description(course.getDescription())
+                .capacity(1)
+                .build();
+
+        assertThatThrownBy(() -> transactionTemplate.executeWithoutResult(status -> {
+            // The update reads the course with no seats taken...
+            courseRepository.findById(course.getId()).orElseThrow();
+            try {
+                assertThat(runConcurrently(2, i -> users.get(i + 1))).containsEntry("enrolled", 2);
+            } catch (InterruptedException e) {
+                throw new IllegalStateException(e);
+            }
+            // ...and two are taken before it writes
+            as(users.get(0), () -> courseService.updateCourse(course.getId(), shrink));
+        }))
+                .isInstanceOf(BusinessException.class)
+                .hasMessage("Cannot reduce capacity below current enrollment count");
+        assertThat(courseRepository.findById(course.getId()).orElseThrow().getCapacity()).isEqualTo(CAPACITY);
+    }
+
+    /** Releases {@code requests} enrollments at once and counts the outcomes by message. */
+    private Map<String, Integer> runConcurrently(int requests, IntFunction<User> student)
+            throws InterruptedException {
+        Map<String, Integer> outcomes = new ConcurrentHashMap<>();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(requests);
+        for (int i = 0; i < requests; i++) {
+            User user = student.apply(i);
+            executor.execute(() -> {
+                try {
+                    start.await();
+                    EnrollmentResponse response = as(user, () -> enrollmentService.enroll(course.getId()));
+                    enrollmentIds.add(response.getId());
+                    outcomes.merge("enrolled", 1, Integer::sum);
+                } catch (BusinessException e) {
+                    outcomes.merge(e.getMessage(), 1, Integer::sum);
+                } catch (Exception e) {
+                    outcomes.merge(e.getClass().getSimpleName() + ": " + e.getMessage(), 1, Integer::sum);
+                }
+            });
+        }
+        start.countDown();
+        executor.shutdown();
+        assertThat(executor.awaitTermination(2, TimeUnit.MINUTES)).isTrue();
+        return outcomes;
+    }
+}
@@ -0,0 +1,179 @@
+package com.lms.lms_backend.service;
+
+import com.lms.lms_backend.dto.CourseStudentResponse;
+import com.lms.lms_backend.dto.CursorPageResponse;
+import com.lms.lms_backend.dto.EnrolledCourseResponse;
+import com.lms.lms_backend.enums.CourseStatus;
+import com.lms.lms_backend.enums.EnrollmentStatus;
+import com.lms.lms_backend.enums.UserRole;
+import com.lms.lms_backend.model.Course;
+import com.lms.lms_backend.model.Enrollment;
+import com.lms.lms_backend.model.User;
+import com.lms.lms_backend.repository.CourseRepository;
+import com.lms.lms_backend.repository.EnrollmentRepository;
+import com.lms.lms_backend.repository.UserRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.security.access.AccessDeniedException;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.Function;
+
+import static com.lms.lms_backend.support.TestFixtures.as;
+import static com.lms.lms_backend.support.TestFixtures.marker;
+import static com.lms.lms_backend.support.TestFixtures.user;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Enrollment listings are one statement per page whatever the page holds, and keyset pages
+ * visit every enrollment once, newest first, even where enrollment dates are equal.
+ */
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@ActiveProfiles("no-scheduling")
+class EnrollmentListingQueryCountTest {
+
+    private static final int COURSES = 7;
+    private static final int STUDENTS = 9;
+
+    @Autowired
+    private EnrollmentService enrollmentService;
+
+    @Autowired
+    private EnrollmentRepository enrollmentRepository;
+
+    @Autowired
+    private CourseRepository courseRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private final List<User> users = new ArrayList<>();
+    private final List<Course> courses = new ArrayList<>();
+    private final List<Enrollment> enrollments = new ArrayList<>();
+    private User instructor;
+    private User student;
+
+    @BeforeEach
+    void seed() {
+        String marker = marker("el");
+        instructor = userRepository.save(user(marker + "-instructor", UserRole.INSTRUCTOR));
+        users.add(instructor);
+        for (int i = 0; i < STUDENTS; i++) {
+            users.add(userRepository.save(user(marker + "-" + i, UserRole.STUDENT)));
+        }
+        student = users.get(1);
+        for (int i = 0; i < COURSES; i++) {
+            courses.add(courseRepository.save(Course.builder()
+                    .title("Listed " + marker + " " + i)
+                    .description("Seeded course for enrollment listings")
+                    .instructor(instructor)
+                    .status(CourseStatus.PUBLISHED)
+                    .capacity(30)
+                    .enrolledCount(0)
+                    .startDate(LocalDateTime.now().plusDays(30))
+                    .endDate(LocalDateTime.now().plusDays(120))
+                    .build()));
+        }
+        // Pairs of enrollments share a date, so pages have to break ties by id
+        LocalDateTime base = LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS).minusDays(1);
+        for (int i = 0; i < COURSES; i++) {
+            enrollments.add(enrollment(student, courses.get(i), base.plusMinutes(i / 2)));
+        }
+        for (int i = 1; i < STUDENTS; i++) {
+            enrollments.add(enrollment(users.get(i + 1), courses.get(0), base.plusMinutes(i / 2)));
+        }
+        enrollmentRepository.saveAll(enrollments);
+    }
+
+    @AfterEach
+    void cleanUp() {
+        enrollmentRepository.deleteAllInBatch(enrollments);
+        courseRepository.deleteAllInBatch(courses);
+        userRepository.deleteAllInBatch(users);
+    }
+
+    @Test
+    void userCoursePagesAreSingleStatementsNewestFirst() {
+        List<Long> expected = newestFirst(enrollments.stream()
+                .filter(enrollment -> enrollment.getUser() == student).toList());
+
+        List<EnrolledCourseResponse> visited = as(student, () -> scrollAll(
+                cursor -> enrollmentService.getUserCourses(student.getId(), cursor, 3)));
+
+        assertThat(visited).extracting(EnrolledCourseResponse::getEnrollmentId).isEqualTo(expected);
+        assertThat(visited).allSatisfy(row -> {
+            assertThat(row.getTitle()).startsWith("Listed ");
+            assertThat(row.getInstructorName()).isEqualTo("Test " + instructor.getLastName());
+        });
+    }
+
+    @Test
+    void courseStudentPagesAreSingleStatementsNewestFirst() {
+        Course course = courses.get(0);
+        List<Long> expected = newestFirst(enrollments.stream()
+                .filter(enrollment -> enrollment.getCourse() == course).toList());
+
+        List<CourseStudentResponse> visited = as(instructor, () -> scrollAll(
+                cursor -> enrollmentService.getCourseStudents(course.getId(), cursor, 4)));
+
+        assertThat(visited).extracting(CourseStudentResponse::getEnrollmentId).isEqualTo(expected);
+        assertThat(visited).allSatisfy(row -> assertThat(row.getEmail()).endsWith("@lms.test"));
+    }
+
+    @Test
+    void listingsAreLimitedToTheirOwners() {
+        User otherStudent = users.get(2);
+
+        assertThatThrownBy(() -> as(otherStudent, () -> enrollmentService.getUserCourses(student.getId(), null, 10)))
+                .isInstanceOf(AccessDeniedException.class);
+        assertThatThrownBy(() -> as(otherStudent, () -> enrollmentService.getCourseStudents(courses.get(0).getId(), null, 10)))
+                .isInstanceOf(AccessDeniedException.class);
+    }
+
+    /** Follows next cursors to the end, checking each page is a single statement. */
+    private <T> List<T> scrollAll(Function<String, CursorPageResponse<T>> listing) {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        List<T> rows = new ArrayList<>();
+        String cursor = "";
+        do {
+            statistics.clear();
+            CursorPageResponse<T> page = listing.apply(cursor);
+            // the listing query plus the course ownership check
+            assertThat(statistics.getPrepareStatementCount()).isLessThanOrEqualTo(2);
+            rows.addAll(page.getContent());
+            cursor = page.getNextCursor();
+        } while (cursor != null);
+        return rows;
+    }
+
+    private static List<Long> newestFirst(List<Enrollment> enrollments) {
+        return enrollments.stream()
+                .sorted(Comparator.comparing(Enrollment::getEnrollmentDate).thenComparing(Enrollment::getId).reversed())
+                .map(Enrollment::getId)
+                .toList();
+    }
+
+    private static Enrollment enrollment(User user, Course course, LocalDateTime enrollmentDate) {
+        return Enrollment.builder()
+                .user(user)
+                .course(course)
+                .status(EnrollmentStatus.ACTIVE)
+                .enrollmentDate(enrollmentDate)
+                .build();
+    }
+}
@@ -0,0 +1,120 @@
+package com.lms.lms_backend.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.lms.lms_backend.dto.ImportRowError;
+import com.lms.lms_backend.dto.UserImportResponse;
+import com.lms.lms_backend.dto.UserRegistrationRequest;
+import com.lms.lms_backend.enums.UserRole;
+import com.lms.lms_backend.model.User;
+import com.lms.lms_backend.repository.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.io.ByteArrayInputStream;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+import static com.lms.lms_backend.support.TestFixtures.marker;
+import static com.lms.lms_backend.support.TestFixtures.user;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Bulk provisioning rejects emails repeated within the upload or already registered, and
+ * creates every other user with a usable password hash, whether the upload is JSON or CSV.
+ */
+@SpringBootTest(properties = {
+        "app.users.import.chunk-size=3",
+        "app.security.password-hashing.strength=4"
+})
+class UserImportServiceTest {
+
+    @Autowired
+    private UserImportService userImportService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private String marker;
+    private User existing;
+    private final List<Long> userIds = new ArrayList<>();
+
+    @BeforeEach
+    void seed() {
+        marker = marker("ui");
+        existing = userRepository.save(user(marker + "-existing", UserRole.STUDENT));
+    }
+
+    @AfterEach
+    void cleanUp() {
+        userRepository.deleteAllByIdInBatch(userIds);
+        userRepository.delete(existing);
+    }
+
+    @Test
+    void rejectsDuplicatesAndCreatesTheRest() throws Exception {
+        List<UserRegistrationRequest> rows = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            rows.add(student(marker + "-" + i + "@lms.test"));
+        }
+        rows.add(student(marker + "-2@lms.test"));
+        rows.add(student(existing.getEmail()));
+        rows.add(student("not-an-email"));
+
+        UserImportResponse response = userImportService.importJson(
+                new ByteArrayInputStream(objectMapper.writeValueAsBytes(rows)));
+        response.getUserIds().stream().filter(Objects::nonNull).forEach(userIds::add);
+
+        assertThat(response.getReceived()).isEqualTo(8);
+        assertThat(response.getImported()).isEqualTo(5);
+        assertThat(response.getUserIds().subList(5, 8)).containsOnlyNulls();
+        assertThat(response.getErrors()).extracting(ImportRowError::getRow).containsExactly(6, 7, 8);
+        assertThat(response.getErrors().get(0).getMessages()).containsExactly("Email already appears in row 3");
+        assertThat(response.getErrors().get(1).getMessages())
+                .containsExactly("Email already exists: " + existing.getEmail());
+        assertThat(userRepository.findAllById(userIds))
+                .hasSize(5)
+                .allSatisfy(user -> assertThat(passwordEncoder.matches("secret123", user.getPassword())).isTrue());
+    }
+
+    @Test
+    void csvRowsAreReadAcrossChunks() {
+        String csv = "email,password,firstName,lastName,role\n"
+                + marker + "-a@lms.test,secret123,Bulk,Student,STUDENT\n"
+                + marker + "-b@lms.test,secret123,Bulk,Student,JANITOR\n"
+                + marker + "-c@lms.test,secret123,Bulk\n"
+                + marker + "-d@lms.test,secret123,Bulk,Student,STUDENT\n"
+                + marker + "-a@lms.test,secret123,Bulk,Student,STUDENT\n";
+
+        UserImportResponse response = userImportService.importCsv(new StringReader(csv));
+        response.getUserIds().stream().filter(Objects::nonNull).forEach(userIds::add);
+
+        assertThat(response.getReceived()).isEqualTo(5);
+        assertThat(response.getImported()).isEqualTo(2);
+        assertThat(response.getErrors()).extracting(ImportRowError::getMessages).containsExactly(
+                List.of("Invalid value for 'role'"),
+                List.of("Expected 5 fields but found 3"),
+                List.of("Email already appears in row 1"));
+    }
+
+    private static UserRegistrationRequest student(String email) {
+        return UserRegistrationRequest.builder()
+                .email(email)
+                .password("secret123")
+                .firstName("Bulk")
+                .lastName("Student")
+                .role(UserRole.STUDENT)
+                .build();
+    }
+}
@@ -0,0 +1,66 @@
+package com.lms.lms_backend.support;
+
+import com.lms.lms_backend.enums.UserRole;
+import com.lms.lms_backend.model.User;
+import com.lms.lms_backend.security.TokenUserPrincipal;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.util.UUID;
+import java.util.function.Supplier;
+
+/**
+ * Seeding helpers for tests that run against the shared development database. Every test tags
+ * the rows it creates with a unique {@link #marker}, so runs never collide and each test can
+ * delete exactly what it added.
+ */
+public final class TestFixtures {
+
+    /** Stored in place of a BCrypt hash for users that never log in. */
+    public static final String NO_PASSWORD = "not-a-real-hash";
+
+    private TestFixtures() {
+    }
+
+    /** A short unique tag, such as {@code ec1a2b3c4d}, for emails and titles seeded by one test. */
+    public static String marker(String prefix) {
+        return prefix + UUID.randomUUID().toString().substring(0, 8);
+    }
+
+    /** An unsaved active user with email {@code <name>@lms.test} and last name {@code name}. */
+    public static User user(String name, UserRole role) {
+        return user(name, NO_PASSWORD, role);
+    }
+
+    public static User user(String name, String passwordHash, UserRole role) {
+        return User.builder()
+                .email(name + "@lms.test")
+                .password(passwordHash)
+                .firstName("Test")
+                .lastName(name)
+                .role(role)
+                .active(true)
+                .build();
+    }
+
+    /** Authenticates the current thread as {@code user}, as the stateless token filter would. */
+    public static void signIn(User user) {
+        TokenUserPrincipal principal = new TokenUserPrincipal(user.getId(), user.getEmail(), user.getRole());
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities()));
+    }
+
+    public static void signOut() {
+        SecurityContextHolder.clearContext();
+    }
+
+    /** Runs {@code action} signed in as {@code user}, then signs out. */
+    public static <T> T as(User user, Supplier<T> action) {
+        signIn(user);
+        try {
+            return action.get();
+        } finally {
+            signOut();
+        }
+    }
+}